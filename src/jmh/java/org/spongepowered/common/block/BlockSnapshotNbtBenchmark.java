@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tile entity data cost of capturing a block snapshot of a
+ * filled chest: the old path wrote the compound then copied it twice (once
+ * in the builder, once in the snapshot) while the new path hands the
+ * written compound over untouched.
+ *
+ * <p>Run with {@code -Pjmh.prof=gc} to compare allocation rates.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockSnapshotNbtBenchmark {
+
+    @Param({"0", "27", "54"})
+    private int filledSlots;
+
+    @Benchmark
+    public NBTTagCompound writeAndCopyTwice() {
+        final NBTTagCompound written = writeChest();
+        final NBTTagCompound builderCopy = written.copy();
+        return builderCopy.copy();
+    }
+
+    @Benchmark
+    public NBTTagCompound writeOnce() {
+        return writeChest();
+    }
+
+    // Mirrors the layout TileEntityChest#writeToNBT produces
+    private NBTTagCompound writeChest() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("id", "minecraft:chest");
+        compound.setInteger("x", 128);
+        compound.setInteger("y", 64);
+        compound.setInteger("z", -32);
+        final NBTTagList items = new NBTTagList();
+        for (int slot = 0; slot < this.filledSlots; slot++) {
+            final NBTTagCompound item = new NBTTagCompound();
+            item.setByte("Slot", (byte) slot);
+            item.setString("id", "minecraft:cobblestone");
+            item.setByte("Count", (byte) 64);
+            item.setShort("Damage", (short) 0);
+            items.appendTag(item);
+        }
+        compound.setTag("Items", items);
+        return compound;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reads and writes of a memory data view, both at the top level
+ * and through a nested query which has to walk the intermediate views.
+ *
+ * <p>Containers are created directly, {@link DataContainer#createNew()} is
+ * only routed to the {@link MemoryDataContainer} by a mixin.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryDataViewBenchmark {
+
+    private static final DataQuery FLAT = DataQuery.of("Value");
+    private static final DataQuery NESTED = DataQuery.of("Data", "Position", "Value");
+    private static final DataQuery STRING = DataQuery.of("Data", "Name");
+
+    private DataContainer container;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        this.container = new MemoryDataContainer();
+        for (int i = 0; i < 16; i++) {
+            this.container.set(DataQuery.of("Data", "Extra" + i), i);
+        }
+        this.container.set(FLAT, 0)
+                .set(NESTED, 0)
+                .set(STRING, "benchmark");
+    }
+
+    @Benchmark
+    public DataView setFlat() {
+        return this.container.set(FLAT, this.counter++);
+    }
+
+    @Benchmark
+    public DataView setNested() {
+        return this.container.set(NESTED, this.counter++);
+    }
+
+    @Benchmark
+    public Optional<Integer> getFlat() {
+        return this.container.getInt(FLAT);
+    }
+
+    @Benchmark
+    public Optional<Integer> getNested() {
+        return this.container.getInt(NESTED);
+    }
+
+    @Benchmark
+    public Optional<String> getString() {
+        return this.container.getString(STRING);
+    }
+
+    @Benchmark
+    public DataContainer createAndFill() {
+        return new MemoryDataContainer()
+                .set(FLAT, this.counter++)
+                .set(NESTED, this.counter)
+                .set(STRING, "benchmark");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.util.DataQueries;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the translators of {@link DataSerializers} most often hit while
+ * serializing snapshots and entities, in both directions.
+ *
+ * <p>Serialization writes into a fresh {@link MemoryDataContainer} through
+ * {@code addTo}, as {@code translate} creates its container through the
+ * data manager, which needs a running game.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataSerializersBenchmark {
+
+    private UUID uuid;
+    private Vector3d vector3d;
+    private Vector3i vector3i;
+    private ZonedDateTime dateTime;
+
+    private DataView uuidView;
+    private DataView vector3dView;
+    private DataView vector3iView;
+    private DataView dateTimeView;
+
+    @Setup
+    public void setup() {
+        this.uuid = UUID.randomUUID();
+        this.vector3d = new Vector3d(128.5, 64.0, -32.25);
+        this.vector3i = new Vector3i(128, 64, -32);
+        this.dateTime = ZonedDateTime.of(2018, 3, 14, 15, 9, 26, 535_897_932, ZoneId.of("Europe/London"));
+
+        this.uuidView = DataSerializers.UUID_DATA_SERIALIZER.addTo(this.uuid, new MemoryDataContainer());
+        this.vector3dView = DataSerializers.VECTOR_3_D_DATA_SERIALIZER.addTo(this.vector3d, new MemoryDataContainer());
+        this.vector3iView = DataSerializers.VECTOR_3_I_DATA_SERIALIZER.addTo(this.vector3i, new MemoryDataContainer());
+        // Written by hand, the translator stores the month as an enum which it can't read back
+        this.dateTimeView = new MemoryDataContainer()
+                .set(DataQueries.LOCAL_DATE_YEAR, this.dateTime.getYear())
+                .set(DataQueries.LOCAL_DATE_MONTH, this.dateTime.getMonthValue())
+                .set(DataQueries.LOCAL_DATE_DAY, this.dateTime.getDayOfMonth())
+                .set(DataQueries.LOCAL_TIME_HOUR, this.dateTime.getHour())
+                .set(DataQueries.LOCAL_TIME_MINUTE, this.dateTime.getMinute())
+                .set(DataQueries.LOCAL_TIME_SECOND, this.dateTime.getSecond())
+                .set(DataQueries.LOCAL_TIME_NANO, this.dateTime.getNano())
+                .set(DataQueries.ZONE_TIME_ID, this.dateTime.getZone().getId());
+    }
+
+    @Benchmark
+    public DataView serializeUuid() {
+        return DataSerializers.UUID_DATA_SERIALIZER.addTo(this.uuid, new MemoryDataContainer());
+    }
+
+    @Benchmark
+    public UUID deserializeUuid() {
+        return DataSerializers.UUID_DATA_SERIALIZER.translate(this.uuidView);
+    }
+
+    @Benchmark
+    public DataView serializeVector3d() {
+        return DataSerializers.VECTOR_3_D_DATA_SERIALIZER.addTo(this.vector3d, new MemoryDataContainer());
+    }
+
+    @Benchmark
+    public Vector3d deserializeVector3d() {
+        return DataSerializers.VECTOR_3_D_DATA_SERIALIZER.translate(this.vector3dView);
+    }
+
+    @Benchmark
+    public DataView serializeVector3i() {
+        return DataSerializers.VECTOR_3_I_DATA_SERIALIZER.addTo(this.vector3i, new MemoryDataContainer());
+    }
+
+    @Benchmark
+    public Vector3i deserializeVector3i() {
+        return DataSerializers.VECTOR_3_I_DATA_SERIALIZER.translate(this.vector3iView);
+    }
+
+    @Benchmark
+    public DataView serializeZonedDateTime() {
+        return DataSerializers.ZONED_DATE_TIME_DATA_SERIALIZER.addTo(this.dateTime, new MemoryDataContainer());
+    }
+
+    @Benchmark
+    public ZonedDateTime deserializeZonedDateTime() {
+        return DataSerializers.ZONED_DATE_TIME_DATA_SERIALIZER.translate(this.dateTimeView);
+    }
+}
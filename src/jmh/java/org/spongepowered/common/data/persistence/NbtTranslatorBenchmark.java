@@ -0,0 +1,119 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link NbtTranslator} in both directions on an entity sized
+ * compound, comparing the direct paths over {@link MemoryDataContainer}s
+ * against the generic paths going through {@code getValues} and
+ * {@code set}.
+ *
+ * <p>Without a running game {@code set} skips the data manager lookup, so
+ * the generic read path is measured faster than it is in game.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NbtTranslatorBenchmark {
+
+    @Param({"0", "36"})
+    private int items;
+
+    private DataContainer container;
+    private NBTTagCompound compound;
+
+    @Setup
+    public void setup() {
+        this.container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("id"), "minecraft:zombie")
+                .set(DataQuery.of("Pos"), ImmutableList.of(128.5D, 64.0D, -32.25D))
+                .set(DataQuery.of("Rotation"), ImmutableList.of(90.0F, 0.0F))
+                .set(DataQuery.of("Health"), 20.0F)
+                .set(DataQuery.of("UUIDMost"), 0x1234_5678_9ABC_DEF0L)
+                .set(DataQuery.of("UUIDLeast"), 0x0FED_CBA9_8765_4321L)
+                .set(DataQuery.of("OnGround"), true)
+                .set(DataQuery.of("ForgeData", "SpongeData", "CanGrief"), true)
+                .set(DataQuery.of("ForgeData", "SpongeData", "Creator"), new int[] {1, 2, 3, 4});
+        final List<DataView> inventory = new ArrayList<>();
+        for (int slot = 0; slot < this.items; slot++) {
+            inventory.add(new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                    .set(DataQuery.of("Slot"), (byte) slot)
+                    .set(DataQuery.of("id"), "minecraft:cobblestone")
+                    .set(DataQuery.of("Count"), (byte) 64)
+                    .set(DataQuery.of("Damage"), (short) 0));
+        }
+        this.container.set(DataQuery.of("Inventory"), inventory);
+        this.compound = NbtTranslator.getInstance().translateData(this.container);
+    }
+
+    @Benchmark
+    public NBTTagCompound toCompound() {
+        return NbtTranslator.getInstance().translateData(this.container);
+    }
+
+    @Benchmark
+    public NBTTagCompound toCompoundGeneric() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        NbtTranslator.viewToCompound(this.container, compound);
+        return compound;
+    }
+
+    @Benchmark
+    public DataView fromCompound() {
+        return NbtTranslator.getInstance().addTo(this.compound, new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED));
+    }
+
+    @Benchmark
+    public DataView fromCompoundGeneric() {
+        final DataView view = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        NbtTranslator.addToView(this.compound, view);
+        return view;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares owner lookups in {@link PlayerTrackerMap} against the array map
+ * of boxed {@link PlayerTracker}s chunks used to keep, as the number of
+ * tracked positions in a chunk grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerTrackerMapBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"16", "256", "4096", "32768"})
+    private int trackedPositions;
+
+    private PlayerTrackerMap trackerMap;
+    private Map<Integer, PlayerTracker> arrayMap;
+    private int[] lookupKeys;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0xB10C);
+        this.trackerMap = new PlayerTrackerMap(this.trackedPositions);
+        this.arrayMap = new Int2ObjectArrayMap<>();
+        final int[] keys = new int[this.trackedPositions];
+        for (int i = 0; i < this.trackedPositions; i++) {
+            // x | y << 4 | z << 28, the same packing the chunk uses
+            final int key = (i & 0xF) | ((i >> 4) & 0xFF) << 4 | ((i >> 12) & 0xF) << 28;
+            keys[i] = key;
+            this.trackerMap.put(key, i % 64, i % 32);
+            this.arrayMap.put(key, new PlayerTracker(i % 64, PlayerTracker.Type.OWNER));
+        }
+        this.lookupKeys = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.lookupKeys[i] = keys[random.nextInt(keys.length)];
+        }
+    }
+
+    @Benchmark
+    public int lookupPlayerTrackerMap() {
+        int sum = 0;
+        for (int key : this.lookupKeys) {
+            sum += this.trackerMap.getOwner(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupBoxedArrayMap() {
+        int sum = 0;
+        for (int key : this.lookupKeys) {
+            final PlayerTracker tracker = this.arrayMap.get(key);
+            sum += tracker == null ? PlayerTrackerMap.NO_INDEX : tracker.ownerIndex;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int bulkCopyPlayerTrackerMap() {
+        final int size = this.trackerMap.size();
+        return this.trackerMap.copyTo(new int[size], new int[size], new int[size]);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.event.filter.cause.Last;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.event.filter.FilterFactory;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the listeners generated by the {@link ClassEventListenerFactory},
+ * comparing a listener without parameters against the filters created by
+ * the {@link FilterFactory} for the common filter annotations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFilterBenchmark {
+
+    private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+    private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
+            new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
+
+    private final Listeners listeners = new Listeners();
+    private AnnotatedEventListener plain;
+    private AnnotatedEventListener cancelled;
+    private AnnotatedEventListener first;
+    private AnnotatedEventListener last;
+    private AnnotatedEventListener root;
+    private AnnotatedEventListener getter;
+    private FilteredEvent event;
+
+    @Setup
+    public void setup() throws Exception {
+        this.plain = getListener("plain");
+        this.cancelled = getListener("cancelled");
+        this.first = getListener("first", String.class);
+        this.last = getListener("last", Integer.class);
+        this.root = getListener("root", Object.class);
+        this.getter = getListener("getter", String.class);
+        // A cause long enough for the first and last lookups to have to search it
+        this.event = new FilteredEvent(Cause.of(EventContext.empty(), this, 1.0D, "first", 2L, 42, 3.0F));
+    }
+
+    private AnnotatedEventListener getListener(String method, Class<?>... parameters) throws Exception {
+        final Class<?>[] classes = new Class<?>[parameters.length + 1];
+        classes[0] = FilteredEvent.class;
+        System.arraycopy(parameters, 0, classes, 1, parameters.length);
+        return this.handlerFactory.create(this.listeners, Listeners.class.getMethod(method, classes));
+    }
+
+    @Benchmark
+    public int plain() throws Exception {
+        this.plain.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    @Benchmark
+    public int isCancelled() throws Exception {
+        this.cancelled.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    @Benchmark
+    public int firstInCause() throws Exception {
+        this.first.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    @Benchmark
+    public int lastInCause() throws Exception {
+        this.last.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    @Benchmark
+    public int rootCause() throws Exception {
+        this.root.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    @Benchmark
+    public int getter() throws Exception {
+        this.getter.handle(this.event);
+        return this.listeners.calls;
+    }
+
+    public static class Listeners {
+
+        int calls;
+
+        @Listener
+        public void plain(FilteredEvent event) {
+            this.calls++;
+        }
+
+        @Listener
+        @IsCancelled(Tristate.FALSE)
+        public void cancelled(FilteredEvent event) {
+            this.calls++;
+        }
+
+        @Listener
+        public void first(FilteredEvent event, @First String value) {
+            this.calls++;
+        }
+
+        @Listener
+        public void last(FilteredEvent event, @Last Integer value) {
+            this.calls++;
+        }
+
+        @Listener
+        public void root(FilteredEvent event, @Root Object value) {
+            this.calls++;
+        }
+
+        @Listener
+        public void getter(FilteredEvent event, @Getter("getName") String name) {
+            this.calls++;
+        }
+    }
+
+    public static class FilteredEvent implements Event, Cancellable {
+
+        private final Cause cause;
+        private boolean cancelled;
+
+        FilteredEvent(Cause cause) {
+            this.cause = cause;
+        }
+
+        public String getName() {
+            return "filtered";
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpongeEventManager#post(Event)} for a varying number of
+ * listeners, including posting an event nobody listens to.
+ *
+ * <p>The game is replaced by a proxy that reports a server which is never
+ * on its main thread, so the asynchronous dispatch branch is measured
+ * without timings or cause stack frames, which need a running server.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark {
+
+    private static final Cause CAUSE = Cause.of(EventContext.empty(), EventManagerBenchmark.class);
+
+    @Param({"0", "1", "10", "100"})
+    private int listenerCount;
+
+    private SpongeEventManager eventManager;
+    private BenchmarkEvent event;
+    private UnobservedEvent unobservedEvent;
+
+    @Setup
+    public void setup() throws Exception {
+        final Server server = proxy(Server.class, (method, args) -> method.equals("isMainThread") ? false : null);
+        final Game game = proxy(Game.class, (method, args) -> {
+            switch (method) {
+                case "isServerAvailable":
+                    return true;
+                case "getServer":
+                    return server;
+                default:
+                    return null;
+            }
+        });
+        final Field gameField = Sponge.class.getDeclaredField("game");
+        gameField.setAccessible(true);
+        gameField.set(null, game);
+
+        final PluginContainer plugin = proxy(PluginContainer.class, (method, args) -> method.equals("getId") ? "benchmark" : null);
+        final PluginManager pluginManager = proxy(PluginManager.class,
+                (method, args) -> method.equals("fromInstance") ? Optional.of(plugin) : null);
+
+        this.eventManager = new SpongeEventManager(LoggerFactory.getLogger(EventManagerBenchmark.class), pluginManager);
+        for (int i = 0; i < this.listenerCount; i++) {
+            this.eventManager.registerListener(plugin, BenchmarkEvent.class, e -> e.handled++);
+        }
+        this.event = new BenchmarkEvent();
+        this.unobservedEvent = new UnobservedEvent();
+        // Bake the dispatch tables outside of the measurement
+        this.eventManager.post(this.event);
+        this.eventManager.post(this.unobservedEvent);
+    }
+
+    @Benchmark
+    public boolean post() {
+        return this.eventManager.post(this.event);
+    }
+
+    @Benchmark
+    public boolean postUnobserved() {
+        return this.eventManager.post(this.unobservedEvent);
+    }
+
+    @Benchmark
+    public void postNew(Blackhole blackhole) {
+        blackhole.consume(this.eventManager.post(new BenchmarkEvent()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, ProxyHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (instance, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? instance == args[0] : method.invoke(handler, args);
+                    }
+                    return handler.handle(method.getName(), args);
+                });
+    }
+
+    private interface ProxyHandler {
+
+        Object handle(String method, Object[] args);
+    }
+
+    public static class BenchmarkEvent implements Event, Cancellable {
+
+        int handled;
+        private boolean cancelled;
+
+        @Override
+        public Cause getCause() {
+            return CAUSE;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+
+    public static class UnobservedEvent implements Event {
+
+        @Override
+        public Cause getCause() {
+            return CAUSE;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import net.minecraft.launchwrapper.Launch;
+import net.minecraft.launchwrapper.LaunchClassLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.GameRegistry;
+import org.spongepowered.api.Platform;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.launch.SpongeLaunch;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entering and exiting phases through the {@link PhaseTracker},
+ * the way every scheduled task, block worker and listener does, for a
+ * varying depth of nested phases.
+ *
+ * <p>The tracker reads the global configuration, which is created in a
+ * temporary directory, and registers a task while it's initialized, which
+ * goes to a proxied game whose scheduler drops it. The phases unwind without
+ * any captures, so this is the cost of the tracking itself.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseTrackerBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int depth;
+
+    @Setup
+    public void setup() throws Exception {
+        // Read while the global configuration is created
+        Launch.classLoader = new LaunchClassLoader(new URL[0]);
+        SpongeLaunch.initPaths(Files.createTempDirectory("sponge-benchmark").toFile());
+
+        final PluginContainer plugin = proxy(PluginContainer.class, (instance, method) -> method.equals("getId") ? "benchmark" : null);
+        final Platform platform = proxy(Platform.class, (instance, method) -> method.equals("getContainer") ? plugin : null);
+        final Task.Builder taskBuilder = proxy(Task.Builder.class, (instance, method) -> method.equals("submit") ? null : instance);
+        final GameRegistry registry = proxy(GameRegistry.class, (instance, method) -> method.equals("createBuilder") ? taskBuilder : null);
+        final Game game = proxy(Game.class, (instance, method) -> {
+            switch (method) {
+                case "getPlatform":
+                    return platform;
+                case "getRegistry":
+                    return registry;
+                default:
+                    return null;
+            }
+        });
+        final Field gameField = Sponge.class.getDeclaredField("game");
+        gameField.setAccessible(true);
+        gameField.set(null, game);
+
+        // Initialize the tracker outside of the measurement
+        PhaseTracker.getInstance();
+    }
+
+    @Benchmark
+    public int enterAndExit() {
+        return enter(this.depth);
+    }
+
+    private static int enter(int depth) {
+        if (depth == 0) {
+            return 0;
+        }
+        try (BasicPluginContext context = PluginPhase.State.SCHEDULED_TASK.createPhaseContext()
+                .source(PhaseTrackerBenchmark.class)
+                .buildAndSwitch()) {
+            return enter(depth - 1) + 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, ProxyHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (instance, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return instance == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(instance);
+                            default:
+                                return type.getName();
+                        }
+                    }
+                    return handler.handle(instance, method.getName());
+                });
+    }
+
+    private interface ProxyHandler {
+
+        Object handle(Object instance, String method);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single async scheduler wake-up, comparing the
+ * previous full rescan of the task map with the due ordered queue used by
+ * {@link AsyncScheduler}. Time is simulated, every wake-up advances the
+ * clock by one millisecond so that a realistic fraction of tasks is due.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncSchedulerBenchmark {
+
+    private static final long WAKE_UP_STEP = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"10", "1000", "100000"})
+    private int taskCount;
+
+    private final Map<UUID, ScheduledTask> taskMap = new ConcurrentHashMap<>();
+    private final PriorityQueue<ScheduledTask> dueQueue = new PriorityQueue<>(ScheduledTask.DUE_ORDER);
+    private long legacyClock;
+    private long queueClock;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0x5C4ED);
+        this.taskMap.clear();
+        this.dueQueue.clear();
+        for (int i = 0; i < this.taskCount; i++) {
+            // Repeating tasks between 50 milliseconds and 10 seconds
+            final long interval = TimeUnit.MILLISECONDS.toNanos(50 + random.nextInt(10000));
+            final ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, t -> { }, "bench-" + i,
+                    interval, false, interval, false, null);
+            task.setTimestamp(-random.nextInt((int) interval));
+            this.taskMap.put(task.getUniqueId(), task);
+
+            final ScheduledTask queued = new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, t -> { }, "bench-" + i,
+                    interval, false, interval, false, null);
+            queued.setTimestamp(task.getTimestamp());
+            queued.dueTimestamp = queued.nextExecutionTimestamp();
+            this.dueQueue.add(queued);
+        }
+        this.legacyClock = 0;
+        this.queueClock = 0;
+    }
+
+    @Benchmark
+    public long legacyRescan() {
+        final long now = this.legacyClock += WAKE_UP_STEP;
+        // recalibrateMinimumTimeout() copied every task into a new set
+        final Set<Task> tasks = Sets.newHashSet(this.taskMap.values());
+        long minimumTimeout = Long.MAX_VALUE;
+        for (Task tmpTask : tasks) {
+            final ScheduledTask task = (ScheduledTask) tmpTask;
+            final long timeSinceLast = now - task.getTimestamp();
+            if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
+                minimumTimeout = Math.min(task.offset - timeSinceLast, minimumTimeout);
+            } else {
+                minimumTimeout = Math.min(task.period - timeSinceLast, minimumTimeout);
+            }
+        }
+        // runTick() then checked every task against its threshold
+        for (ScheduledTask task : this.taskMap.values()) {
+            final long threshold = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.offset : task.period;
+            if (threshold <= now - task.getTimestamp()) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                task.setTimestamp(now);
+            }
+        }
+        return minimumTimeout;
+    }
+
+    @Benchmark
+    public long dueQueue() {
+        final long now = this.queueClock += WAKE_UP_STEP;
+        ScheduledTask task;
+        while ((task = this.dueQueue.peek()) != null && task.dueTimestamp - now <= 0) {
+            this.dueQueue.poll();
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            task.setTimestamp(now);
+            task.dueTimestamp = task.nextExecutionTimestamp();
+            this.dueQueue.add(task);
+        }
+        return this.dueQueue.peek().dueTimestamp - now;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single tick of the {@link SyncScheduler} for a varying number
+ * of repeating tick based tasks.
+ *
+ * <p>This covers everything {@link SchedulerBase#runTick()} does except for
+ * the scheduler timings and the plugin phase tasks are run in, both of which
+ * need a running server. Tasks are started directly instead, and the tick
+ * counter is advanced the way {@link SyncScheduler#tick()} does.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncSchedulerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int taskCount;
+
+    private SyncScheduler scheduler;
+    private MethodHandle counterGetter;
+    private MethodHandle counterSetter;
+    private int executions;
+
+    @Setup
+    public void setup() throws Exception {
+        this.scheduler = new SyncScheduler() {
+
+            @Override
+            protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                task.getConsumer().accept(task);
+            }
+        };
+        final Field counter = SyncScheduler.class.getDeclaredField("counter");
+        counter.setAccessible(true);
+        this.counterGetter = MethodHandles.lookup().unreflectGetter(counter);
+        this.counterSetter = MethodHandles.lookup().unreflectSetter(counter);
+        final Random random = new Random(0x5C4ED);
+        for (int i = 0; i < this.taskCount; i++) {
+            // Repeating tasks between every tick and every minute
+            final long interval = 1 + random.nextInt(1200);
+            final ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, t -> this.executions++, "bench-" + i,
+                    random.nextInt((int) interval), true, interval, true, null);
+            this.scheduler.addTask(task);
+        }
+    }
+
+    @Benchmark
+    public int tick() throws Throwable {
+        this.counterSetter.invoke(this.scheduler, (long) this.counterGetter.invoke(this.scheduler) + 1);
+        this.scheduler.preTick();
+        this.scheduler.processTasks();
+        this.scheduler.postTick();
+        return this.executions;
+    }
+}
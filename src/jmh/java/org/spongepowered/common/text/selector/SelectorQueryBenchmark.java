@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.effect.EntityLightningBolt;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares resolving radius selectors such as {@code @e[r=32]},
+ * {@code @e[r=32,type=xp_orb]} and {@code @e[r=32,c=1]} by scanning the whole
+ * entity list, like {@link SelectorResolver} used to, against walking the
+ * covered chunks with {@link ChunkEntityQuery}.
+ *
+ * <p>The entities are allocated without running their constructors since
+ * those need a world, only their position and chunk membership matter
+ * here. The types are picked for not needing the registries bootstrapped.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorQueryBenchmark {
+
+    private static final int WORLD_RADIUS_CHUNKS = 32;
+    private static final int SELECTOR_RADIUS = 32;
+    private static final Predicate<Entity> ACCEPT_ALL = entity -> true;
+
+    @Param({"5000", "50000"})
+    private int entityCount;
+
+    private final List<Entity> loadedEntities = new ArrayList<>();
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+    private IChunkProvider chunkProvider;
+    private AxisAlignedBB bounds;
+
+    @Setup
+    public void setup() throws Exception {
+        final Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        final Unsafe unsafe = (Unsafe) field.get(null);
+        final Random random = new Random(0x5E1EC7);
+        final int blockRadius = WORLD_RADIUS_CHUNKS * 16;
+        for (int i = 0; i < this.entityCount; i++) {
+            final Class<? extends Entity> type = i % 4 == 0 ? EntityXPOrb.class : EntityLightningBolt.class;
+            final Entity entity = (Entity) unsafe.allocateInstance(type);
+            entity.posX = random.nextDouble() * blockRadius * 2 - blockRadius;
+            entity.posY = 4 + random.nextDouble() * 120;
+            entity.posZ = random.nextDouble() * blockRadius * 2 - blockRadius;
+            final int chunkX = (int) Math.floor(entity.posX) >> 4;
+            final int chunkZ = (int) Math.floor(entity.posZ) >> 4;
+            this.chunks.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new Chunk(null, chunkX, chunkZ)).addEntity(entity);
+            this.loadedEntities.add(entity);
+        }
+        this.chunkProvider = (IChunkProvider) Proxy.newProxyInstance(IChunkProvider.class.getClassLoader(), new Class<?>[] {IChunkProvider.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getLoadedChunk")) {
+                        return this.chunks.get(ChunkPos.asLong((Integer) args[0], (Integer) args[1]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        this.bounds = new AxisAlignedBB(-SELECTOR_RADIUS, 64 - SELECTOR_RADIUS, -SELECTOR_RADIUS, SELECTOR_RADIUS, 64 + SELECTOR_RADIUS, SELECTOR_RADIUS);
+    }
+
+    @Benchmark
+    public List<Entity> radiusWorldScan() {
+        return scan(Entity.class, 0);
+    }
+
+    @Benchmark
+    public List<Entity> radiusChunkQuery() {
+        return query(Entity.class, 0);
+    }
+
+    @Benchmark
+    public List<Entity> typedWorldScan() {
+        return scan(EntityXPOrb.class, 0);
+    }
+
+    @Benchmark
+    public List<Entity> typedChunkQuery() {
+        return query(EntityXPOrb.class, 0);
+    }
+
+    @Benchmark
+    public List<Entity> limitedWorldScan() {
+        return scan(Entity.class, 1);
+    }
+
+    @Benchmark
+    public List<Entity> limitedChunkQuery() {
+        return query(Entity.class, 1);
+    }
+
+    private List<Entity> scan(Class<? extends Entity> type, int limit) {
+        final List<Entity> out = new ArrayList<>();
+        for (Entity entity : this.loadedEntities) {
+            if (type.isInstance(entity) && this.bounds.minX <= entity.posX && entity.posX <= this.bounds.maxX
+                    && this.bounds.minY <= entity.posY && entity.posY <= this.bounds.maxY
+                    && this.bounds.minZ <= entity.posZ && entity.posZ <= this.bounds.maxZ) {
+                out.add(entity);
+                if (limit > 0 && out.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    private List<Entity> query(Class<? extends Entity> type, int limit) {
+        final List<Entity> out = new ArrayList<>();
+        ChunkEntityQuery.collect(this.chunkProvider, this.bounds, type, ACCEPT_ALL, out, limit);
+        return out;
+    }
+}
@@ -49,6 +49,7 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -121,6 +122,15 @@ static void reportTimings(CommandSource sender) {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
                 })));
 
+        // The async lighting threads run outside of the tick, report their backlog instead
+        AsyncLightingEngine.getIfRunning().ifPresent(engine -> builder.add("lighting", JSONUtil.objectBuilder()
+                .add("threads", engine.getThreads())
+                .add("queued", engine.getQueuedUpdates())
+                .add("tasks", engine.getQueuedTasks())
+                .add("processed", engine.getProcessedUpdates())
+                .add("batches", engine.getBatches())
+                .add("throughput", engine.getUpdatesPerSecond())));
+
         Set<BlockType> blockTypeSet = Sets.newHashSet();
         Set<EntityType> entityTypeSet = Sets.newHashSet();
 
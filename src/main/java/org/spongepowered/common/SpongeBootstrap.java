@@ -39,6 +39,8 @@
 import org.spongepowered.api.service.whitelist.WhitelistService;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.common.command.SpongeCommandFactory;
+import org.spongepowered.common.config.category.DebugCategory;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.service.ban.SpongeBanService;
 import org.spongepowered.common.service.pagination.SpongePaginationService;
 import org.spongepowered.common.service.rcon.MinecraftRconService;
@@ -72,6 +74,10 @@ public static void initializeServices() {
             }
         });
         SpongeUsernameCache.load();
+        final DebugCategory debug = SpongeImpl.getGlobalConfig().getConfig().getDebug();
+        if (debug.isEventProfiling()) {
+            ((SpongeEventManager) Sponge.getEventManager()).setProfilingSampleRate(debug.getEventProfilingSampleRate());
+        }
     }
 
     public static void initializeCommands() {
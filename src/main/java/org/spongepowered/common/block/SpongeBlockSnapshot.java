@@ -128,7 +128,10 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         }
         this.keyValueMap = tileBuilder.build();
         this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
-        this.compound = builder.compound == null ? null : builder.compound.copy();
+        // Snapshots never modify their compound, so it is shared with the builder rather than
+        // copied. The builder copies it first if it is changed again afterwards.
+        this.compound = builder.compound;
+        builder.compoundShared = builder.compound != null;
         this.changeFlag = (SpongeBlockChangeFlag) BlockChangeFlags.ALL;
     }
 
@@ -476,7 +479,7 @@ public SpongeBlockSnapshotBuilder createBuilder() {
             builder.add(manipulator);
         }
         if (this.compound != null) {
-            builder.unsafeNbt(this.compound);
+            builder.sharedNbt(this.compound);
         }
         return builder;
     }
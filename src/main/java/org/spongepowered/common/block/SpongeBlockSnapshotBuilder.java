@@ -73,6 +73,8 @@ public class SpongeBlockSnapshotBuilder extends AbstractDataBuilder<BlockSnapsho
     Vector3i coords;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
+    // Set once the compound is referenced by a snapshot, it must be copied before being modified
+    boolean compoundShared;
     SpongeBlockChangeFlag flag = (SpongeBlockChangeFlag) BlockChangeFlags.ALL;
 
 
@@ -106,6 +108,10 @@ public SpongeBlockSnapshotBuilder extendedState(BlockState extendedState) {
     public SpongeBlockSnapshotBuilder position(Vector3i position) {
         this.coords = checkNotNull(position);
         if (this.compound != null) {
+            if (this.compoundShared) {
+                this.compound = this.compound.copy();
+                this.compoundShared = false;
+            }
             this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, position.getX());
             this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, position.getY());
             this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Z, position.getZ());
@@ -121,6 +127,7 @@ public SpongeBlockSnapshotBuilder from(Location<World> location) {
         if (this.blockState.getType() instanceof ITileEntityProvider) {
             if (location.hasTileEntity()) {
                 this.compound = new NBTTagCompound();
+                this.compoundShared = false;
                 org.spongepowered.api.block.tileentity.TileEntity te = location.getTileEntity().get();
                 ((TileEntity) te).writeToNBT(this.compound);
                 this.manipulators = ((IMixinCustomDataHolder) te).getCustomManipulators().stream()
@@ -145,6 +152,28 @@ public BlockSnapshot.Builder notifier(UUID uuid) {
 
     public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
         this.compound = compound.copy();
+        this.compoundShared = false;
+        return this;
+    }
+
+    /**
+     * Sets the tile entity data without taking a defensive copy. The caller
+     * hands the compound over and must not modify it afterwards, as the
+     * snapshots built from here on will reference it directly.
+     *
+     * @param compound The freshly written tile entity compound
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder unsafeNbtNoCopy(NBTTagCompound compound) {
+        this.compound = compound;
+        this.compoundShared = false;
+        return this;
+    }
+
+    // Snapshots never modify their compound, so one may be shared until the builder needs to change it
+    SpongeBlockSnapshotBuilder sharedNbt(NBTTagCompound compound) {
+        this.compound = compound;
+        this.compoundShared = true;
         return this;
     }
 
@@ -199,7 +228,7 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
         this.manipulators = Lists.newArrayList(holder.getManipulators());
         if (holder instanceof SpongeBlockSnapshot) {
             if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = ((SpongeBlockSnapshot) holder).compound.copy();
+                sharedNbt(((SpongeBlockSnapshot) holder).compound);
             }
         }
         return this;
@@ -214,6 +243,7 @@ public SpongeBlockSnapshotBuilder reset() {
         this.coords = null;
         this.manipulators = null;
         this.compound = null;
+        this.compoundShared = false;
         return this;
     }
 
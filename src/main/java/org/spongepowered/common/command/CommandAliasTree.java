@@ -0,0 +1,273 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.command.CommandMapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable radix tree of lower case command aliases and the mappings
+ * registered under them.
+ *
+ * <p>Modifications copy only the path to the changed node and return a new
+ * tree, so a tree can be published through a volatile field and read
+ * without any locking while registrations replace it.</p>
+ */
+public final class CommandAliasTree {
+
+    public static final CommandAliasTree EMPTY = new CommandAliasTree(new Node("", new Node[0], ImmutableList.of()), 0);
+
+    private final Node root;
+    private final int size;
+
+    private CommandAliasTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of aliases in this tree.
+     *
+     * @return The number of aliases
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the mappings registered under exactly the given alias.
+     *
+     * @param alias The lower case alias
+     * @return The mappings, in registration order
+     */
+    public List<CommandMapping> get(String alias) {
+        Node node = this.root;
+        int offset = 0;
+        while (offset < alias.length()) {
+            final Node child = node.child(alias.charAt(offset));
+            if (child == null || !alias.startsWith(child.edge, offset)) {
+                return ImmutableList.of();
+            }
+            offset += child.edge.length();
+            node = child;
+        }
+        return node.mappings;
+    }
+
+    /**
+     * Passes every alias starting with the given prefix, along with its
+     * mappings, to the consumer in lexicographical order.
+     *
+     * @param prefix The lower case prefix
+     * @param consumer The consumer of aliases and their mappings
+     */
+    public void forEachWithPrefix(String prefix, BiConsumer<String, List<CommandMapping>> consumer) {
+        Node node = this.root;
+        int offset = 0;
+        final StringBuilder alias = new StringBuilder(prefix.length() + 16);
+        while (offset < prefix.length()) {
+            final Node child = node.child(prefix.charAt(offset));
+            if (child == null) {
+                return;
+            }
+            final int common = commonPrefix(child.edge, prefix, offset);
+            if (offset + common < prefix.length() && common < child.edge.length()) {
+                return;
+            }
+            alias.append(child.edge);
+            offset += child.edge.length();
+            node = child;
+        }
+        collect(node, alias, consumer);
+    }
+
+    /**
+     * Gets a tree with the mapping added under the given alias.
+     *
+     * @param alias The lower case alias
+     * @param mapping The mapping
+     * @return The new tree
+     */
+    public CommandAliasTree with(String alias, CommandMapping mapping) {
+        final boolean added = get(alias).isEmpty();
+        return new CommandAliasTree(this.root.put(alias, 0, mapping), added ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Gets a tree with the mapping removed from the given alias.
+     *
+     * @param alias The lower case alias
+     * @param mapping The mapping
+     * @return The new tree, or this tree if the mapping was not registered under the alias
+     */
+    public CommandAliasTree without(String alias, CommandMapping mapping) {
+        final List<CommandMapping> mappings = get(alias);
+        if (!mappings.contains(mapping)) {
+            return this;
+        }
+        Node root = this.root.remove(alias, 0, mapping);
+        if (root == null) {
+            root = EMPTY.root;
+        }
+        return new CommandAliasTree(root, mappings.size() == 1 ? this.size - 1 : this.size);
+    }
+
+    private static void collect(Node node, StringBuilder alias, BiConsumer<String, List<CommandMapping>> consumer) {
+        if (!node.mappings.isEmpty()) {
+            consumer.accept(alias.toString(), node.mappings);
+        }
+        for (Node child : node.children) {
+            final int length = alias.length();
+            alias.append(child.edge);
+            collect(child, alias, consumer);
+            alias.setLength(length);
+        }
+    }
+
+    static int commonPrefix(String edge, String key, int offset) {
+        final int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        final String edge;
+        // Sorted by the first character of their edge, which is unique among siblings
+        final Node[] children;
+        final ImmutableList<CommandMapping> mappings;
+
+        Node(String edge, Node[] children, ImmutableList<CommandMapping> mappings) {
+            this.edge = edge;
+            this.children = children;
+            this.mappings = mappings;
+        }
+
+        Node child(char c) {
+            final int index = indexOf(c);
+            return index < 0 ? null : this.children[index];
+        }
+
+        int indexOf(char c) {
+            int low = 0;
+            int high = this.children.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char midChar = this.children[mid].edge.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        // The key up to offset has been matched by the path to this node
+        Node put(String key, int offset, CommandMapping mapping) {
+            if (offset == key.length()) {
+                if (this.mappings.contains(mapping)) {
+                    return this;
+                }
+                return new Node(this.edge, this.children, ImmutableList.<CommandMapping>builder().addAll(this.mappings).add(mapping).build());
+            }
+            final int index = indexOf(key.charAt(offset));
+            if (index < 0) {
+                final Node leaf = new Node(key.substring(offset), new Node[0], ImmutableList.of(mapping));
+                return withChild(-(index + 1), leaf, true);
+            }
+            final Node child = this.children[index];
+            final int common = commonPrefix(child.edge, key, offset);
+            if (common == child.edge.length()) {
+                return withChild(index, child.put(key, offset + common, mapping), false);
+            }
+            // Split the edge where the key diverges from it
+            final Node tail = new Node(child.edge.substring(common), child.children, child.mappings);
+            final Node split = new Node(child.edge.substring(0, common), new Node[] {tail}, ImmutableList.of());
+            return withChild(index, split.put(key, offset + common, mapping), false);
+        }
+
+        // Returns null if this node is left without mappings and children
+        Node remove(String key, int offset, CommandMapping mapping) {
+            if (offset == key.length()) {
+                final ImmutableList.Builder<CommandMapping> remaining = ImmutableList.builder();
+                for (CommandMapping existing : this.mappings) {
+                    if (!existing.equals(mapping)) {
+                        remaining.add(existing);
+                    }
+                }
+                return new Node(this.edge, this.children, remaining.build()).compact();
+            }
+            final int index = indexOf(key.charAt(offset));
+            final Node child = this.children[index];
+            final Node removed = child.remove(key, offset + child.edge.length(), mapping);
+            if (removed == null) {
+                final Node[] children = new Node[this.children.length - 1];
+                System.arraycopy(this.children, 0, children, 0, index);
+                System.arraycopy(this.children, index + 1, children, index, children.length - index);
+                return new Node(this.edge, children, this.mappings).compact();
+            }
+            return withChild(index, removed, false);
+        }
+
+        private Node compact() {
+            if (!this.mappings.isEmpty() || this.edge.isEmpty()) {
+                return this;
+            }
+            if (this.children.length == 0) {
+                return null;
+            }
+            if (this.children.length == 1) {
+                // Merge into the only child, nothing is registered at this node anymore
+                final Node child = this.children[0];
+                return new Node(this.edge + child.edge, child.children, child.mappings);
+            }
+            return this;
+        }
+
+        private Node withChild(int index, Node child, boolean insert) {
+            final Node[] children;
+            if (insert) {
+                children = new Node[this.children.length + 1];
+                System.arraycopy(this.children, 0, children, 0, index);
+                System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+            } else {
+                children = Arrays.copyOf(this.children, this.children.length);
+            }
+            children[index] = child;
+            return new Node(this.edge, children, this.mappings);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.ListenerStats;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeEventManager;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+public class EventProfilingHelper {
+
+    public static final Comparator<RegisteredListener<?>> BY_ESTIMATED_TIME =
+            Comparator.<RegisteredListener<?>>comparingDouble(listener -> listener.getStats().getEstimatedNanos()).reversed();
+
+    public static String describe(RegisteredListener<?> listener) {
+        return listener.getHandle().getClass().getName() + " (" + listener.getEventType() + ", " + listener.getOrder() + ")";
+    }
+
+    public static void writeProfile(File file, SpongeEventManager eventManager) {
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+
+            final List<RegisteredListener<?>> listeners = eventManager.getRegisteredListeners();
+            listeners.sort(BY_ESTIMATED_TIME);
+            try (JsonWriter writer = new JsonWriter(new FileWriter(file))) {
+                writer.setIndent("  ");
+                writer.beginObject();
+                writer.name("sampleRate").value(eventManager.getProfilingSampleRate());
+
+                writer.name("listeners").beginArray();
+                for (RegisteredListener<?> listener : listeners) {
+                    final ListenerStats stats = listener.getStats();
+                    writer.beginObject();
+                    writer.name("plugin").value(listener.getPlugin().getId());
+                    writer.name("handler").value(listener.getHandle().getClass().getName());
+                    writer.name("event").value(listener.getEventType().toString());
+                    writer.name("order").value(listener.getOrder().name());
+                    writer.name("invocations").value(stats.getInvocations());
+                    writer.name("cancellations").value(stats.getCancellations());
+                    writer.name("samples").value(stats.getSamples());
+                    writer.name("totalSampledNanos").value(stats.getTotalNanos());
+                    writer.name("meanNanos").value(stats.getMeanNanos());
+                    writer.name("maxNanos").value(stats.getMaxNanos());
+                    writer.name("estimatedNanos").value(stats.getEstimatedNanos());
+                    writer.endObject();
+                }
+                writer.endArray();
+
+                writer.name("unlistenedPosts").beginObject();
+                for (Map.Entry<Class<?>, Long> entry : eventManager.getUnlistenedPosts().entrySet()) {
+                    writer.name(entry.getKey().getName()).value(entry.getValue());
+                }
+                writer.endObject();
+
+                // The flags the implementation checks before constructing events
+                final List<String> enabled = new ArrayList<>();
+                final List<String> disabled = new ArrayList<>();
+                for (Field field : ShouldFire.class.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && field.getType() == boolean.class) {
+                        (field.getBoolean(null) ? enabled : disabled).add(field.getName());
+                    }
+                }
+                writer.name("shouldFire").beginObject();
+                writeNames(writer, "enabled", enabled);
+                writeNames(writer, "disabled", disabled);
+                writer.endObject();
+
+                writer.endObject();
+            }
+        } catch (Throwable throwable) {
+            SpongeImpl.getLogger().error("Could not save event profile to " + file, throwable);
+        }
+    }
+
+    private static void writeNames(JsonWriter writer, String name, List<String> names) throws IOException {
+        writer.name(name).beginArray();
+        for (String value : names) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+}
@@ -88,12 +88,16 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.ListenerStats;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
 
@@ -170,6 +174,8 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongeEventsCommand(), "events");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeConfigCommand(), "config");
         flagChildren.register(createSpongeReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -191,6 +197,8 @@ INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation\n",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
+                        INDENT, title("scheduler"), LONG_INDENT, "Provides async task queue and run time data per plugin\n",
+                        INDENT, title("events"), LONG_INDENT, "Profiles the time spent in each event listener\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -743,6 +751,100 @@ private static CommandSpec createSpongeTpsCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.scheduler")
+                .description(Text.of("Provides async task queue and run time data per plugin."))
+                .executor((src, args) -> {
+                    final AsyncTaskExecutor executor = SpongeImpl.getScheduler().getAsyncTaskExecutor();
+                    final List<AsyncTaskExecutor.PluginTaskQueue> queues = new ArrayList<>(executor.getPluginQueues());
+                    if (queues.isEmpty()) {
+                        src.sendMessage(Text.of("No async tasks have run yet."));
+                        return CommandResult.success();
+                    }
+                    queues.sort(Comparator.comparingLong(AsyncTaskExecutor.PluginTaskQueue::getTotalNanos).reversed());
+                    for (AsyncTaskExecutor.PluginTaskQueue queue : queues) {
+                        final long completed = queue.getCompleted();
+                        final double meanMs = completed == 0 ? 0 : queue.getTotalNanos() / (double) completed * 1.0e-6d;
+                        src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, queue.getPluginId(), TextColors.RESET, "] Queued: ",
+                                TextColors.LIGHT_PURPLE, queue.getQueueDepth(), TextColors.RESET, ", Running: ", TextColors.LIGHT_PURPLE,
+                                queue.getRunning(), queue.getConcurrencyLimit() > 0 ? "/" + queue.getConcurrencyLimit() : "", TextColors.RESET,
+                                ", Completed: ", TextColors.LIGHT_PURPLE, completed, TextColors.RESET,
+                                ", Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(meanMs), "ms", TextColors.RESET,
+                                ", Max: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(queue.getMaxNanos() * 1.0e-6d), "ms"));
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static CommandSpec createSpongeEventsCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.events")
+                .description(Text.of("Provides invocation, time and cancellation data per event listener."))
+                .arguments(optional(GenericArguments.integer(Text.of("count"))))
+                .executor((src, args) -> {
+                    final SpongeEventManager eventManager = (SpongeEventManager) Sponge.getEventManager();
+                    if (eventManager.getProfilingSampleRate() == 0) {
+                        src.sendMessage(Text.of("Please enable event profiling by typing /sponge events on"));
+                        return CommandResult.empty();
+                    }
+                    final List<RegisteredListener<?>> listeners = eventManager.getRegisteredListeners();
+                    listeners.removeIf(listener -> listener.getStats().getInvocations() == 0);
+                    listeners.sort(EventProfilingHelper.BY_ESTIMATED_TIME);
+                    final int count = Math.min(listeners.size(), args.<Integer>getOne("count").orElse(10));
+                    for (int i = 0; i < count; i++) {
+                        final RegisteredListener<?> listener = listeners.get(i);
+                        final ListenerStats stats = listener.getStats();
+                        src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, listener.getPlugin().getId(), TextColors.RESET, "] ",
+                                EventProfilingHelper.describe(listener), " Calls: ", TextColors.LIGHT_PURPLE, stats.getInvocations(),
+                                TextColors.RESET, ", Cancelled: ", TextColors.LIGHT_PURPLE, stats.getCancellations(), TextColors.RESET,
+                                ", Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getMeanNanos() * 1.0e-6d), "ms",
+                                TextColors.RESET, ", Max: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getMaxNanos() * 1.0e-6d),
+                                "ms"));
+                    }
+                    return CommandResult.success();
+                })
+                .child(CommandSpec.builder()
+                        .arguments(optional(GenericArguments.integer(Text.of("sample-rate"))))
+                        .executor((src, args) -> {
+                            final int sampleRate = args.<Integer>getOne("sample-rate")
+                                    .orElseGet(() -> SpongeImpl.getGlobalConfig().getConfig().getDebug().getEventProfilingSampleRate());
+                            if (sampleRate < 1) {
+                                throw new CommandException(Text.of("The sample rate must be at least 1"));
+                            }
+                            ((SpongeEventManager) Sponge.getEventManager()).setProfilingSampleRate(sampleRate);
+                            src.sendMessage(Text.of("Enabled event profiling, timing 1 in ", sampleRate, " posts"));
+                            return CommandResult.success();
+                        })
+                        .build(), "on")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            ((SpongeEventManager) Sponge.getEventManager()).setProfilingSampleRate(0);
+                            src.sendMessage(Text.of("Disabled event profiling"));
+                            return CommandResult.success();
+                        })
+                        .build(), "off")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            ((SpongeEventManager) Sponge.getEventManager()).resetProfiling();
+                            src.sendMessage(Text.of("Event profiling data reset"));
+                            return CommandResult.success();
+                        })
+                        .build(), "reset")
+                .child(CommandSpec.builder()
+                        .executor((src, args) -> {
+                            File file = new File(new File(new File("."), "event-dumps"),
+                                    "event-profile-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".json");
+                            src.sendMessage(Text.of("Writing event profile to: ", file));
+                            EventProfilingHelper.writeProfile(file, (SpongeEventManager) Sponge.getEventManager());
+                            src.sendMessage(Text.of("Event profile complete"));
+                            return CommandResult.success();
+                        })
+                        .build(), "dump")
+                .build();
+    }
+
     private static void printWorldTickTime(CommandSource src, World world) {
         final long[] worldTickTimes = ((IMixinMinecraftServer) SpongeImpl.getServer()).
                 getWorldTickTimes(((IMixinWorldServer) world).getDimensionId());
@@ -57,8 +57,10 @@
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.tracking.phase.general.CommandPhaseContext;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
+import org.spongepowered.common.service.permission.base.SpongeMemorySubjectData;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -66,13 +68,16 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -87,11 +92,15 @@
 public class SpongeCommandManager implements CommandManager {
 
     private static final Pattern SPACE_PATTERN = Pattern.compile(" ", Pattern.LITERAL);
+    private static final int MAX_CACHED_COMPLETIONS = 1024;
     private final Logger logger;
     private final SimpleDispatcher dispatcher;
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
+    // Replaced under the lock, read without it
+    private volatile CommandAliasTree aliasTree = CommandAliasTree.EMPTY;
+    private final Map<CompletionKey, CachedCompletions> completionCache = new ConcurrentHashMap<>();
 
     /**
      * Construct a simple {@link CommandManager}.
@@ -166,6 +175,12 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             if (mapping.isPresent()) {
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
+                CommandAliasTree tree = this.aliasTree;
+                for (String alias : mapping.get().getAllAliases()) {
+                    tree = tree.with(alias.toLowerCase(Locale.ENGLISH), mapping.get());
+                }
+                this.aliasTree = tree;
+                this.completionCache.clear();
             }
 
             return mapping;
@@ -211,6 +226,12 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
     }
 
     private void forgetMapping(CommandMapping mapping) {
+        CommandAliasTree tree = this.aliasTree;
+        for (String alias : mapping.getAllAliases()) {
+            tree = tree.without(alias.toLowerCase(Locale.ENGLISH), mapping);
+        }
+        this.aliasTree = tree;
+        this.completionCache.clear();
         Iterator<CommandMapping> it = this.owners.values().iterator();
         while (it.hasNext()) {
             if (it.next().equals(mapping)) {
@@ -272,7 +293,7 @@ public Optional<? extends CommandMapping> get(String alias, @Nullable CommandSou
 
     @Override
     public Set<? extends CommandMapping> getAll(String alias) {
-        return this.dispatcher.getAll(alias);
+        return ImmutableSet.copyOf(this.aliasTree.get(alias.toLowerCase(Locale.ENGLISH)));
     }
 
     @Override
@@ -282,7 +303,7 @@ public Multimap<String, CommandMapping> getAll() {
 
     @Override
     public boolean containsAlias(String alias) {
-        return this.dispatcher.containsAlias(alias);
+        return !this.aliasTree.get(alias.toLowerCase(Locale.ENGLISH)).isEmpty();
     }
 
     @Override
@@ -381,10 +402,13 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock) {
         try {
             final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+            final List<String> originalSuggestions = argSplit.length == 1
+                    ? getAliasSuggestions(src, argSplit[0])
+                    : ImmutableList.copyOf(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+            List<String> suggestions = new ArrayList<>(originalSuggestions);
             Sponge.getCauseStackManager().pushCause(src);
             final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
-                    ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
+                    originalSuggestions, suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
             Sponge.getGame().getEventManager().post(event);
             Sponge.getCauseStackManager().popCause();
             if (event.isCancelled()) {
@@ -399,6 +423,42 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    private List<String> getAliasSuggestions(CommandSource src, String prefix) {
+        final int cacheDuration = SpongeImpl.getGlobalConfig().getConfig().getCommands().getCompletionCacheDuration();
+        if (cacheDuration <= 0) {
+            return findAliases(src, prefix);
+        }
+        final CompletionKey key = new CompletionKey(src.getIdentifier(), prefix.toLowerCase(Locale.ENGLISH));
+        final long now = System.nanoTime();
+        final long permissionModifications = SpongeMemorySubjectData.getLatestVersion();
+        final CachedCompletions cached = this.completionCache.get(key);
+        if (cached != null && cached.permissionModifications == permissionModifications
+                && now - cached.created < TimeUnit.MILLISECONDS.toNanos(cacheDuration)) {
+            return cached.completions;
+        }
+        final List<String> completions = findAliases(src, prefix);
+        if (this.completionCache.size() >= MAX_CACHED_COMPLETIONS) {
+            this.completionCache.clear();
+        }
+        this.completionCache.put(key, new CachedCompletions(completions, permissionModifications, now));
+        return completions;
+    }
+
+    private List<String> findAliases(CommandSource src, String prefix) {
+        final ImmutableList.Builder<String> aliases = ImmutableList.builder();
+        // Most mappings are registered under several aliases, only check their permission once
+        final Map<CommandMapping, Boolean> permitted = new IdentityHashMap<>();
+        this.aliasTree.forEachWithPrefix(prefix.toLowerCase(Locale.ENGLISH), (alias, mappings) -> {
+            for (CommandMapping mapping : mappings) {
+                if (permitted.computeIfAbsent(mapping, m -> m.getCallable().testPermission(src))) {
+                    aliases.add(alias);
+                    return;
+                }
+            }
+        });
+        return aliases.build();
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
@@ -424,4 +484,45 @@ public int size() {
         return this.dispatcher.size();
     }
 
+    private static final class CompletionKey {
+
+        private final String identifier;
+        private final String prefix;
+
+        CompletionKey(String identifier, String prefix) {
+            this.identifier = identifier;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CompletionKey)) {
+                return false;
+            }
+            final CompletionKey other = (CompletionKey) o;
+            return this.identifier.equals(other.identifier) && this.prefix.equals(other.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.identifier, this.prefix);
+        }
+    }
+
+    private static final class CachedCompletions {
+
+        final List<String> completions;
+        final long permissionModifications;
+        final long created;
+
+        CachedCompletions(List<String> completions, long permissionModifications, long created) {
+            this.completions = completions;
+            this.permissionModifications = permissionModifications;
+            this.created = created;
+        }
+    }
+
 }
@@ -40,6 +40,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.permission.base.SpongeMemorySubjectData;
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
@@ -55,7 +56,7 @@ public class WrapperCommandSource extends SpongeSubject implements CommandSource
     private WrapperCommandSource(ICommandSender sender) {
         this.sender = sender;
         this.service = SpongeImpl.getGame().getServiceManager().provideUnchecked(PermissionService.class);
-        this.data = new MemorySubjectData(this.service);
+        this.data = new SpongeMemorySubjectData(this.service);
         CommandPermissions.populateMinecraftPermissions(sender, data);
     }
 
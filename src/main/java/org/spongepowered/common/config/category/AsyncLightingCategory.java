@@ -33,9 +33,13 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "enabled", comment = "If enabled, runs lighting updates async.")
     private boolean enabled = true;
 
-    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for async lighting updates. (Default: 2)")
+    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for async lighting updates. The threads are shared by all worlds. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "batch-size", comment = "The maximum amount of queued positions of a chunk a light thread updates before it moves on\n"
+            + "to other chunks. The queue depth and throughput of the lighting threads are included in timings reports. (Default: 256)")
+    private int batchSize = 256;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +47,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
 }
@@ -41,6 +41,11 @@ public class CommandsCategory extends ConfigCategory {
             + "changes on the all worlds.")
     private Map<String, Boolean> multiWorldCommandPatches = new HashMap<>();
 
+    @Setting(value = "completion-cache-duration", comment = "The number of milliseconds command name tab completions are cached for, per source.\n"
+            + "The cache is cleared when commands are registered or removed and when permissions managed by Sponge change,\n"
+            + "permission plugins may take up to this long to be reflected in completions. 0 disables the cache.")
+    private int completionCacheDuration = 0;
+
     public Map<String, String> getAliases() {
         return this.aliases;
     }
@@ -49,4 +54,8 @@ public Map<String, Boolean> getMultiWorldCommandPatches() {
         return this.multiWorldCommandPatches;
     }
 
+    public int getCompletionCacheDuration() {
+        return this.completionCacheDuration;
+    }
+
 }
@@ -42,6 +42,29 @@ public class DebugCategory extends ConfigCategory {
     @Setting(value = "concurrent-entity-checks", comment = "Detect and prevent certain attempts to use entities concurrently.\nWARNING: May drastically decrease server performance. Only enable this to debug a pre-existing issue")
     private boolean concurrentChecks = false;
 
+    @Setting(value = "event-profiling", comment = "Keep per listener invocation, time and cancellation counters, see '/sponge events'.\n"
+            + "Counters are striped and timing is sampled, so this is cheap enough to leave on in production")
+    private boolean eventProfiling = true;
+    @Setting(value = "event-profiling-sample-rate", comment = "Time one in this many event posts while profiling listeners.\n"
+            + "Counts are kept for every post, only the timing is sampled. Set to 1 to time every post")
+    private int eventProfilingSampleRate = 16;
+
+    public boolean isEventProfiling() {
+        return this.eventProfiling;
+    }
+
+    public void setEventProfiling(boolean eventProfiling) {
+        this.eventProfiling = eventProfiling;
+    }
+
+    public int getEventProfilingSampleRate() {
+        return Math.max(1, this.eventProfilingSampleRate);
+    }
+
+    public void setEventProfilingSampleRate(int eventProfilingSampleRate) {
+        this.eventProfilingSampleRate = eventProfilingSampleRate;
+    }
+
     public boolean doConcurrentChecks() {
         return this.concurrentChecks;
     }
@@ -35,6 +35,10 @@ public class EntityActivationRangeCategory extends ConfigCategory {
 
     @Setting(value = "auto-populate", comment = "If enabled, newly discovered entities will be added to this config with a default value.")
     private boolean autoPopulate = false;
+    @Setting(value = "incremental", comment = "If enabled, entities are activated per chunk from a grid of the chunks within range of players,\n"
+            + "which is only updated as players cross chunks. This is much cheaper with many players and entities,\n"
+            + "but coarser as whole chunks within the largest range of an activation type are activated.")
+    private boolean incremental = false;
     @Setting(value = "defaults", comment = "Default activation ranges used for all entities unless overridden.")
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
@@ -52,6 +56,10 @@ public boolean autoPopulateData() {
         return this.autoPopulate;
     }
 
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
     public Map<String, Integer> getDefaultRanges() {
         return this.defaultRanges;
     }
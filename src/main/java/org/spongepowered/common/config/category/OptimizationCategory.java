@@ -61,6 +61,17 @@ public class OptimizationCategory extends ConfigCategory {
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "lazy-tile-snapshots", comment = "If enabled, block changes captured while no plugin listens for ChangeBlockEvent skip\n"
+            + "saving the tile entity data and custom data of the replaced block, as nothing can read or restore it.\n"
+            + "Note: Mods that rely on that data being present in captured snapshots will not see it.")
+    private boolean lazyTileSnapshots = false;
+
+    @Setting(value = "deferred-block-captures", comment = "If enabled, block changes captured while no plugin listens for ChangeBlockEvent are\n"
+            + "recorded compactly and only turned into snapshots once the phase processes them, without throwing their events.\n"
+            + "Changes replacing a tile entity are always captured right away.\n"
+            + "Note: Mods that inspect captured blocks mid phase will not see snapshots of the deferred changes.")
+    private boolean deferredBlockCaptures = false;
+
     public OptimizationCategory() {  
         try {  
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.  
@@ -99,4 +110,12 @@ public boolean useAsyncLighting() {
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
+
+    public boolean useLazyTileSnapshots() {
+        return this.lazyTileSnapshots;
+    }
+
+    public boolean useDeferredBlockCaptures() {
+        return this.deferredBlockCaptures;
+    }
 }
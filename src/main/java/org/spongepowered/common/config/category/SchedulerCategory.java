@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-executor", comment = "The executor used to run async plugin tasks. One of:\n"
+            + "  cached - Unbounded pool that creates threads as needed (Default)\n"
+            + "  bounded - Fixed size pool of 'async-max-threads' threads\n"
+            + "  work-stealing - Work-stealing pool with a parallelism of 'async-max-threads'\n"
+            + "  virtual - A virtual thread per task where the runtime supports it, otherwise 'cached'")
+    private String asyncExecutor = "cached";
+
+    @Setting(value = "async-max-threads", comment = "The number of threads for the 'bounded' and 'work-stealing' executors.\n"
+            + "Set to 0 to use the number of available processors. (Default: 0)")
+    private int asyncMaxThreads = 0;
+
+    @Setting(value = "async-plugin-concurrency", comment = "The maximum number of async tasks of a single plugin that may run at once,\n"
+            + "further tasks are queued until one completes. Set to 0 to disable the limit. (Default: 0)")
+    private int asyncPluginConcurrency = 0;
+
+    @Setting(value = "async-plugin-concurrency-overrides", comment = "Per plugin id overrides of 'async-plugin-concurrency'.")
+    private Map<String, Integer> asyncPluginConcurrencyOverrides = new HashMap<>();
+
+    public String getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    public int getAsyncMaxThreads() {
+        return this.asyncMaxThreads <= 0 ? Runtime.getRuntime().availableProcessors() : this.asyncMaxThreads;
+    }
+
+    public int getAsyncPluginConcurrency(String pluginId) {
+        final Integer override = this.asyncPluginConcurrencyOverrides.get(pluginId);
+        return override != null ? override : this.asyncPluginConcurrency;
+    }
+}
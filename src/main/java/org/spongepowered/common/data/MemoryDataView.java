@@ -56,6 +56,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -311,6 +312,30 @@ public <E> DataView set(Key<? extends BaseValue<E>> key, E value) {
         return set(checkNotNull(key, "Key was null!").getQuery(), value);
     }
 
+    /**
+     * Performs the given action for every value held directly by this view,
+     * nested views are passed as they are instead of being copied into maps.
+     * The values must not be modified.
+     *
+     * @param action The action to perform
+     */
+    public void forEachValue(BiConsumer<String, Object> action) {
+        this.map.forEach(action);
+    }
+
+    /**
+     * Puts a value that is already in its stored form, skipping all the
+     * lookups and conversions of {@link #set(DataQuery, Object)}. The value
+     * must be a boxed primitive, a string, an array which is no longer
+     * referenced elsewhere or an {@link ImmutableList} of those.
+     *
+     * @param key The single part key
+     * @param value The value
+     */
+    public void putTranslated(String key, Object value) {
+        this.map.put(checkNotNull(key, "key"), checkNotNull(value, "value"));
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void setCollection(String key, Collection<?> value) {
         ImmutableList.Builder<Object> builder = ImmutableList.builder();
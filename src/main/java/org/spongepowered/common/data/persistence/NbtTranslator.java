@@ -29,6 +29,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.api.data.DataQuery.of;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import net.minecraft.nbt.NBTBase;
@@ -41,6 +42,7 @@
 import net.minecraft.nbt.NBTTagIntArray;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
 import net.minecraft.nbt.NBTTagShort;
 import net.minecraft.nbt.NBTTagString;
 import org.spongepowered.api.data.DataContainer;
@@ -49,7 +51,10 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.data.MemoryDataView;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTTagLongArray;
 
 import java.util.List;
 import java.util.Map;
@@ -74,27 +79,40 @@ private static NBTTagCompound containerToCompound(final DataView container) {
     }
 
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
         checkNotNull(container);
         checkNotNull(compound);
+        if (container instanceof MemoryDataView) {
+            // Walk the backing map directly, getValues would first copy every
+            // nested view into a new map only for it to be thrown away again.
+            // Unlike getValues this hands out the stored arrays, so they have
+            // to be cloned if the view promised not to share them.
+            final boolean cloneArrays = container.getSafetyMode() == DataView.SafetyMode.ALL_DATA_CLONED;
+            ((MemoryDataView) container).forEachValue((key, value) -> setTag(compound, key, value, cloneArrays));
+        } else {
+            viewToCompound(container, compound);
+        }
+    }
+
+    // The generic path for views which aren't backed by memory, package
+    // private so that the benchmarks can compare against it.
+    static void viewToCompound(final DataView container, final NBTTagCompound compound) {
+        // We don't need to get deep values since all nested DataViews will be found
+        // from the instance of checks.
         for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
-            if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
-                compound.setTag(key, inner);
-            } else if (value instanceof Boolean) {
-                compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
-            } else {
-                compound.setTag(key, getBaseFromObject(value));
-            }
+            setTag(compound, entry.getKey().asString('.'), entry.getValue(), false);
+        }
+    }
+
+    private static void setTag(NBTTagCompound compound, String key, Object value, boolean cloneArrays) {
+        if (value instanceof Boolean) {
+            compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
+        } else {
+            compound.setTag(key, getBaseFromObject(value, cloneArrays));
         }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static NBTBase getBaseFromObject(Object value) {
+    private static NBTBase getBaseFromObject(Object value, boolean cloneArrays) {
         checkNotNull(value);
         if (value instanceof Boolean) {
             return new NBTTagByte((Boolean) value ? (byte) 1 : 0);
@@ -114,7 +132,7 @@ private static NBTBase getBaseFromObject(Object value) {
             return new NBTTagString((String) value);
         } else if (value.getClass().isArray()) {
             if (value instanceof byte[]) {
-                return new NBTTagByteArray((byte[]) value);
+                return new NBTTagByteArray(cloneArrays ? ((byte[]) value).clone() : (byte[]) value);
             } else if (value instanceof Byte[]) {
                 byte[] array = new byte[((Byte[]) value).length];
                 int counter = 0;
@@ -123,7 +141,7 @@ private static NBTBase getBaseFromObject(Object value) {
                 }
                 return new NBTTagByteArray(array);
             } else if (value instanceof int[]) {
-                return new NBTTagIntArray((int[]) value);
+                return new NBTTagIntArray(cloneArrays ? ((int[]) value).clone() : (int[]) value);
             } else if (value instanceof Integer[]) {
                 int[] array = new int[((Integer[]) value).length];
                 int counter = 0;
@@ -131,13 +149,24 @@ private static NBTBase getBaseFromObject(Object value) {
                     array[counter++] = data;
                 }
                 return new NBTTagIntArray(array);
+            } else if (value instanceof long[]) {
+                return new NBTTagLongArray(cloneArrays ? ((long[]) value).clone() : (long[]) value);
+            } else if (value instanceof Long[]) {
+                long[] array = new long[((Long[]) value).length];
+                int counter = 0;
+                for (Long data : (Long[]) value) {
+                    array[counter++] = data;
+                }
+                return new NBTTagLongArray(array);
             }
         } else if (value instanceof List) {
             NBTTagList list = new NBTTagList();
-            for (Object object : (List) value) {
+            final List<?> values = (List<?>) value;
+            // Stored lists are immutable lists, index them instead of creating iterators
+            for (int i = 0, size = values.size(); i < size; i++) {
                 // Oh hey, we already have a translation already
                 // since DataView only supports some primitive types anyways...
-                list.appendTag(getBaseFromObject(object));
+                list.appendTag(getBaseFromObject(values.get(i), cloneArrays));
             }
             return list;
         } else if (value instanceof Map) {
@@ -147,12 +176,12 @@ private static NBTBase getBaseFromObject(Object value) {
                     if (entry.getValue() instanceof Boolean) {
                         compound.setBoolean(((DataQuery) entry.getKey()).asString('.') + BOOLEAN_IDENTIFER, (Boolean) entry.getValue());
                     } else {
-                        compound.setTag(((DataQuery) entry.getKey()).asString('.'), getBaseFromObject(entry.getValue()));
+                        compound.setTag(((DataQuery) entry.getKey()).asString('.'), getBaseFromObject(entry.getValue(), cloneArrays));
                     }
                 } else if (entry.getKey() instanceof String) {
-                    compound.setTag((String) entry.getKey(), getBaseFromObject(entry.getValue()));
+                    compound.setTag((String) entry.getKey(), getBaseFromObject(entry.getValue(), cloneArrays));
                 } else {
-                    compound.setTag(entry.getKey().toString(), getBaseFromObject(entry.getValue()));
+                    compound.setTag(entry.getKey().toString(), getBaseFromObject(entry.getValue(), cloneArrays));
                 }
             }
             return compound;
@@ -177,7 +206,7 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
         checkNotNull(view);
         checkNotNull(key);
         checkArgument(!key.isEmpty());
-        checkArgument(type > NbtDataUtil.TAG_END && type <= NbtDataUtil.TAG_INT_ARRAY);
+        checkArgument(type > NbtDataUtil.TAG_END && type <= NbtDataUtil.TAG_LONG_ARRAY);
         switch (type) {
             case NbtDataUtil.TAG_BYTE:
                 if (key.contains(BOOLEAN_IDENTIFER)) {
@@ -233,6 +262,76 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
             case NbtDataUtil.TAG_INT_ARRAY:
                 view.set(of(key), ((NBTTagIntArray) base).getIntArray());
                 break;
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                view.set(of(key), ((IMixinNBTTagLongArray) base).getLongArray());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + type);
+        }
+    }
+
+    /**
+     * Reads the compound straight into the backing map of the view. The
+     * values end up exactly as {@link DataView#set} would have stored them,
+     * but without the data manager lookups, the query creation and the
+     * intermediate lists and containers.
+     */
+    private static void readCompound(NBTTagCompound compound, MemoryDataView view) {
+        final boolean cloneArrays = view.getSafetyMode() == DataView.SafetyMode.ALL_DATA_CLONED
+                || view.getSafetyMode() == DataView.SafetyMode.CLONED_ON_SET;
+        for (String key : compound.getKeySet()) {
+            checkArgument(!key.isEmpty());
+            final NBTBase base = compound.getTag(key);
+            final byte type = base.getId();
+            if (type == NbtDataUtil.TAG_COMPOUND) {
+                readCompound((NBTTagCompound) base, (MemoryDataView) view.createView(of(key)));
+            } else if (type == NbtDataUtil.TAG_BYTE && key.contains(BOOLEAN_IDENTIFER)) {
+                view.putTranslated(key.replace(BOOLEAN_IDENTIFER, ""), ((NBTTagByte) base).getByte() != 0);
+            } else {
+                view.putTranslated(key, readValue(base, type, view.getSafetyMode(), cloneArrays));
+            }
+        }
+    }
+
+    private static Object readValue(NBTBase base, byte type, DataView.SafetyMode safety, boolean cloneArrays) {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return ((NBTTagByte) base).getByte();
+            case NbtDataUtil.TAG_SHORT:
+                return ((NBTTagShort) base).getShort();
+            case NbtDataUtil.TAG_INT:
+                return ((NBTTagInt) base).getInt();
+            case NbtDataUtil.TAG_LONG:
+                return ((NBTTagLong) base).getLong();
+            case NbtDataUtil.TAG_FLOAT:
+                return ((NBTTagFloat) base).getFloat();
+            case NbtDataUtil.TAG_DOUBLE:
+                return ((NBTTagDouble) base).getDouble();
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                final byte[] bytes = ((NBTTagByteArray) base).getByteArray();
+                return cloneArrays ? bytes.clone() : bytes;
+            case NbtDataUtil.TAG_STRING:
+                return ((NBTTagString) base).getString();
+            case NbtDataUtil.TAG_LIST:
+                final NBTTagList list = (NBTTagList) base;
+                final byte listType = (byte) list.getTagType();
+                final int count = list.tagCount();
+                final ImmutableList.Builder<Object> builder = ImmutableList.builder();
+                for (int i = 0; i < count; i++) {
+                    builder.add(readValue(list.get(i), listType, safety, cloneArrays));
+                }
+                return builder.build();
+            case NbtDataUtil.TAG_COMPOUND:
+                // Only reached for compounds within lists, which are stored as containers
+                final MemoryDataContainer container = new MemoryDataContainer(safety);
+                readCompound((NBTTagCompound) base, container);
+                return container;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                final int[] ints = ((NBTTagIntArray) base).getIntArray();
+                return cloneArrays ? ints.clone() : ints;
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                final long[] longs = ((IMixinNBTTagLongArray) base).getLongArray();
+                return cloneArrays ? longs.clone() : longs;
             default:
                 throw new IllegalArgumentException("Unknown NBT type " + type);
         }
@@ -270,6 +369,8 @@ private static Object fromTagBase(NBTBase base, byte type) {
                 return getViewFromCompound((NBTTagCompound) base);
             case NbtDataUtil.TAG_INT_ARRAY:
                 return ((NBTTagIntArray) base).getIntArray();
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                return ((IMixinNBTTagLongArray) base).getLongArray();
             default :
                 return null;
         }
@@ -304,12 +405,22 @@ public DataContainer translate(NBTTagCompound obj) throws InvalidDataException {
 
     @Override
     public DataView addTo(NBTTagCompound compound, DataView container) {
+        if (container instanceof MemoryDataView) {
+            readCompound(compound, (MemoryDataView) container);
+        } else {
+            addToView(compound, container);
+        }
+        return container;
+    }
+
+    // The generic path going through DataView#set, package private so that
+    // the benchmarks can compare against it.
+    static void addToView(NBTTagCompound compound, DataView container) {
         for (String key : compound.getKeySet()) {
             NBTBase base = compound.getTag(key);
             byte type = base.getId();
             setInternal(base, type, container, key); // gotta love recursion
         }
-        return container;
     }
 
     @Override
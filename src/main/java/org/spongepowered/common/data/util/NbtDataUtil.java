@@ -138,6 +138,7 @@ public static final class Minecraft {
     public static final byte TAG_LIST = 9;
     public static final byte TAG_COMPOUND = 10;
     public static final byte TAG_INT_ARRAY = 11;
+    public static final byte TAG_LONG_ARRAY = 12;
     public static final byte TAG_ANY_NUMERIC = 99;
 
     // These are Sponge's NBT tag keys
@@ -145,6 +146,9 @@ public static final class Minecraft {
     public static final String SPONGE_ENTITY_CREATOR = "Creator";
     public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
     public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+    public static final String SPONGE_TRACKED_POSITIONS = "TrackedPositions";
+    public static final String SPONGE_TRACKED_OWNERS = "TrackedOwners";
+    public static final String SPONGE_TRACKED_NOTIFIERS = "TrackedNotifiers";
     public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
     public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
     public static final String PROJECTILE_DAMAGE_AMOUNT = "damageAmount";
@@ -0,0 +1,326 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash table mapping packed chunk relative block
+ * positions to the owner and notifier indices of the world's unique id
+ * table. Owners and notifiers are kept in parallel {@code int[]} columns
+ * so that neither lookups nor insertions box anything.
+ *
+ * <p>Key {@code 0} is a perfectly valid position (the chunk origin), so it
+ * is stored in a dedicated slot at the end of the columns instead of acting
+ * as the empty marker.</p>
+ */
+public final class PlayerTrackerMap {
+
+    public static final int NO_INDEX = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private int[] keys;
+    private int[] owners;
+    private int[] notifiers;
+    private boolean containsZeroKey;
+    private int mask;
+    private int size;
+    private int maxFill;
+
+    public PlayerTrackerMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PlayerTrackerMap(int expected) {
+        allocate(tableSize(expected));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return slot(key) >= 0;
+    }
+
+    /**
+     * Gets the owner index for the given position, or {@link #NO_INDEX} if
+     * the position is not tracked.
+     *
+     * @param key The packed position
+     * @return The owner index
+     */
+    public int getOwner(int key) {
+        final int slot = slot(key);
+        return slot < 0 ? NO_INDEX : this.owners[slot];
+    }
+
+    /**
+     * Gets the notifier index for the given position, or {@link #NO_INDEX}
+     * if the position is not tracked.
+     *
+     * @param key The packed position
+     * @return The notifier index
+     */
+    public int getNotifier(int key) {
+        final int slot = slot(key);
+        return slot < 0 ? NO_INDEX : this.notifiers[slot];
+    }
+
+    public void setOwner(int key, int ownerIndex) {
+        final int slot = slot(key);
+        if (slot >= 0) {
+            this.owners[slot] = ownerIndex;
+        } else {
+            insert(key, ownerIndex, NO_INDEX);
+        }
+    }
+
+    public void setNotifier(int key, int notifierIndex) {
+        final int slot = slot(key);
+        if (slot >= 0) {
+            this.notifiers[slot] = notifierIndex;
+        } else {
+            insert(key, NO_INDEX, notifierIndex);
+        }
+    }
+
+    public void put(int key, int ownerIndex, int notifierIndex) {
+        final int slot = slot(key);
+        if (slot >= 0) {
+            this.owners[slot] = ownerIndex;
+            this.notifiers[slot] = notifierIndex;
+        } else {
+            insert(key, ownerIndex, notifierIndex);
+        }
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!this.containsZeroKey) {
+                return false;
+            }
+            this.containsZeroKey = false;
+            this.size--;
+            return true;
+        }
+        int pos = mix(key) & this.mask;
+        while (true) {
+            final int current = this.keys[pos];
+            if (current == 0) {
+                return false;
+            }
+            if (current == key) {
+                this.size--;
+                shiftKeys(pos);
+                return true;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+    }
+
+    public void clear() {
+        if (this.size == 0) {
+            return;
+        }
+        this.size = 0;
+        this.containsZeroKey = false;
+        Arrays.fill(this.keys, 0);
+    }
+
+    /**
+     * Copies every tracked entry into the given columns, which must each be
+     * at least {@link #size()} long.
+     *
+     * @param keysOut The packed positions
+     * @param ownersOut The owner indices
+     * @param notifiersOut The notifier indices
+     * @return The number of entries copied
+     */
+    public int copyTo(int[] keysOut, int[] ownersOut, int[] notifiersOut) {
+        int count = 0;
+        final int capacity = this.mask + 1;
+        for (int i = 0; i < capacity; i++) {
+            if (this.keys[i] != 0) {
+                keysOut[count] = this.keys[i];
+                ownersOut[count] = this.owners[i];
+                notifiersOut[count] = this.notifiers[i];
+                count++;
+            }
+        }
+        if (this.containsZeroKey) {
+            keysOut[count] = 0;
+            ownersOut[count] = this.owners[capacity];
+            notifiersOut[count] = this.notifiers[capacity];
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Bulk inserts the given columns. Entries with neither an owner nor a
+     * notifier are skipped.
+     *
+     * @param keysIn The packed positions
+     * @param ownersIn The owner indices
+     * @param notifiersIn The notifier indices
+     */
+    public void putAll(int[] keysIn, int[] ownersIn, int[] notifiersIn) {
+        final int length = Math.min(keysIn.length, Math.min(ownersIn.length, notifiersIn.length));
+        if (this.size + length > this.maxFill) {
+            rehash(tableSize(this.size + length));
+        }
+        for (int i = 0; i < length; i++) {
+            if (ownersIn[i] != NO_INDEX || notifiersIn[i] != NO_INDEX) {
+                put(keysIn[i], ownersIn[i], notifiersIn[i]);
+            }
+        }
+    }
+
+    /**
+     * Widens a legacy short packed position (4 bits x, 8 bits y, 4 bits z)
+     * into the int packing used for keys, which has 24 bits of y.
+     *
+     * @param key The short packed position
+     * @return The int packed position
+     */
+    public static int widenShortKey(short key) {
+        return (key & 0xFFF) | ((key >> 12) & 0xF) << 28;
+    }
+
+    private int slot(int key) {
+        if (key == 0) {
+            return this.containsZeroKey ? this.mask + 1 : -1;
+        }
+        int pos = mix(key) & this.mask;
+        while (true) {
+            final int current = this.keys[pos];
+            if (current == 0) {
+                return -1;
+            }
+            if (current == key) {
+                return pos;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+    }
+
+    private void insert(int key, int ownerIndex, int notifierIndex) {
+        int pos;
+        if (key == 0) {
+            this.containsZeroKey = true;
+            pos = this.mask + 1;
+        } else {
+            pos = mix(key) & this.mask;
+            while (this.keys[pos] != 0) {
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[pos] = key;
+        }
+        this.owners[pos] = ownerIndex;
+        this.notifiers[pos] = notifierIndex;
+        if (this.size++ >= this.maxFill) {
+            rehash(tableSize(this.size + 1));
+        }
+    }
+
+    // Backward shift deletion, keeps probe sequences intact without tombstones
+    private void shiftKeys(int pos) {
+        while (true) {
+            final int last = pos;
+            pos = (pos + 1) & this.mask;
+            int current;
+            while (true) {
+                current = this.keys[pos];
+                if (current == 0) {
+                    this.keys[last] = 0;
+                    return;
+                }
+                final int ideal = mix(current) & this.mask;
+                if (last <= pos ? last >= ideal || ideal > pos : last >= ideal && ideal > pos) {
+                    break;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[last] = current;
+            this.owners[last] = this.owners[pos];
+            this.notifiers[last] = this.notifiers[pos];
+        }
+    }
+
+    private void rehash(int capacity) {
+        if (capacity <= this.mask + 1) {
+            return;
+        }
+        final int[] oldKeys = this.keys;
+        final int[] oldOwners = this.owners;
+        final int[] oldNotifiers = this.notifiers;
+        final int oldCapacity = this.mask + 1;
+        allocate(capacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int pos = mix(key) & this.mask;
+                while (this.keys[pos] != 0) {
+                    pos = (pos + 1) & this.mask;
+                }
+                this.keys[pos] = key;
+                this.owners[pos] = oldOwners[i];
+                this.notifiers[pos] = oldNotifiers[i];
+            }
+        }
+        this.owners[capacity] = oldOwners[oldCapacity];
+        this.notifiers[capacity] = oldNotifiers[oldCapacity];
+    }
+
+    private void allocate(int capacity) {
+        // One extra slot at the end for the zero key
+        this.keys = new int[capacity + 1];
+        this.owners = new int[capacity + 1];
+        this.notifiers = new int[capacity + 1];
+        this.mask = capacity - 1;
+        this.maxFill = Math.min((int) Math.ceil(capacity * LOAD_FACTOR), capacity - 1);
+    }
+
+    private static int tableSize(int expected) {
+        final int needed = Math.max(2, (int) Math.ceil(Math.max(expected, DEFAULT_CAPACITY) / LOAD_FACTOR));
+        final int size = Integer.highestOneBit(needed - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("Too many tracked positions: " + expected);
+        }
+        return size;
+    }
+
+    private static int mix(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
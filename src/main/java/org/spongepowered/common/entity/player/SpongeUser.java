@@ -57,6 +57,7 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.service.user.PlayerDataIndex;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
@@ -309,6 +310,7 @@ public void save() {
         try {
             CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
             dirtyUsers.remove(this);
+            PlayerDataIndex.update(getUniqueId(), this.profile.getName(), 0);
         } catch (IOException e) {
             SpongeImpl.getLogger().warn("Failed to save user file [{}]!", dataFile, e);
         }
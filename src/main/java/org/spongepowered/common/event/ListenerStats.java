@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Profiling counters of a single {@link RegisteredListener}. The counters
+ * are striped so that listeners invoked from several threads at once don't
+ * contend on a single cache line.
+ *
+ * <p>Invocations and cancellations are counted for every profiled post,
+ * the time spent only for the sampled ones.</p>
+ */
+public final class ListenerStats {
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(boolean cancelled) {
+        this.invocations.increment();
+        if (cancelled) {
+            this.cancellations.increment();
+        }
+    }
+
+    void record(boolean cancelled, long nanos) {
+        record(cancelled);
+        this.samples.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+    }
+
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    public long getCancellations() {
+        return this.cancellations.sum();
+    }
+
+    public long getSamples() {
+        return this.samples.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gets the mean time of the sampled invocations.
+     *
+     * @return The mean time in nanoseconds
+     */
+    public double getMeanNanos() {
+        final long samples = getSamples();
+        return samples == 0 ? 0 : getTotalNanos() / (double) samples;
+    }
+
+    /**
+     * Gets an estimate of the time spent over all invocations, scaling the
+     * sampled mean up to the invocation count.
+     *
+     * @return The estimated total time in nanoseconds
+     */
+    public double getEstimatedNanos() {
+        return getMeanNanos() * getInvocations();
+    }
+
+    public void reset() {
+        this.invocations.reset();
+        this.cancellations.reset();
+        this.samples.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+
+}
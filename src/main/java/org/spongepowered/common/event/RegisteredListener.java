@@ -48,6 +48,7 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final ListenerStats stats = new ListenerStats();
     private Timing listenerTimer;
 
     RegisteredListener(PluginContainer plugin, EventType<T> eventType, Order order, EventListener<? super T> listener, boolean beforeModifications) {
@@ -74,6 +75,10 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    public ListenerStats getStats() {
+        return this.stats;
+    }
+
     public Timing getTimingsHandler() {
         if (this.listenerTimer == null) {
             this.listenerTimer = SpongeTimings.getPluginTimings(this.plugin, getHandle().getClass().getSimpleName());
@@ -121,6 +121,7 @@
 import org.spongepowered.common.item.inventory.custom.CustomInventory;
 import org.spongepowered.common.item.inventory.util.ContainerUtil;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
@@ -680,7 +681,11 @@ public static boolean callDestructEntityEventDeath(EntityLivingBase entity, Dama
             SpongeImpl.postEvent(event);
             Text message = event.getMessage();
             if (!event.isMessageCancelled() && !message.isEmpty()) {
-                event.getChannel().ifPresent(eventChannel -> eventChannel.send(entity, event.getMessage()));
+                event.getChannel().ifPresent(eventChannel -> {
+                    try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+                        eventChannel.send(entity, event.getMessage());
+                    }
+                });
             }
             return true;
         }
@@ -28,8 +28,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -53,7 +51,6 @@
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.util.TypeTokenHelper;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
@@ -61,12 +58,15 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -90,40 +90,23 @@ public class SpongeEventManager implements EventManager {
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * An immutable dispatch table of all the handlers for an event type for
+     * quick event posting. It is only ever replaced, never modified, so the
+     * posting path is a single volatile read. When handlers are added or
+     * removed only the entries of event types assignable to the changed
+     * handler's event type are rebuilt.
      */
-    private final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    private volatile Map<EventType<?>, RegisteredListener.Cache> handlersCache = Collections.emptyMap();
+
+    // 0 when listener profiling is disabled, otherwise one in this many posts is timed
+    private volatile int profilingSampleRate;
+    // Posts of events nobody listens to, which a ShouldFire check could have avoided
+    private final Map<Class<?>, LongAdder> unlistenedPosts = new ConcurrentHashMap<>();
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
@@ -190,20 +173,16 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                    changedTypes.add(raw);
                     this.checker.registerListenerFor(raw);
                 }
             }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            this.rebakeHandlers(changedTypes);
         }
     }
 
@@ -326,25 +305,45 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventType().getType());
                     // TODO: This doesn't seem right, even as it was before
                     this.checker.unregisterListenerFor(handler.getEventType().getType());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
+            this.rebakeHandlers(changedTypes);
         }
+    }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+    /**
+     * Publishes a new dispatch table in which the entries of every event type
+     * assignable to one of the changed types are baked again. Must be called
+     * while holding the lock.
+     *
+     * @param changedTypes The event types handlers were added or removed for
+     */
+    private void rebakeHandlers(Set<Class<?>> changedTypes) {
+        if (changedTypes.isEmpty()) {
+            return;
         }
+        final Map<EventType<?>, RegisteredListener.Cache> handlersCache = new HashMap<>(this.handlersCache);
+        for (Map.Entry<EventType<?>, RegisteredListener.Cache> entry : handlersCache.entrySet()) {
+            final Class<?> eventClass = entry.getKey().getType();
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventClass)) {
+                    entry.setValue(this.bakeHandlers(entry.getKey()));
+                    break;
+                }
+            }
+        }
+        this.handlersCache = Collections.unmodifiableMap(handlersCache);
     }
 
     @Override
@@ -369,11 +368,82 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        final RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        if (cache != null) {
+            return cache;
+        }
+        synchronized (this.lock) {
+            // Another thread may have baked the handlers while we waited
+            final RegisteredListener.Cache bakedCache = this.handlersCache.get(eventType);
+            if (bakedCache != null) {
+                return bakedCache;
+            }
+            final RegisteredListener.Cache newCache = this.bakeHandlers(eventType);
+            final Map<EventType<?>, RegisteredListener.Cache> handlersCache = new HashMap<>(this.handlersCache);
+            handlersCache.put(eventType, newCache);
+            this.handlersCache = Collections.unmodifiableMap(handlersCache);
+            return newCache;
+        }
+    }
+
+    public int getProfilingSampleRate() {
+        return this.profilingSampleRate;
+    }
+
+    /**
+     * Sets how often the time spent in listeners is sampled while profiling.
+     *
+     * @param sampleRate One in how many posts are timed, or 0 to disable
+     *     listener profiling entirely
+     */
+    public void setProfilingSampleRate(int sampleRate) {
+        checkArgument(sampleRate >= 0, "sampleRate must not be negative");
+        this.profilingSampleRate = sampleRate;
+    }
+
+    public void resetProfiling() {
+        for (RegisteredListener<?> listener : getRegisteredListeners()) {
+            listener.getStats().reset();
+        }
+        this.unlistenedPosts.clear();
+    }
+
+    public List<RegisteredListener<?>> getRegisteredListeners() {
+        synchronized (this.lock) {
+            return new ArrayList<>(this.handlersByEvent.values());
+        }
+    }
+
+    public Map<Class<?>, Long> getUnlistenedPosts() {
+        final Map<Class<?>, Long> posts = new HashMap<>();
+        this.unlistenedPosts.forEach((eventClass, count) -> posts.put(eventClass, count.sum()));
+        return posts;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void handleProfiled(RegisteredListener handler, Event event, boolean sampled) throws Exception {
+        final boolean wasCancelled = event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        final long start = sampled ? System.nanoTime() : 0;
+        try {
+            handler.handle(event);
+        } finally {
+            final boolean cancelled = !wasCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            if (sampled) {
+                handler.getStats().record(cancelled, System.nanoTime() - start);
+            } else {
+                handler.getStats().record(cancelled);
+            }
+        }
     }
 
     @SuppressWarnings("unchecked")
     protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
+        final int sampleRate = this.profilingSampleRate;
+        final boolean profiling = sampleRate > 0;
+        final boolean sampled = profiling && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+        if (profiling && handlers.isEmpty()) {
+            this.unlistenedPosts.computeIfAbsent(event.getClass(), eventClass -> new LongAdder()).increment();
+        }
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
@@ -382,7 +452,11 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
                     }
-                    handler.handle(event);
+                    if (profiling) {
+                        handleProfiled(handler, event, sampled);
+                    } else {
+                        handler.handle(event);
+                    }
                 } catch (Throwable e) {
                     SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
                 }
@@ -400,7 +474,11 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
                 }
-                handler.handle(event);
+                if (profiling) {
+                    handleProfiled(handler, event, sampled);
+                } else {
+                    handler.handle(event);
+                }
             } catch (Throwable e) {
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             } finally {
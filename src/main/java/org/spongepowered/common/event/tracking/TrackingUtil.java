@@ -69,6 +69,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.ShouldFire;
@@ -80,6 +81,7 @@
 import org.spongepowered.common.event.tracking.phase.tick.EntityTickContext;
 import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
 import org.spongepowered.common.event.tracking.phase.tick.TileEntityTickContext;
+import org.spongepowered.common.event.tracking.context.CapturedBlocksSupplier;
 import org.spongepowered.common.event.tracking.context.CapturedMultiMapSupplier;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
@@ -94,6 +96,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
+import org.spongepowered.common.world.SpongeLocatableBlock;
 import org.spongepowered.common.world.SpongeProxyBlockAccess;
 
 import java.util.ArrayList;
@@ -107,6 +110,8 @@
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A simple utility for aiding in tracking, either with resolving notifiers
  * and owners, or proxying out the logic for ticking a block, entity, etc.
@@ -128,15 +133,8 @@ public final class TrackingUtil {
                     }
             ;
     public static final int EVENT_COUNT = 5;
-    public static final Function<BlockSnapshot, Transaction<BlockSnapshot>> TRANSACTION_CREATION = (blockSnapshot) -> {
-        final Location<World> originalLocation = blockSnapshot.getLocation().get();
-        final WorldServer worldServer = (WorldServer) originalLocation.getExtent();
-        final BlockPos blockPos = ((IMixinLocation) (Object) originalLocation).getBlockPos();
-        final IBlockState newState = worldServer.getBlockState(blockPos);
-        final IBlockState newActualState = newState.getActualState(worldServer, blockPos);
-        final BlockSnapshot newSnapshot = ((IMixinWorldServer) worldServer).createSpongeBlockSnapshot(newState, newActualState, blockPos, BlockChangeFlags.NONE);
-        return new Transaction<>(blockSnapshot, newSnapshot);
-    };
+    public static final Function<BlockSnapshot, Transaction<BlockSnapshot>> TRANSACTION_CREATION =
+            blockSnapshot -> createTransaction(blockSnapshot, true);
 
     public static void tickEntity(net.minecraft.entity.Entity entityIn) {
         checkArgument(entityIn instanceof Entity, "Entity %s is not an instance of SpongeAPI's Entity!", entityIn);
@@ -260,10 +258,8 @@ public static void updateTickBlock(IMixinWorldServer mixinWorld, Block block, Bl
                 }
             }
     
-            final LocatableBlock locatable = LocatableBlock.builder()
-                    .location(new Location<>(mixinWorld.asSpongeWorld(), pos.getX(), pos.getY(), pos.getZ()))
-                    .state((BlockState) state)
-                    .build();
+            // The location is only materialized if a plugin or phase actually asks for it
+            final LocatableBlock locatable = new SpongeLocatableBlock(mixinWorld.asSpongeWorld(), pos, (BlockState) state);
             Sponge.getCauseStackManager().pushCause(locatable);
             IPhaseState<BlockTickContext> phase = ((IMixinBlock) block).requiresBlockCapture() ? TickPhase.Tick.BLOCK : TickPhase.Tick.NO_CAPTURE_BLOCK;
             final BlockTickContext phaseContext = phase.createPhaseContext()
@@ -300,10 +296,8 @@ public static void randomTickBlock(PhaseTracker phaseTracker, IMixinWorldServer
                 }
             }
     
-            final LocatableBlock locatable = LocatableBlock.builder()
-                    .location(new Location<>(mixinWorld.asSpongeWorld(), pos.getX(), pos.getY(), pos.getZ()))
-                    .state((BlockState) state)
-                    .build();
+            // The location is only materialized if a plugin or phase actually asks for it
+            final LocatableBlock locatable = new SpongeLocatableBlock(mixinWorld.asSpongeWorld(), pos, (BlockState) state);
             Sponge.getCauseStackManager().pushCause(locatable);
             IPhaseState<BlockTickContext> phase = ((IMixinBlock) block).requiresBlockCapture() ? TickPhase.Tick.RANDOM_BLOCK : TickPhase.Tick.NO_CAPTURE_BLOCK;
             final BlockTickContext phaseContext = phase.createPhaseContext()
@@ -372,15 +366,36 @@ static boolean trackBlockChange(PhaseTracker phaseTracker, IMixinWorldServer mix
         final WorldServer minecraftWorld = mixinWorld.asMinecraftWorld();
         if (((IPhaseState) phaseState).shouldCaptureBlockChangeOrSkip(phaseContext, pos)) {
             //final IBlockState actualState = currentState.getActualState(minecraftWorld, pos);
-            originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags);
-            final List<BlockSnapshot> capturedSnapshots = phaseContext.getCapturedBlocks();
             final Block newBlock = newState.getBlock();
-
-            associateBlockChangeWithSnapshot(phaseState, newBlock, currentState, originalBlockSnapshot, capturedSnapshots);
+            final BlockChange blockChange = getBlockChange(phaseState, newBlock, currentState);
             final IMixinChunk mixinChunk = (IMixinChunk) chunk;
+            final CapturedBlocksSupplier capturedBlocks = phaseContext.getCapturedBlockSupplier();
+            final int captureIndex;
+            // A replaced tile entity is gone by the time pending changes become snapshots
+            if (!isChangeBlockEventObserved() && !SpongeImplHooks.hasBlockTileEntity(currentState.getBlock(), currentState)) {
+                // Nothing can observe the original block until the captures are processed, so only
+                // record what is needed to create its snapshot later on
+                originalBlockSnapshot = (SpongeBlockSnapshot) BlockSnapshot.NONE;
+                captureIndex = blockChange == null ? -1 : capturedBlocks.capturePending(mixinWorld, pos, currentState,
+                    (SpongeBlockChangeFlag) flags, blockChange, mixinChunk.getBlockOwnerIndex(pos), mixinChunk.getBlockNotifierIndex(pos));
+            } else {
+                // The tile data is only read when a ChangeBlockEvent listener cancels or inspects the change
+                final boolean captureTileData = ShouldFire.CHANGE_BLOCK_EVENT
+                    || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useLazyTileSnapshots();
+                originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags, captureTileData);
+                if (blockChange != null) {
+                    originalBlockSnapshot.blockChange = blockChange;
+                    captureIndex = capturedBlocks.captureSnapshot(mixinWorld, pos, currentState, (SpongeBlockChangeFlag) flags,
+                        originalBlockSnapshot);
+                } else {
+                    captureIndex = -1;
+                }
+            }
             final IBlockState originalBlockState = mixinChunk.setBlockState(pos, newState, currentState, originalBlockSnapshot);
             if (originalBlockState == null) {
-                capturedSnapshots.remove(originalBlockSnapshot);
+                if (captureIndex != -1) {
+                    capturedBlocks.removeCapture(captureIndex, pos, currentState);
+                }
                 return false;
             }
             ((IPhaseState) phaseState).postTrackBlock(originalBlockSnapshot, phaseTracker, phaseContext);
@@ -403,23 +418,30 @@ static boolean trackBlockChange(PhaseTracker phaseTracker, IMixinWorldServer mix
         return true;
     }
 
-    private static void associateBlockChangeWithSnapshot(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState, SpongeBlockSnapshot snapshot, List<BlockSnapshot> capturedSnapshots) {
+    /**
+     * Gets whether captured block changes may be observed, cancelled or
+     * invalidated by a {@link ChangeBlockEvent} listener. If not, and
+     * deferred block captures are enabled, captures may be deferred and
+     * don't need their events thrown.
+     *
+     * @return True if block changes need to be fully captured
+     */
+    private static boolean isChangeBlockEventObserved() {
+        return ShouldFire.CHANGE_BLOCK_EVENT || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useDeferredBlockCaptures();
+    }
+
+    @Nullable
+    private static BlockChange getBlockChange(IPhaseState<?> phaseState, Block newBlock, IBlockState currentState) {
         Block originalBlock = currentState.getBlock();
         if (phaseState == BlockPhase.State.BLOCK_DECAY) {
-            if (newBlock == Blocks.AIR) {
-                snapshot.blockChange = BlockChange.DECAY;
-                capturedSnapshots.add(snapshot);
-            }
+            // Only decaying blocks turning into air are captured
+            return newBlock == Blocks.AIR ? BlockChange.DECAY : null;
         } else if (newBlock == Blocks.AIR) {
-            snapshot.blockChange = BlockChange.BREAK;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.BREAK;
         } else if (newBlock != originalBlock && !forceModify(originalBlock, newBlock)) {
-            snapshot.blockChange = BlockChange.PLACE;
-            capturedSnapshots.add(snapshot);
-        } else {
-            snapshot.blockChange = BlockChange.MODIFY;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.PLACE;
         }
+        return BlockChange.MODIFY;
     }
 
     private static boolean forceModify(Block originalBlock, Block newBlock) {
@@ -487,6 +509,29 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         if (snapshots.isEmpty()) {
             return false;
         }
+        if (!isChangeBlockEventObserved()) {
+            // Nothing can cancel or invalidate the changes, skip sorting them into events and go
+            // straight to the block additions
+            final CapturedBlocksSupplier deferring = CapturedBlocksSupplier.getDeferring(snapshots);
+            if (deferring != null) {
+                final CapturedBlocksSupplier.Changes changes = deferring.detach();
+                try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                    addBlockChangeContext(state, context);
+                    return performDeferredBlockAdditions(changes, state, context);
+                } finally {
+                    deferring.release(changes);
+                }
+            }
+            final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>(snapshots.size());
+            for (BlockSnapshot snapshot : snapshots) {
+                transactions.add(createTransaction(snapshot, false));
+            }
+            context.getCapturedBlocksOrEmptyList().clear();
+            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                addBlockChangeContext(state, context);
+                return performBlockAdditions(transactions, state, context, true);
+            }
+        }
         ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
         ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[EVENT_COUNT];
         for (int i = 0; i < EVENT_COUNT; i++) {
@@ -511,18 +556,7 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         // This likely needs to delegate to the phase in the event we don't use the source object as the main object causing the block changes
         // case in point for WorldTick event listeners since the players are captured non-deterministically
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
-            if(context.getNotifier().isPresent()) {
-                Sponge.getCauseStackManager().addContext(EventContextKeys.NOTIFIER, context.getNotifier().get());
-            }
-            if(context.getOwner().isPresent()) {
-                Sponge.getCauseStackManager().addContext(EventContextKeys.OWNER, context.getOwner().get());
-            }
-            try {
-                state.associateAdditionalCauses(state, context);
-            } catch (Exception e) {
-                // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
-                // try catch to avoid bombing on performing block changes.
-            }
+            addBlockChangeContext(state, context);
             // Creates the block events accordingly to the transaction arrays
             iterateChangeBlockEvents(transactionArrays, blockEvents, mainEvents); // Needs to throw events
             // We create the post event and of course post it in the method, regardless whether any transactions are invalidated or not
@@ -595,6 +629,21 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         }
     }
 
+    private static void addBlockChangeContext(IPhaseState<?> state, PhaseContext<?> context) {
+        if(context.getNotifier().isPresent()) {
+            Sponge.getCauseStackManager().addContext(EventContextKeys.NOTIFIER, context.getNotifier().get());
+        }
+        if(context.getOwner().isPresent()) {
+            Sponge.getCauseStackManager().addContext(EventContextKeys.OWNER, context.getOwner().get());
+        }
+        try {
+            state.associateAdditionalCauses(state, context);
+        } catch (Exception e) {
+            // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
+            // try catch to avoid bombing on performing block changes.
+        }
+    }
+
     public static void iterateChangeBlockEvents(ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays, List<ChangeBlockEvent> blockEvents,
             ChangeBlockEvent[] mainEvents) {
         for (BlockChange blockChange : BlockChange.values()) {
@@ -676,7 +725,8 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
             }
 
             proxyBlockAccess.proceed();
-            ((IPhaseState) phaseState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, transaction, phaseContext);
+            ((IPhaseState) phaseState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, mixinWorldServer.asMinecraftWorld(), pos,
+                originalState, newState, phaseContext);
 
             if (changeFlag.isNotifyClients()) { // Always try to notify clients of the change.
                 mixinWorldServer.asMinecraftWorld().notifyBlockUpdate(pos, originalState, newState, changeFlag.getRawFlag());
@@ -696,6 +746,71 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
         return noCancelledTransactions;
     }
 
+    /**
+     * Performs the block additions of captured changes that nobody could
+     * observe, straight from the capture columns. The snapshot of an original
+     * block is only created if drops or entities were captured for it.
+     *
+     * @param changes The captured changes
+     * @param phaseState The phase state
+     * @param phaseContext The phase context
+     * @return Always true, nothing can cancel these changes
+     */
+    @SuppressWarnings("rawtypes")
+    private static boolean performDeferredBlockAdditions(CapturedBlocksSupplier.Changes changes, IPhaseState<?> phaseState,
+        PhaseContext<?> phaseContext) {
+        final CapturedMultiMapSupplier<BlockPos, ItemDropData> capturedBlockDrops = phaseContext.getBlockDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, EntityItem> capturedBlockItemEntityDrops = phaseContext.getBlockItemDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> capturedBlockEntitySpawns = phaseContext.getBlockEntitySpawnSupplier();
+        final PhaseTracker phaseTracker = PhaseTracker.getInstance();
+        for (int i = 0; i < changes.size(); i++) {
+            final IMixinWorldServer mixinWorldServer = changes.getWorld(i);
+            final WorldServer worldServer = mixinWorldServer.asMinecraftWorld();
+            final BlockPos pos = changes.getPosition(i);
+            final BlockChange blockChange = changes.getBlockChange(i);
+            final SpongeBlockChangeFlag changeFlag = changes.getFlag(i);
+            final IBlockState originalState = changes.getOriginalState(i);
+            final IBlockState newState = worldServer.getBlockState(pos);
+
+            if (capturedBlockDrops.containsKey(pos) || capturedBlockItemEntityDrops.containsKey(pos) || capturedBlockEntitySpawns.containsKey(pos)) {
+                final SpongeBlockSnapshot oldBlockSnapshot = changes.getOriginalSnapshot(i);
+                capturedBlockDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemDataForBlockDrops(items, oldBlockSnapshot,
+                    phaseContext, phaseState));
+                capturedBlockItemEntityDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemEntitiesForBlockDrops(items, oldBlockSnapshot,
+                    phaseContext, phaseState));
+                capturedBlockEntitySpawns.acceptAndRemoveIfPresent(pos, items -> spawnEntitiesForBlock(items, oldBlockSnapshot,
+                    phaseContext, phaseState));
+            }
+
+            SpongeHooks.logBlockAction(worldServer, blockChange, originalState, newState);
+            if (changeFlag.performBlockPhysics() && originalState.getBlock() != newState.getBlock()) {
+                newState.getBlock().onBlockAdded(worldServer, pos, newState);
+                final PhaseData peek = phaseTracker.getCurrentPhaseData();
+                if (peek.state == GeneralPhase.Post.UNWINDING) {
+                    ((IPhaseState) peek.state).unwind(peek.context);
+                }
+            }
+
+            ((IPhaseState) phaseState).handleBlockChangeWithUser(blockChange, worldServer, pos, originalState, newState, phaseContext);
+
+            if (changeFlag.isNotifyClients()) {
+                worldServer.notifyBlockUpdate(pos, originalState, newState, changeFlag.getRawFlag());
+            }
+
+            if (changeFlag.updateNeighbors()) {
+                mixinWorldServer.spongeNotifyNeighborsPostBlockChange(pos, originalState, newState, changeFlag);
+            } else if (changeFlag.notifyObservers()) {
+                worldServer.updateObservingBlocksAt(pos, newState.getBlock());
+            }
+
+            final PhaseData peek = phaseTracker.getCurrentPhaseData();
+            if (peek.state == GeneralPhase.Post.UNWINDING) {
+                ((IPhaseState) peek.state).unwind(peek.context);
+            }
+        }
+        return true;
+    }
+
     public static void spawnItemEntitiesForBlockDrops(Collection<EntityItem> entityItems, SpongeBlockSnapshot newBlockSnapshot,
                                                       PhaseContext<?> phaseContext, IPhaseState<?> phaseState) {
         // Now we can spawn the entity items appropriately
@@ -801,6 +916,17 @@ public static void spawnEntitiesForBlock(Collection<net.minecraft.entity.Entity>
             }
         }
     }
+    private static Transaction<BlockSnapshot> createTransaction(BlockSnapshot blockSnapshot, boolean captureTileData) {
+        final SpongeBlockSnapshot originalSnapshot = (SpongeBlockSnapshot) blockSnapshot;
+        final WorldServer worldServer = (WorldServer) SpongeImpl.getGame().getServer().getWorld(originalSnapshot.getWorldUniqueId()).get();
+        final BlockPos blockPos = originalSnapshot.getBlockPos();
+        final IBlockState newState = worldServer.getBlockState(blockPos);
+        final IBlockState newActualState = newState.getActualState(worldServer, blockPos);
+        final BlockSnapshot newSnapshot = ((IMixinWorldServer) worldServer).createSpongeBlockSnapshot(newState, newActualState, blockPos,
+            BlockChangeFlags.NONE, captureTileData);
+        return new Transaction<>(blockSnapshot, newSnapshot);
+    }
+
     public static ChangeBlockEvent.Post throwMultiEventsAndCreatePost(ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays,
         List<ChangeBlockEvent> blockEvents, ChangeBlockEvent[] mainEvents) {
         if (!blockEvents.isEmpty()) {
@@ -24,10 +24,337 @@
  */
 package org.spongepowered.common.event.tracking.context;
 
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
 import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeBlockChangeFlag;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Captures block changes for a phase. Every change is appended to packed
+ * columns in capture order. Changes that nobody can observe while they
+ * happen (no tile data to save, no listener to notify) are only recorded
+ * there, along with the owner and notifier tracked at their position, and
+ * are turned into {@link BlockSnapshot}s once the captured list is actually
+ * read. Unobserved captures can be processed straight from the columns, see
+ * {@link #getDeferring(List)}.
+ */
 public final class CapturedBlocksSupplier extends CapturedSupplier<BlockSnapshot> {
 
+    private static final BlockChange[] BLOCK_CHANGES = BlockChange.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Changes changes = new Changes();
+    // Reused after the detached changes have been processed
+    @Nullable private Changes spare;
+    private final DeferringList deferringList = new DeferringList();
+
     public CapturedBlocksSupplier() {
     }
+
+    /**
+     * Captures a block change without creating the snapshot of the original
+     * block yet.
+     *
+     * @param world The world the change happens in
+     * @param pos The position of the change
+     * @param originalState The block state being replaced
+     * @param flag The change flag
+     * @param change The kind of change
+     * @param ownerIndex The owner tracked at the position before the change
+     * @param notifierIndex The notifier tracked at the position before the change
+     * @return The index of the capture, see {@link #removeCapture}
+     */
+    public int capturePending(IMixinWorldServer world, BlockPos pos, IBlockState originalState, SpongeBlockChangeFlag flag,
+        BlockChange change, int ownerIndex, int notifierIndex) {
+        return this.changes.add(world, pos, originalState, flag, change, ownerIndex, notifierIndex, null);
+    }
+
+    /**
+     * Captures a block change with the already created snapshot of the
+     * original block.
+     *
+     * @param world The world the change happens in
+     * @param pos The position of the change
+     * @param originalState The block state being replaced
+     * @param flag The change flag
+     * @param snapshot The snapshot of the original block
+     * @return The index of the capture, see {@link #removeCapture}
+     */
+    public int captureSnapshot(IMixinWorldServer world, BlockPos pos, IBlockState originalState, SpongeBlockChangeFlag flag,
+        SpongeBlockSnapshot snapshot) {
+        return this.changes.add(world, pos, originalState, flag, snapshot.blockChange, PlayerTrackerMap.NO_INDEX, PlayerTrackerMap.NO_INDEX,
+            snapshot);
+    }
+
+    /**
+     * Drops a capture, used when the block change it was captured for did
+     * not go through. Changes captured by the block change itself, such as
+     * neighbors being broken, are kept.
+     *
+     * @param index The index the capture was made at
+     * @param pos The position of the change
+     * @param originalState The block state that was to be replaced
+     */
+    public void removeCapture(int index, BlockPos pos, IBlockState originalState) {
+        if (this.changes.matches(index, pos, originalState)) {
+            this.changes.removeAt(index);
+            return;
+        }
+        // Read in the meantime, the capture is the last snapshot at the position
+        final List<BlockSnapshot> captured = getMaterializedList();
+        for (int i = captured.size() - 1; i >= 0; i--) {
+            final SpongeBlockSnapshot snapshot = (SpongeBlockSnapshot) captured.get(i);
+            if (snapshot.getBlockPos().equals(pos) && snapshot.getState() == originalState) {
+                captured.remove(i);
+                return;
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return this.changes.count;
+    }
+
+    /**
+     * Gets the supplier whose captures the list passed to
+     * {@link #acceptAndClearIfNotEmpty} is, if all of them are still held in
+     * columns, so that they can be processed without creating snapshots.
+     *
+     * @param snapshots The captured snapshots
+     * @return The supplier, or null if the list was already read
+     */
+    @Nullable
+    public static CapturedBlocksSupplier getDeferring(List<BlockSnapshot> snapshots) {
+        if (!(snapshots instanceof DeferringList)) {
+            return null;
+        }
+        final CapturedBlocksSupplier supplier = ((DeferringList) snapshots).supplier();
+        return supplier.getMaterializedList().isEmpty() ? supplier : null;
+    }
+
+    /**
+     * Takes the captured changes out of this supplier so that they can be
+     * processed while new ones are captured, they have to be handed back
+     * through {@link #release(Changes)} afterwards.
+     *
+     * @return The captured changes
+     */
+    public Changes detach() {
+        final Changes detached = this.changes;
+        this.changes = this.spare != null ? this.spare : new Changes();
+        this.spare = null;
+        return detached;
+    }
+
+    public void release(Changes detached) {
+        detached.clear();
+        if (this.spare == null) {
+            this.spare = detached;
+        }
+    }
+
+    @Override
+    List<BlockSnapshot> getForConsumer() {
+        return this.deferringList;
+    }
+
+    @Override
+    boolean hasPending() {
+        return this.changes.count > 0;
+    }
+
+    @Override
+    void materializePending() {
+        final Changes pending = this.changes;
+        if (pending.count == 0) {
+            return;
+        }
+        // Swap first, the list below is requested through get() which would otherwise recurse
+        this.changes = this.spare != null ? this.spare : new Changes();
+        this.spare = null;
+        final List<BlockSnapshot> captured = get();
+        for (int i = 0; i < pending.count; i++) {
+            captured.add(pending.getOriginalSnapshot(i));
+        }
+        release(pending);
+    }
+
+    @Override
+    void clearPending() {
+        this.changes.clear();
+    }
+
+    /**
+     * Block changes captured in capture order, held in parallel arrays.
+     */
+    public static final class Changes {
+
+        int count;
+        private long[] positions = new long[0];
+        private IBlockState[] originalStates = new IBlockState[0];
+        private IMixinWorldServer[] worlds = new IMixinWorldServer[0];
+        private SpongeBlockChangeFlag[] flags = new SpongeBlockChangeFlag[0];
+        private byte[] changes = new byte[0];
+        private int[] owners = new int[0];
+        private int[] notifiers = new int[0];
+        private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[0];
+
+        Changes() {
+        }
+
+        int add(IMixinWorldServer world, BlockPos pos, IBlockState originalState, SpongeBlockChangeFlag flag, BlockChange change,
+            int ownerIndex, int notifierIndex, @Nullable SpongeBlockSnapshot snapshot) {
+            if (this.count == this.positions.length) {
+                final int capacity = Math.max(INITIAL_CAPACITY, this.count << 1);
+                this.positions = Arrays.copyOf(this.positions, capacity);
+                this.originalStates = Arrays.copyOf(this.originalStates, capacity);
+                this.worlds = Arrays.copyOf(this.worlds, capacity);
+                this.flags = Arrays.copyOf(this.flags, capacity);
+                this.changes = Arrays.copyOf(this.changes, capacity);
+                this.owners = Arrays.copyOf(this.owners, capacity);
+                this.notifiers = Arrays.copyOf(this.notifiers, capacity);
+                this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+            }
+            final int index = this.count++;
+            this.positions[index] = pos.toLong();
+            this.originalStates[index] = originalState;
+            this.worlds[index] = world;
+            this.flags[index] = flag;
+            this.changes[index] = (byte) change.ordinal();
+            this.owners[index] = ownerIndex;
+            this.notifiers[index] = notifierIndex;
+            this.snapshots[index] = snapshot;
+            return index;
+        }
+
+        boolean matches(int index, BlockPos pos, IBlockState originalState) {
+            return index < this.count && this.positions[index] == pos.toLong() && this.originalStates[index] == originalState;
+        }
+
+        void removeAt(int index) {
+            final int moved = this.count - index - 1;
+            System.arraycopy(this.positions, index + 1, this.positions, index, moved);
+            System.arraycopy(this.originalStates, index + 1, this.originalStates, index, moved);
+            System.arraycopy(this.worlds, index + 1, this.worlds, index, moved);
+            System.arraycopy(this.flags, index + 1, this.flags, index, moved);
+            System.arraycopy(this.changes, index + 1, this.changes, index, moved);
+            System.arraycopy(this.owners, index + 1, this.owners, index, moved);
+            System.arraycopy(this.notifiers, index + 1, this.notifiers, index, moved);
+            System.arraycopy(this.snapshots, index + 1, this.snapshots, index, moved);
+            this.count--;
+            clearReferences(this.count, this.count + 1);
+        }
+
+        void clear() {
+            clearReferences(0, this.count);
+            this.count = 0;
+        }
+
+        // Only the reference columns need clearing, so worlds and states are not kept alive
+        private void clearReferences(int from, int to) {
+            Arrays.fill(this.originalStates, from, to, null);
+            Arrays.fill(this.worlds, from, to, null);
+            Arrays.fill(this.flags, from, to, null);
+            Arrays.fill(this.snapshots, from, to, null);
+        }
+
+        public int size() {
+            return this.count;
+        }
+
+        public IMixinWorldServer getWorld(int index) {
+            return this.worlds[index];
+        }
+
+        public BlockPos getPosition(int index) {
+            return BlockPos.fromLong(this.positions[index]);
+        }
+
+        public IBlockState getOriginalState(int index) {
+            return this.originalStates[index];
+        }
+
+        public SpongeBlockChangeFlag getFlag(int index) {
+            return this.flags[index];
+        }
+
+        public BlockChange getBlockChange(int index) {
+            return BLOCK_CHANGES[this.changes[index]];
+        }
+
+        /**
+         * Gets the snapshot of the original block, created from the columns
+         * with the owner and notifier tracked when the change was captured
+         * if it wasn't captured as a snapshot.
+         *
+         * @param index The index of the change
+         * @return The snapshot
+         */
+        public SpongeBlockSnapshot getOriginalSnapshot(int index) {
+            SpongeBlockSnapshot snapshot = this.snapshots[index];
+            if (snapshot == null) {
+                snapshot = this.worlds[index].createSpongeBlockSnapshot(this.originalStates[index], BlockPos.fromLong(this.positions[index]),
+                    this.flags[index], this.owners[index], this.notifiers[index]);
+                snapshot.blockChange = BLOCK_CHANGES[this.changes[index]];
+                this.snapshots[index] = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * The list handed to consumers of the captures, which only creates the
+     * snapshots once it is actually read.
+     */
+    private final class DeferringList extends AbstractList<BlockSnapshot> {
+
+        CapturedBlocksSupplier supplier() {
+            return CapturedBlocksSupplier.this;
+        }
+
+        @Override
+        public BlockSnapshot get(int index) {
+            return CapturedBlocksSupplier.this.get().get(index);
+        }
+
+        @Override
+        public BlockSnapshot set(int index, BlockSnapshot element) {
+            return CapturedBlocksSupplier.this.get().set(index, element);
+        }
+
+        @Override
+        public void add(int index, BlockSnapshot element) {
+            CapturedBlocksSupplier.this.get().add(index, element);
+        }
+
+        @Override
+        public BlockSnapshot remove(int index) {
+            return CapturedBlocksSupplier.this.get().remove(index);
+        }
+
+        @Override
+        public void clear() {
+            CapturedBlocksSupplier.this.get().clear();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return CapturedBlocksSupplier.this.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return CapturedBlocksSupplier.this.get().size();
+        }
+    }
 }
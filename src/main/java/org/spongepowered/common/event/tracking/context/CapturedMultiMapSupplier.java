@@ -62,6 +62,16 @@ public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
 
+    /**
+     * Returns {@code true} if anything was captured for the key.
+     *
+     * @param key The key
+     * @return {@code true} if there are captures for the key
+     */
+    public final boolean containsKey(K key) {
+        return this.captured != null && this.captured.containsKey(key);
+    }
+
     /**
      * If not empty, activates the {@link BiConsumer} with captures.
      * 
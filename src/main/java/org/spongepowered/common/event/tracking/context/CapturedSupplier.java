@@ -42,6 +42,7 @@
 
     @Override
     public final List<T> get() {
+        materializePending();
         if (this.captured == null) {
             this.captured = new ArrayList<>();
         }
@@ -54,7 +55,7 @@ public final List<T> get() {
      * @return {@code true} if empty
      */
     public final boolean isEmpty() {
-        return this.captured == null || this.captured.isEmpty();
+        return !hasPending() && (this.captured == null || this.captured.isEmpty());
     }
 
     /**
@@ -64,9 +65,12 @@ public final boolean isEmpty() {
      */
     public final void acceptAndClearIfNotEmpty(Consumer<List<T>> consumer) {
         if (!this.isEmpty()) {
-            consumer.accept(this.captured);
-            this.captured.clear(); // We should be clearing after it is processed. Avoids extraneous issues
-            // with recycling the captured object.
+            consumer.accept(this.getForConsumer());
+            if (this.captured != null) {
+                this.captured.clear(); // We should be clearing after it is processed. Avoids extraneous issues
+                // with recycling the captured object.
+            }
+            clearPending();
         }
     }
 
@@ -78,10 +82,11 @@ public final void acceptAndClearIfNotEmpty(Consumer<List<T>> consumer) {
      * @return If not empty, the captured list otherwise the fallback list
      */
     public final List<T> orElse(List<T> list) {
-        return this.isEmpty() ? list : this.captured;
+        return this.isEmpty() ? list : this.get();
     }
 
     public final List<T> orEmptyList() {
+        materializePending();
         return this.captured == null ? Collections.emptyList() : this.captured;
     }
 
@@ -92,9 +97,52 @@ public final List<T> orEmptyList() {
      * @return A sequential stream of values
      */
     public final Stream<T> stream() {
+        materializePending();
         return this.captured == null ? Stream.empty() : this.captured.stream();
     }
 
+    /**
+     * Gets the list handed to the consumer of
+     * {@link #acceptAndClearIfNotEmpty(Consumer)}.
+     *
+     * @return The captured list
+     */
+    List<T> getForConsumer() {
+        return this.get();
+    }
+
+    /**
+     * Gets the captured list without turning pending captures into objects.
+     *
+     * @return The captured list, without any pending captures
+     */
+    final List<T> getMaterializedList() {
+        if (this.captured == null) {
+            this.captured = new ArrayList<>();
+        }
+        return this.captured;
+    }
+
+    /**
+     * Returns {@code true} if captures are held in a compact form that has
+     * not been turned into objects of the captured type yet.
+     *
+     * @return {@code true} if there are pending captures
+     */
+    boolean hasPending() {
+        return false;
+    }
+
+    /**
+     * Turns any pending captures into objects appended to the captured list,
+     * in the order they were captured.
+     */
+    void materializePending() {
+    }
+
+    void clearPending() {
+    }
+
     @Override
     public int hashCode() {
         return Objects.hashCode(this.captured);
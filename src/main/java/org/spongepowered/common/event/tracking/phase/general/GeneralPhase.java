@@ -232,7 +232,8 @@ private static void performPostBlockAdditions(PhaseContext<?> postContext, List<
 
             proxyBlockAccess.proceed();
 
-            ((IPhaseState) unwindingState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, transaction, unwindingPhaseContext);
+            ((IPhaseState) unwindingState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, worldServer, pos, originalState, newState,
+                unwindingPhaseContext);
 
             if (spongeFlag.isNotifyClients()) {
                 // Since notifyBlockUpdate is basically to tell clients that the block position has changed,
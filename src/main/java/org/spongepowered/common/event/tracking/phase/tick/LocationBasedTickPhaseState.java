@@ -25,10 +25,9 @@
 package org.spongepowered.common.event.tracking.phase.tick;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.WorldServer;
-import org.spongepowered.api.block.BlockSnapshot;
-import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.api.world.Location;
@@ -41,6 +40,7 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
 import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeLocatableBlock;
 
 import javax.annotation.Nullable;
 
@@ -58,7 +58,9 @@ public void associateNeighborStateNotifier(T context, @Nullable BlockPos sourceP
                                                WorldServer minecraftWorld, PlayerTracker.Type notifier) {
         if (sourcePos == null) {
             LocatableBlock locatableBlock = this.getLocatableBlockSourceFromContext(context);
-            sourcePos = ((IMixinLocation)(Object) locatableBlock.getLocation()).getBlockPos();
+            sourcePos = locatableBlock instanceof SpongeLocatableBlock
+                    ? ((SpongeLocatableBlock) locatableBlock).getBlockPos()
+                    : ((IMixinLocation)(Object) locatableBlock.getLocation()).getBlockPos();
         }
         User user = context.getNotifier().orElse(TrackingUtil.getNotifierOrOwnerFromBlock(minecraftWorld, sourcePos));
         if (user != null) {
@@ -68,16 +70,13 @@ public void associateNeighborStateNotifier(T context, @Nullable BlockPos sourceP
     }
 
     @Override
-    public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
-        Transaction<BlockSnapshot> snapshotTransaction, T context) {
+    public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, WorldServer world, BlockPos pos, IBlockState originalState,
+        IBlockState newState, T context) {
         final Location<World> location = getLocatableBlockSourceFromContext(context).getLocation();
-        final Block block = (Block) snapshotTransaction.getOriginal().getState().getType();
-        final Location<World> changedLocation = snapshotTransaction.getOriginal().getLocation().get();
-        final BlockPos changedBlockPos = ((IMixinLocation)(Object) changedLocation).getBlockPos();
-        final IMixinChunk changedMixinChunk = (IMixinChunk) ((WorldServer) changedLocation.getExtent()).getChunkFromBlockCoords(changedBlockPos);
+        final IMixinChunk changedMixinChunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
         final User user = context.getNotifier().orElse(TrackingUtil.getNotifierOrOwnerFromBlock(location));
         if (user != null) {
-            changedMixinChunk.addTrackedBlockPosition(block, changedBlockPos, user, PlayerTracker.Type.NOTIFIER);
+            changedMixinChunk.addTrackedBlockPosition(originalState.getBlock(), pos, user, PlayerTracker.Type.NOTIFIER);
         }
     }
 
@@ -37,13 +37,13 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+import org.spongepowered.common.world.lighting.QueuedLightUpdates;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -51,9 +51,7 @@
 
 public interface IMixinChunk {
 
-    Map<Short, PlayerTracker> getTrackedShortPlayerPositions();
-
-    Map<Integer, PlayerTracker> getTrackedIntPlayerPositions();
+    PlayerTrackerMap getTrackedPlayerPositions();
 
     Optional<User> getBlockOwner(BlockPos pos);
 
@@ -63,6 +61,22 @@ public interface IMixinChunk {
 
     Optional<UUID> getBlockNotifierUUID(BlockPos pos);
 
+    /**
+     * Gets the world's player index of the owner tracked at the position.
+     *
+     * @param pos The position
+     * @return The owner index, or {@link PlayerTrackerMap#NO_INDEX}
+     */
+    int getBlockOwnerIndex(BlockPos pos);
+
+    /**
+     * Gets the world's player index of the notifier tracked at the position.
+     *
+     * @param pos The position
+     * @return The notifier index, or {@link PlayerTrackerMap#NO_INDEX}
+     */
+    int getBlockNotifierIndex(BlockPos pos);
+
     @Nullable
     IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState currentState, @Nullable BlockSnapshot originalBlockSnapshot);
 
@@ -75,9 +89,7 @@ public interface IMixinChunk {
 
     void addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
-
-    void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void setTrackedPlayerPositions(PlayerTrackerMap trackedPlayerPositions);
 
     void setNeighbor(Direction direction, Chunk neighbor);
 
@@ -117,7 +129,7 @@ void getIntersectingEntities(Vector3d start, Vector3d direction, double distance
 
     boolean isQueuedForUnload();
 
-    CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type);
+    QueuedLightUpdates getQueuedLightingUpdates(EnumSkyBlock type);
 
     void markChunkDirty();
 }
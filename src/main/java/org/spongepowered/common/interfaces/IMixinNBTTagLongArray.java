@@ -22,17 +22,15 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.util;
+package org.spongepowered.common.interfaces;
 
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.math.ChunkPos;
+public interface IMixinNBTTagLongArray {
 
-public class QueuedChunk {
-    public ChunkPos coords;
-    public NBTTagCompound compound;
+    /**
+     * Gets the backing array of the tag, it is not copied.
+     *
+     * @return The backing array
+     */
+    long[] getLongArray();
 
-    public QueuedChunk(ChunkPos coords, NBTTagCompound compound) {
-        this.coords = coords;
-        this.compound = compound;
-    }
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces;
 
 import com.mojang.authlib.properties.Property;
+import io.netty.buffer.ByteBuf;
 import org.spongepowered.api.MinecraftVersion;
 
 import java.net.InetSocketAddress;
@@ -52,4 +53,20 @@ public interface IMixinNetworkManager {
     Property[] getSpoofedProfile();
 
     void setSpoofedProfile(Property[] profile);
+
+    /**
+     * Gets whether packets already encoded for the play state can be
+     * written to this connection right now.
+     *
+     * @return Whether encoded packets are accepted
+     */
+    boolean acceptsEncodedPackets();
+
+    /**
+     * Writes a packet encoded for the play state, without its length
+     * prefix. The buffer is retained and not modified.
+     *
+     * @param encoded The packet id followed by the packet data
+     */
+    void sendEncodedPacket(ByteBuf encoded);
 }
@@ -26,5 +26,5 @@
 
 public interface IMixinPlayerChunkMapEntry {
 
-    void markBiomesForUpdate();
+    void markChunkForUpdate();
 }
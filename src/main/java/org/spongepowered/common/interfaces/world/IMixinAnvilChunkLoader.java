@@ -25,8 +25,10 @@
 package org.spongepowered.common.interfaces.world;
 
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.RegionChunkWriter;
 
 import java.nio.file.Path;
+import java.util.Optional;
 
 public interface IMixinAnvilChunkLoader {
 
@@ -35,4 +37,11 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets the writer of this loader, once it started writing chunks.
+     *
+     * @return The chunk writer
+     */
+    Optional<RegionChunkWriter> getChunkWriter();
+
 }
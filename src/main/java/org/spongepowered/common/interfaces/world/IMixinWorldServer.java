@@ -43,6 +43,7 @@
 import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
@@ -83,6 +84,35 @@ default boolean forceSpawnEntity(Entity entity) {
 
     SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, BlockChangeFlag updateFlag);
 
+    /**
+     * Creates a snapshot of the block at the given position, optionally
+     * leaving out the tile entity data and custom data.
+     *
+     * @param state The block state
+     * @param extended The extended block state
+     * @param pos The position
+     * @param updateFlag The change flag
+     * @param captureTileData Whether tile entity data should be captured
+     * @return The snapshot
+     */
+    SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, BlockChangeFlag updateFlag,
+        boolean captureTileData);
+
+    /**
+     * Creates a snapshot of a block without tile entity data, with the owner
+     * and notifier given by their player indices in this world rather than
+     * the ones currently tracked at the position.
+     *
+     * @param state The block state
+     * @param pos The position
+     * @param updateFlag The change flag
+     * @param ownerIndex The owner index, or {@link PlayerTrackerMap#NO_INDEX}
+     * @param notifierIndex The notifier index, or {@link PlayerTrackerMap#NO_INDEX}
+     * @return The snapshot
+     */
+    SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, BlockPos pos, BlockChangeFlag updateFlag, int ownerIndex,
+        int notifierIndex);
+
     SpongeWorldGenerator createWorldGenerator(DataContainer settings);
 
     SpongeWorldGenerator createWorldGenerator(String settings);
@@ -99,7 +129,12 @@ default boolean forceSpawnEntity(Entity entity) {
 
     boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService getLightingExecutor();
+    /**
+     * Gets the executor running the async light updates of this world.
+     *
+     * @return The executor, or null if async lighting isn't running
+     */
+    @Nullable ExecutorService getLightingExecutor();
 
     WorldTimingsHandler getTimingsHandler();
 
@@ -56,7 +56,6 @@
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.client.CPacketClientSettings;
 import net.minecraft.network.play.server.SPacketBlockChange;
-import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.network.play.server.SPacketCombatEvent;
 import net.minecraft.network.play.server.SPacketCustomSound;
 import net.minecraft.network.play.server.SPacketEntityProperties;
@@ -182,6 +181,7 @@
 import org.spongepowered.common.interfaces.text.IMixinTitle;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.service.user.SpongeUserStorageService;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.chat.ChatUtil;
@@ -477,12 +477,9 @@ public void sendMessage(ChatType type, Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        ITextComponent component = SpongeTexts.toComponent(message);
-        if (type == ChatTypes.ACTION_BAR) {
-            component = SpongeTexts.fixActionBarFormatting(component);
-        }
-
-        this.connection.sendPacket(new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type));
+        // Players receiving the same message during a broadcast share the packet
+        final PacketBroadcast broadcast = PacketBroadcast.current();
+        this.connection.sendPacket(broadcast != null ? broadcast.getChatPacket(type, message) : ChatUtil.createChatPacket(type, message));
     }
 
     /**
@@ -1028,7 +1025,11 @@ public MessageChannelEvent.Chat simulateChat(Text message, Cause cause) {
                 new MessageEvent.MessageFormatter(messages[0], messages[1]), message, false
         );
         if (!SpongeImpl.postEvent(event) && !event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(this, event.getMessage(), ChatTypes.CHAT));
+            event.getChannel().ifPresent(channel -> {
+                try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+                    channel.send(this, event.getMessage(), ChatTypes.CHAT);
+                }
+            });
         }
         return event;
     }
@@ -123,6 +123,7 @@
 import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
 import org.spongepowered.common.interfaces.network.IMixinNetHandlerPlayServer;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 
@@ -226,9 +227,14 @@ private void onPlayerTick(EntityPlayerMP player) {
      */
     @Redirect(method = "sendPacket(Lnet/minecraft/network/Packet;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/NetworkManager;sendPacket(Lnet/minecraft/network/Packet;)V"))
     public void onSendPacket(NetworkManager manager, Packet<?> packet) {
-        packet = this.rewritePacket(packet);
-        if (packet != null) {
-            manager.sendPacket(packet);
+        final Packet<?> rewritten = this.rewritePacket(packet);
+        if (rewritten != null) {
+            // Sponge - Share the encoded packet when it's sent to several players at once
+            final PacketBroadcast broadcast = PacketBroadcast.current();
+            if (broadcast != null && rewritten == packet && this.isPacketShareable(packet) && broadcast.write(manager, packet)) {
+                return;
+            }
+            manager.sendPacket(rewritten);
         }
     }
 
@@ -266,6 +272,19 @@ else if (packetIn instanceof SPacketResourcePackSend) {
         return packetIn;
     }
 
+    /**
+     * Gets whether the packet may be written from the encoding shared with
+     * the other players it's broadcast to. Packets {@link #rewritePacket}
+     * handles per player should opt out here.
+     *
+     * @param packet The packet being sent
+     * @return Whether the packet may be shared
+     */
+    private boolean isPacketShareable(final Packet<?> packet) {
+        // Resource pack requests are queued and resent per player
+        return !(packet instanceof SPacketResourcePackSend);
+    }
+
     /**
      * @author Zidane
      *
@@ -555,7 +574,11 @@ public void onDisconnectHandler(PlayerList this$0, ITextComponent component) {
         SpongeImpl.postEvent(event);
         Sponge.getCauseStackManager().popCause();
         if (!event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(player, event.getMessage()));
+            event.getChannel().ifPresent(channel -> {
+                try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+                    channel.send(player, event.getMessage());
+                }
+            });
         }
         ((IMixinEntityPlayerMP) this.player).getWorldBorderListener().onPlayerDisconnect();
     }
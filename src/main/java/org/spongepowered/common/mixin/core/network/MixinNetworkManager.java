@@ -24,17 +24,27 @@
  */
 package org.spongepowered.common.mixin.core.network;
 
+import com.google.common.collect.ImmutableSet;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.local.LocalAddress;
+import net.minecraft.network.EnumConnectionState;
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.NetworkManager;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.network.PlayerConnection;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeMinecraftVersion;
 import org.spongepowered.common.interfaces.IMixinNetworkManager;
 
@@ -42,18 +52,29 @@
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 
 @SuppressWarnings("rawtypes")
 @Mixin(NetworkManager.class)
 public abstract class MixinNetworkManager extends SimpleChannelInboundHandler implements PlayerConnection, IMixinNetworkManager {
 
+    private static final Set<String> VANILLA_HANDLERS = ImmutableSet.of("timeout", "legacy_query", "splitter", "decoder", "prepender", "encoder",
+            "packet_handler", "compress", "decompress", "encrypt", "decrypt");
+
     @Shadow private Channel channel;
     @Shadow private INetHandler packetListener;
+    @Shadow @Final private Queue<?> outboundPacketsQueue;
 
     @Shadow public abstract SocketAddress getRemoteAddress();
+    @Shadow public abstract boolean isLocalChannel();
 
     private InetSocketAddress virtualHost;
     private MinecraftVersion version;
+    // The tick the pipeline was last checked in, main thread only
+    private int vanillaPipelineTick = -1;
+    private boolean vanillaPipeline;
 
     private static final InetSocketAddress localhost = InetSocketAddress.createUnresolved("127.0.0.1", 0);
 
@@ -113,4 +134,39 @@ public int getLatency() {
         }
         throw new IllegalStateException("Latency is not currently available");
     }
+
+    @Override
+    public boolean acceptsEncodedPackets() {
+        // Local channels pass packets around without encoding them, and queued packets have to be sent first
+        return this.channel != null && this.channel.isOpen() && !this.isLocalChannel() && this.outboundPacketsQueue.isEmpty()
+                && this.channel.attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY && this.hasVanillaPipeline();
+    }
+
+    // Handlers added by mods may expect to see every outgoing packet as a packet. Netty doesn't report
+    // pipeline changes, so the check is cached for the tick and redone whenever vanilla reconfigures it.
+    private boolean hasVanillaPipeline() {
+        final int tick = SpongeImpl.getServer().getTickCounter();
+        if (this.vanillaPipelineTick != tick) {
+            this.vanillaPipeline = true;
+            for (Map.Entry<String, ChannelHandler> handler : this.channel.pipeline()) {
+                if (!VANILLA_HANDLERS.contains(handler.getKey())) {
+                    this.vanillaPipeline = false;
+                    break;
+                }
+            }
+            this.vanillaPipelineTick = tick;
+        }
+        return this.vanillaPipeline;
+    }
+
+    @Inject(method = {"setConnectionState", "setCompressionThreshold", "enableEncryption"}, at = @At("RETURN"))
+    private void onPipelineChanged(CallbackInfo ci) {
+        this.vanillaPipelineTick = -1;
+    }
+
+    @Override
+    public void sendEncodedPacket(ByteBuf encoded) {
+        // Buffers aren't packets, so they pass the packet encoder and are framed, compressed and encrypted as usual
+        this.channel.writeAndFlush(encoded.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+    }
 }
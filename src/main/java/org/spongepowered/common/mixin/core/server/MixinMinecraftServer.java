@@ -107,9 +107,13 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.user.PlayerDataIndex;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.util.ChangeJournal;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.net.InetSocketAddress;
@@ -320,22 +324,18 @@ public void onServerStopping(CallbackInfo ci) {
 
         if (this.worlds != null && SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() &&
                 SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
-            for (WorldServer world : this.worlds) {
-                ((IMixinWorldServer) world).getLightingExecutor().shutdown();
-            }
-
-            for (WorldServer world : this.worlds) {
-                try {
-                    ((IMixinWorldServer) world).getLightingExecutor().awaitTermination(1, TimeUnit.SECONDS);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                } finally {
-                    ((IMixinWorldServer) world).getLightingExecutor().shutdownNow();
-                }
-            }
+            AsyncLightingEngine.shutdown(1, TimeUnit.SECONDS);
         }
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // The worlds are saved by now, flush the journals before the daemon writing them dies with the server
+        SpongeUsernameCache.save();
+        PlayerDataIndex.saveCurrent();
+        ChangeJournal.awaitPendingTasks(10, TimeUnit.SECONDS);
+    }
+
     /**
      * @author blood - December 23rd, 2015
      * @author Zidane - March 13th, 2016
@@ -346,6 +346,10 @@ public void onServerStopping(CallbackInfo ci) {
      */
     @Overwrite
     public void loadAllWorlds(String overworldFolder, String worldName, long seed, WorldType type, String generatorOptions) {
+        if (SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() &&
+                SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
+            AsyncLightingEngine.start();
+        }
         SpongeCommonEventFactory.convertingMapFormat = true;
         this.convertMapIfNeeded(overworldFolder);
         SpongeCommonEventFactory.convertingMapFormat = false;
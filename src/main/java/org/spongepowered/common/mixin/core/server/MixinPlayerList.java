@@ -112,6 +112,7 @@
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketWorldBorder;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.service.ban.SpongeIPBanList;
 import org.spongepowered.common.service.ban.SpongeUserListBans;
 import org.spongepowered.common.service.permission.SpongePermissionService;
@@ -149,6 +150,7 @@ public abstract class MixinPlayerList implements IMixinPlayerList {
     @Shadow public abstract MinecraftServer getServerInstance();
     @Shadow public abstract int getMaxPlayers();
     @Shadow public abstract void sendPacketToAllPlayers(Packet<?> packetIn);
+    @Shadow public abstract void sendPacketToAllPlayersInDimension(Packet<?> packetIn, int dimension);
     @Shadow public abstract void preparePlayer(EntityPlayerMP playerIn, @Nullable WorldServer worldIn);
     @Shadow public abstract void playerLoggedIn(EntityPlayerMP playerIn);
     @Shadow public abstract void updateTimeAndWeatherForPlayer(EntityPlayerMP playerIn, WorldServer worldIn);
@@ -159,6 +161,9 @@ public abstract class MixinPlayerList implements IMixinPlayerList {
         // Shadowed
     }
 
+    // Whether a packet is currently sent to all players within a broadcast, main thread only
+    private boolean broadcastingPacket;
+
     /**
      * @author Minecrell - December 5th, 2016
      * @reason Redirect ban list constructor and use our custom implementation
@@ -435,7 +440,11 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         Sponge.getCauseStackManager().popCause();
         // Send to the channel
         if (!event.isMessageCancelled()) {
-            event.getChannel().ifPresent(channel -> channel.send(player, event.getMessage()));
+            event.getChannel().ifPresent(channel -> {
+                try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+                    channel.send(player, event.getMessage());
+                }
+            });
         }
         // Sponge end
     }
@@ -829,6 +838,35 @@ private WorldInfo onGetWorldInfo(WorldServer overworld, EntityPlayerMP player) {
         return player.world.getWorldInfo();
     }
 
+    @Inject(method = "sendPacketToAllPlayers", at = @At("HEAD"), cancellable = true)
+    private void onSendPacketToAllPlayers(Packet<?> packetIn, CallbackInfo ci) {
+        if (this.broadcastingPacket || !this.mcServer.isCallingFromMinecraftThread()) {
+            return;
+        }
+        // Encode the packet once for all players instead of once per player
+        ci.cancel();
+        this.broadcastingPacket = true;
+        try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+            this.sendPacketToAllPlayers(packetIn);
+        } finally {
+            this.broadcastingPacket = false;
+        }
+    }
+
+    @Inject(method = "sendPacketToAllPlayersInDimension", at = @At("HEAD"), cancellable = true)
+    private void onSendPacketToAllPlayersInDimension(Packet<?> packetIn, int dimension, CallbackInfo ci) {
+        if (this.broadcastingPacket || !this.mcServer.isCallingFromMinecraftThread()) {
+            return;
+        }
+        ci.cancel();
+        this.broadcastingPacket = true;
+        try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+            this.sendPacketToAllPlayersInDimension(packetIn, dimension);
+        } finally {
+            this.broadcastingPacket = false;
+        }
+    }
+
     /**
      * @author simon816 - 14th November, 2016
      *
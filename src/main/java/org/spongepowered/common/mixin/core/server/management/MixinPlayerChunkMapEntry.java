@@ -47,23 +47,23 @@ public abstract class MixinPlayerChunkMapEntry implements IMixinPlayerChunkMapEn
     @Shadow public int changedSectionFilter;
     @Shadow public abstract void sendPacket(Packet<?> packetIn);
 
-    private boolean updateBiomes;
+    private boolean resendChunk;
 
     @Inject(method = "update", at = @At("HEAD"), cancellable = true)
-    public void resendUpdatedBiomes(CallbackInfo ci) {
+    public void resendUpdatedChunk(CallbackInfo ci) {
         final Chunk chunk = this.playerChunkMap.getWorldServer().getChunkFromChunkCoords(this.pos.x, this.pos.z);
-        if (this.updateBiomes) {
+        if (this.resendChunk) {
             this.sendPacket(new SPacketChunkData(chunk, 65535));
             this.changes = 0;
             this.changedSectionFilter = 0;
-            this.updateBiomes = false;
+            this.resendChunk = false;
             ci.cancel();
         }
     }
 
     @Override
-    public void markBiomesForUpdate() {
-        this.updateBiomes = true;
+    public void markChunkForUpdate() {
+        this.resendChunk = true;
         this.playerChunkMap.dirtyEntries.add((PlayerChunkMapEntry) (Object) this);
     }
 }
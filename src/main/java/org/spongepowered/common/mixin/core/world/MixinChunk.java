@@ -95,6 +95,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseData;
@@ -140,6 +141,7 @@ public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
     private net.minecraft.world.chunk.Chunk[] neighbors = new net.minecraft.world.chunk.Chunk[4];
     private long cacheKey;
     private static final Direction[] CARDINAL_DIRECTIONS = new Direction[] {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
+    private static final PlayerTrackerMap EMPTY_TRACKED_POSITIONS = new PlayerTrackerMap(0);
 
     private static final Vector3i BIOME_SIZE = new Vector3i(SpongeChunkLayout.CHUNK_SIZE.getX(), 1, SpongeChunkLayout.CHUNK_SIZE.getZ());
     private Vector3i chunkPos;
@@ -386,7 +388,7 @@ public void setBiome(int x, int y, int z, BiomeType biome) {
         if (this.world instanceof WorldServer) {
             final PlayerChunkMapEntry entry = ((WorldServer) this.world).getPlayerChunkMap().getEntry(this.x, this.z);
             if (entry != null) {
-                ((IMixinPlayerChunkMapEntry) entry).markBiomesForUpdate();
+                ((IMixinPlayerChunkMapEntry) entry).markChunkForUpdate();
             }
         }
     }
@@ -735,13 +737,8 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public PlayerTrackerMap getTrackedPlayerPositions() {
+        return EMPTY_TRACKED_POSITIONS;
     }
 
     @Override
@@ -765,21 +762,27 @@ public Optional<UUID> getBlockNotifierUUID(BlockPos pos) {
     }
 
     @Override
-    public void setBlockNotifier(BlockPos pos, @Nullable UUID uuid) {
+    public int getBlockOwnerIndex(BlockPos pos) {
+        return PlayerTrackerMap.NO_INDEX;
+    }
 
+    @Override
+    public int getBlockNotifierIndex(BlockPos pos) {
+        return PlayerTrackerMap.NO_INDEX;
     }
 
     @Override
-    public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
+    public void setBlockNotifier(BlockPos pos, @Nullable UUID uuid) {
 
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
+    public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
+
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedPlayerPositions(PlayerTrackerMap trackedPositions) {
     }
 
     // Continuing the rest of the implementation
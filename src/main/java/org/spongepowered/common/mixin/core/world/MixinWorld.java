@@ -141,6 +141,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.tileentityactivation.MixinWorldServer_TileEntityActivation;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
@@ -653,8 +654,10 @@ public void sendMessage(ChatType type, Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        for (Player player : this.getPlayers()) {
-            player.sendMessage(type, message);
+        try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+            for (Player player : this.getPlayers()) {
+                player.sendMessage(type, message);
+            }
         }
     }
 
@@ -662,8 +665,10 @@ public void sendMessage(ChatType type, Text message) {
     public void sendTitle(Title title) {
         checkNotNull(title, "title");
 
-        for (Player player : getPlayers()) {
-            player.sendTitle(title);
+        try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+            for (Player player : getPlayers()) {
+                player.sendTitle(title);
+            }
         }
     }
 
@@ -157,6 +157,7 @@
 import org.spongepowered.common.effect.record.SpongeRecordType;
 import org.spongepowered.common.effect.sound.SoundEffectHelper;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -1559,6 +1560,12 @@ private boolean forceSpawnEntity(net.minecraft.entity.Entity entity, int chunkX,
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, BlockChangeFlag updateFlag) {
+        return createSpongeBlockSnapshot(state, extended, pos, updateFlag, true);
+    }
+
+    @Override
+    public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, BlockChangeFlag updateFlag,
+        boolean captureTileData) {
         this.builder.reset();
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
@@ -1572,7 +1579,7 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         if (notifier.isPresent()) {
             this.builder.notifier(notifier.get());
         }
-        if (state.getBlock() instanceof ITileEntityProvider) {
+        if (captureTileData && state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
             if (te != null) {
                 TileEntity tile = (TileEntity) te;
@@ -1583,7 +1590,8 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
                 // Some mods like OpenComputers assert if attempting to save robot while moving
                 try {
                     te.writeToNBT(nbt);
-                    this.builder.unsafeNbt(nbt);
+                    // Nothing else references the freshly written compound, no need to copy it
+                    this.builder.unsafeNbtNoCopy(nbt);
                 }
                 catch(Throwable t) {
                     // ignore
@@ -1593,6 +1601,38 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         return new SpongeBlockSnapshot(this.builder, (SpongeBlockChangeFlag) updateFlag);
     }
 
+    @Override
+    public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, BlockPos pos, BlockChangeFlag updateFlag, int ownerIndex,
+        int notifierIndex) {
+        this.builder.reset();
+        this.builder.blockState((BlockState) state)
+                .extendedState((BlockState) state)
+                .worldId(this.getUniqueId())
+                .position(VecHelper.toVector3i(pos));
+        final UUID creator = getValidUniqueIdForIndex(ownerIndex);
+        final UUID notifier = getValidUniqueIdForIndex(notifierIndex);
+        if (creator != null) {
+            this.builder.creator(creator);
+        }
+        if (notifier != null) {
+            this.builder.notifier(notifier);
+        }
+        return new SpongeBlockSnapshot(this.builder, (SpongeBlockChangeFlag) updateFlag);
+    }
+
+    @Nullable
+    private UUID getValidUniqueIdForIndex(int index) {
+        if (index == PlayerTrackerMap.NO_INDEX) {
+            return null;
+        }
+        final UUID uuid = ((IMixinWorldInfo) this.worldInfo).getUniqueIdForIndex(index).orElse(null);
+        // Same validation as the chunk's tracked positions
+        if (uuid != null && SpongeImpl.getGlobalConfig().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
+            return null;
+        }
+        return uuid;
+    }
+
     /**
      * @author gabizou - September 10th, 2016
      * @author gabizou - September 21st, 2017 - Update for PhaseContext refactor.
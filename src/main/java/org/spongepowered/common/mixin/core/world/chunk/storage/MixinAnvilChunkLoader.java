@@ -25,7 +25,6 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Maps;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
@@ -63,23 +62,26 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
-import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.storage.RegionChunkWriter;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
-    private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
     private final Object lock = new Object();
+    @Nullable private volatile RegionChunkWriter writer;
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
@@ -89,41 +91,23 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
 
-    @Shadow
-    public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
-
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
-        // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        // Add tracked block positions as packed columns
+        final PlayerTrackerMap trackedPositions = chunk.getTrackedPlayerPositions();
+        if (!trackedPositions.isEmpty()) {
+            final int size = trackedPositions.size();
+            final int[] positions = new int[size];
+            final int[] owners = new int[size];
+            final int[] notifiers = new int[size];
+            trackedPositions.copyTo(positions, owners, notifiers);
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS, owners);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS, notifiers);
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
@@ -131,33 +115,37 @@ public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World wor
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX,
             int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
-            IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
+            final NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
+            final PlayerTrackerMap trackedPositions;
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_TRACKED_POSITIONS, NbtDataUtil.TAG_INT_ARRAY)) {
+                final int[] positions = trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS);
+                trackedPositions = new PlayerTrackerMap(positions.length);
+                trackedPositions.putAll(positions, trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS),
+                        trackedNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS));
+            } else {
+                // Migrate the old per position compound table, remove in future
+                NBTTagList positions = trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+                trackedPositions = new PlayerTrackerMap(positions.tagCount());
+                for (int i = 0; i < positions.tagCount(); i++) {
+                    NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+                    int ownerIndex = PlayerTrackerMap.NO_INDEX;
+                    int notifierIndex = PlayerTrackerMap.NO_INDEX;
+                    if (valueNbt.hasKey("owner")) {
+                        ownerIndex = valueNbt.getInteger("owner");
+                    } else if (valueNbt.hasKey("uuid")) {
+                        ownerIndex = valueNbt.getInteger("uuid");
+                    }
+                    if (valueNbt.hasKey("notifier")) {
+                        notifierIndex = valueNbt.getInteger("notifier");
+                    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                    if (notifierIndex != PlayerTrackerMap.NO_INDEX || ownerIndex != PlayerTrackerMap.NO_INDEX) {
+                        final int pos = valueNbt.hasKey("pos") ? PlayerTrackerMap.widenShortKey(valueNbt.getShort("pos")) : valueNbt.getInteger("ipos");
+                        trackedPositions.put(pos, ownerIndex, notifierIndex);
                     }
                 }
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+            ((IMixinChunk) chunkIn).setTrackedPlayerPositions(trackedPositions);
         }
     }
 
@@ -232,10 +220,10 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
      */
     @Overwrite
     protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
+        // Sponge - A chunk saved again before it was written replaces the pending compound
         synchronized (this.lock) {
             this.chunksToSave.put(pos, compound);
         }
-        this.queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
     }
@@ -247,59 +235,25 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
      */
     @Overwrite
     public boolean writeNextIO() {
-        QueuedChunk chunk = this.queue.poll();
-        if (chunk == null) {
-            if (this.flushing) {
-                LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
-            }
-
-            return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
-
-            try {
-                // this.field_193415_c.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
-                }
-
-                synchronized (this.lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
-                }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
-            }
-
-            return lvt_3_1_;
+        // Sponge start - Write every pending chunk in one batch, grouped by region
+        if (this.writer == null) {
+            this.writer = new RegionChunkWriter(this.chunkSaveLocation, this.chunksToSave, this.lock);
         }
+        if (this.writer.writePending()) {
+            return true;
+        }
+        if (this.flushing) {
+            LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved ({} chunks, {} KiB written in {} ms)",
+                    this.chunkSaveLocation.getName(), this.writer.getChunksWritten(), this.writer.getBytesWritten() / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(this.writer.getFlushNanos()));
+        }
+        return false;
+        // Sponge end
+    }
+
+    @Override
+    public Optional<RegionChunkWriter> getChunkWriter() {
+        return Optional.ofNullable(this.writer);
     }
 
     @Override
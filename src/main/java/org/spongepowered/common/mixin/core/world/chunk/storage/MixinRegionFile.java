@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk.storage;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+import org.spongepowered.common.world.storage.RegionChunkWriter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+@Mixin(RegionFile.class)
+public abstract class MixinRegionFile implements IMixinRegionFile {
+
+    private static final int SECTOR_BYTES = 4096;
+    // Chunk payloads are always zlib compressed
+    private static final byte ZLIB_VERSION = 2;
+
+    @Shadow private RandomAccessFile dataFile;
+    @Shadow @Final private int[] offsets;
+    @Shadow @Final private int[] chunkTimestamps;
+    @Shadow private List<Boolean> sectorFree;
+    @Shadow private int sizeDelta;
+
+    /**
+     * Allocates sectors the same way as the vanilla single chunk write, but
+     * writes the sectors through positional channel writes and updates the
+     * header tables once for the whole batch.
+     */
+    @Override
+    public synchronized long writeChunks(List<RegionChunkWriter.CompressedChunk> chunks) throws IOException {
+        final FileChannel channel = this.dataFile.getChannel();
+        final int timestamp = (int) (MinecraftServer.getCurrentTimeMillis() / 1000L);
+        long written = 0;
+        for (RegionChunkWriter.CompressedChunk chunk : chunks) {
+            final int index = chunk.getLocalX() + chunk.getLocalZ() * 32;
+            final int sectorsNeeded = (chunk.getLength() + 5) / SECTOR_BYTES + 1;
+            if (sectorsNeeded >= 256) {
+                // Too large for the region format, vanilla drops these as well
+                continue;
+            }
+            int sector = this.offsets[index] >> 8;
+            final int sectorCount = this.offsets[index] & 255;
+            if (sector == 0 || sectorCount != sectorsNeeded) {
+                for (int i = 0; i < sectorCount; i++) {
+                    this.sectorFree.set(sector + i, true);
+                }
+                sector = this.findFreeSectors(sectorsNeeded);
+                if (sector == -1) {
+                    sector = this.sectorFree.size();
+                    for (int i = 0; i < sectorsNeeded; i++) {
+                        this.sectorFree.add(false);
+                    }
+                    this.sizeDelta += SECTOR_BYTES * sectorsNeeded;
+                } else {
+                    for (int i = 0; i < sectorsNeeded; i++) {
+                        this.sectorFree.set(sector + i, false);
+                    }
+                }
+                this.offsets[index] = sector << 8 | sectorsNeeded;
+            }
+            // Padded to whole sectors, so appended chunks keep the file aligned
+            final ByteBuffer buffer = ByteBuffer.allocate(sectorsNeeded * SECTOR_BYTES);
+            buffer.putInt(chunk.getLength() + 1).put(ZLIB_VERSION).put(chunk.getData(), 0, chunk.getLength());
+            buffer.clear();
+            written += writeFully(channel, buffer, (long) sector * SECTOR_BYTES);
+            this.chunkTimestamps[index] = timestamp;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(2 * SECTOR_BYTES);
+        header.asIntBuffer().put(this.offsets).put(this.chunkTimestamps);
+        written += writeFully(channel, header, 0);
+        return written;
+    }
+
+    private int findFreeSectors(int count) {
+        int runStart = -1;
+        int runLength = 0;
+        for (int i = 0; i < this.sectorFree.size(); i++) {
+            if (this.sectorFree.get(i)) {
+                if (runLength++ == 0) {
+                    runStart = i;
+                }
+                if (runLength >= count) {
+                    return runStart;
+                }
+            } else {
+                runLength = 0;
+            }
+        }
+        return -1;
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        final int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        return length;
+    }
+}
@@ -45,6 +45,7 @@
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinSaveHandler;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.service.user.PlayerDataIndex;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
@@ -225,6 +226,7 @@ private NBTTagCompound spongeReadPlayerData(InputStream inputStream) throws IOEx
     @Inject(method = "writePlayerData", at = @At(value = "INVOKE", target = COMPRESSED_WRITE_FILE, shift = At.Shift.AFTER))
     private void onSpongeWrite(EntityPlayer player, CallbackInfo callbackInfo) {
         SpongePlayerDataHandler.savePlayer(player.getUniqueID());
+        PlayerDataIndex.update(player.getUniqueID(), player.getName(), System.currentTimeMillis());
     }
 
     // SF overrides getWorldDirectory for mod compatibility.
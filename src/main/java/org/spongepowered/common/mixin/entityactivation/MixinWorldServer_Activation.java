@@ -27,10 +27,19 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationGrid;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_WorldActivation;
 
 @Mixin(value = WorldServer.class, priority = 1005)
-public abstract class MixinWorldServer_Activation extends MixinWorld {
+public abstract class MixinWorldServer_Activation extends MixinWorld implements IModData_WorldActivation {
+
+    private final EntityActivationGrid entityActivationGrid = new EntityActivationGrid();
+
+    @Override
+    public EntityActivationGrid getEntityActivationGrid() {
+        return this.entityActivationGrid;
+    }
 
     @Override
     public void entityActivationCheck() {
@@ -44,11 +44,11 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.lighting.QueuedLightUpdates;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -57,12 +57,11 @@
 public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
 
     // Keeps track of block positions in this chunk currently queued for sky light update
-    private CopyOnWriteArrayList<Short> queuedSkyLightingUpdates = new CopyOnWriteArrayList<>();
+    private final QueuedLightUpdates queuedSkyLightingUpdates = new QueuedLightUpdates();
     // Keeps track of block positions in this chunk currently queued for block light update
-    private CopyOnWriteArrayList<Short> queuedBlockLightingUpdates = new CopyOnWriteArrayList<>();
+    private final QueuedLightUpdates queuedBlockLightingUpdates = new QueuedLightUpdates();
     private AtomicInteger pendingLightUpdates = new AtomicInteger();
     private long lightUpdateTime;
-    private ExecutorService lightExecutorService;
     private static final List<Chunk> EMPTY_LIST = new ArrayList<>();
     private static final BlockPos DUMMY_POS = new BlockPos(0, 0, 0);
 
@@ -93,13 +92,6 @@ public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
     @Shadow public abstract int getBlockLightOpacity(int x, int y, int z);
     @Shadow public abstract void updateSkylightNeighborHeight(int x, int z, int startY, int endY);
 
-    @Inject(method = "<init>", at = @At("RETURN"))
-    public void onConstruct(World worldIn, int x, int z, CallbackInfo ci) {
-        if (!worldIn.isRemote) {
-            this.lightExecutorService = ((IMixinWorldServer) worldIn).getLightingExecutor();
-        }
-    }
-
     @Override
     public AtomicInteger getPendingLightUpdates() {
         return this.pendingLightUpdates;
@@ -119,10 +111,12 @@ public void setLightUpdateTime(long time) {
     private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
     {
         if (!this.world.isRemote) {
-            final List<Chunk> neighbors = this.getSurroundingChunks();
+            // Without a running engine the light checks wait for the next tick
+            final ExecutorService lightExecutorService = ((IMixinWorldServer) this.world).getLightingExecutor();
+            final List<Chunk> neighbors = lightExecutorService == null ? EMPTY_LIST : this.getSurroundingChunks();
             if (this.isGapLightingUpdated && this.world.provider.hasSkyLight() && !skipRecheckGaps && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                lightExecutorService.execute(() -> {
                     this.recheckGapsAsync(neighbors);
                 });
                 this.isGapLightingUpdated = false;
@@ -132,7 +126,7 @@ private void onTickHead(boolean skipRecheckGaps, CallbackInfo ci)
     
             if (!this.isLightPopulated && this.isTerrainPopulated && !neighbors.isEmpty())
             {
-                this.lightExecutorService.execute(() -> {
+                lightExecutorService.execute(() -> {
                     this.checkLightAsync(neighbors);
                 });
                 // set to true to avoid requeuing the same task when not finished
@@ -255,7 +249,8 @@ private boolean onCheckLightWorld(World world, BlockPos pos) {
     @Inject(method = "checkLight", at = @At("HEAD"), cancellable = true)
     private void checkLightHead(CallbackInfo ci) {
         if (!this.world.isRemote) {
-            if (this.world.getMinecraftServer().isServerStopped() || this.lightExecutorService.isShutdown()) {
+            final ExecutorService lightExecutorService = ((IMixinWorldServer) this.world).getLightingExecutor();
+            if (lightExecutorService == null || this.world.getMinecraftServer().isServerStopped()) {
                 return;
             }
 
@@ -270,13 +265,13 @@ private void checkLightHead(CallbackInfo ci) {
 
             if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
                 try {
-                    this.lightExecutorService.execute(() -> {
+                    lightExecutorService.execute(() -> {
                         this.checkLightAsync(neighborChunks);
                     });
                 } catch (RejectedExecutionException e) {
                     // This could happen if ServerHangWatchdog kills the server
                     // between the start of the method and the execute() call.
-                    if (!this.world.getMinecraftServer().isServerStopped() && !this.lightExecutorService.isShutdown()) {
+                    if (!this.world.getMinecraftServer().isServerStopped() && !lightExecutorService.isShutdown()) {
                         throw e;
                     }
                 }
@@ -491,7 +486,11 @@ private List<Chunk> getSurroundingChunks() {
     @Inject(method = "relightBlock", at = @At("HEAD"), cancellable = true)
     private void onRelightBlock(int x, int y, int z, CallbackInfo ci) {
         if (!this.world.isRemote) {
-            this.lightExecutorService.execute(() -> {
+            final ExecutorService lightExecutorService = ((IMixinWorldServer) this.world).getLightingExecutor();
+            if (lightExecutorService == null) {
+                return;
+            }
+            lightExecutorService.execute(() -> {
                 this.relightBlockAsync(x, y, z);
             });
             ci.cancel();
@@ -690,14 +689,25 @@ private boolean checkWorldLight(BlockPos pos, List<Chunk> neighbors) {
         return flag;
     }
 
+    @Inject(method = "onUnload", at = @At("RETURN"))
+    private void onUnloadDropLightQueues(CallbackInfo ci) {
+        // Updates still queued are lost with the chunk, only claim queues no batch drains to drop their bitsets
+        for (QueuedLightUpdates queue : new QueuedLightUpdates[] {this.queuedSkyLightingUpdates, this.queuedBlockLightingUpdates}) {
+            if (queue.trySchedule()) {
+                queue.clear();
+                queue.markIdle();
+            }
+        }
+    }
+
     /**
-     * Gets the list of block positions currently queued for lighting updates.
+     * Gets the block positions currently queued for lighting updates.
      * 
      * @param type The light type
-     * @return The list of queued block positions, empty if none
+     * @return The queued block positions
      */
     @Override
-    public CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type) {
+    public QueuedLightUpdates getQueuedLightingUpdates(EnumSkyBlock type) {
         if (type == EnumSkyBlock.SKY) {
             return this.queuedSkyLightingUpdates;
         }
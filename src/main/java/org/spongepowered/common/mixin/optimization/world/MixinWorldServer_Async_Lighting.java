@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -40,24 +39,18 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.lighting.QueuedLightUpdates;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class MixinWorldServer_Async_Lighting extends MixinWorld implements IMixinWorldServer {
 
-    private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
-    private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
-
-    private ExecutorService lightExecutorService = 
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
-
     @Override
     public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
         return this.updateLightAsync(lightType, pos, null);
@@ -69,7 +62,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -184,15 +176,6 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.getQueuedLightingUpdates(lightType).remove((Short) this.blockPosToShort(pos));
-            spongeChunk.getPendingLightUpdates().decrementAndGet();
-            for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                neighbor.getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -200,7 +183,8 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
 
     @Override
     public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.lightExecutorService.isShutdown()) {
+        final AsyncLightingEngine engine = AsyncLightingEngine.getIfRunning().orElse(null);
+        if (engine == null || this.getMinecraftServer().isServerStopped()) {
             return false;
         }
 
@@ -213,16 +197,30 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
             return false;
         }
 
-        final short shortPos = this.blockPosToShort(pos);
-        if (spongeChunk.getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        final QueuedLightUpdates queue = spongeChunk.getQueuedLightingUpdates(lightType);
+        final int packedPos = QueuedLightUpdates.pack(pos);
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Already on a light thread, update right away unless a batch will
+            if (queue.contains(packedPos)) {
+                return false;
+            }
+            this.checkLightAsync(lightType, pos, currentChunk, this.getLightNeighbors(spongeChunk));
+            return true;
+        }
+
+        if (!queue.add(packedPos)) {
             return false;
         }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
-        spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        engine.onQueued();
+        spongeChunk.setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+        if (queue.trySchedule()) {
+            this.scheduleLightUpdates(engine, lightType, currentChunk, this.getLightNeighbors(spongeChunk), queue);
+        }
+        return true;
+    }
 
+    private List<Chunk> getLightNeighbors(IMixinChunk spongeChunk) {
         List<Chunk> neighbors = spongeChunk.getNeighbors();
         // add diagonal chunks
         Chunk southEastChunk = ((IMixinChunk) spongeChunk.getNeighborChunk(0)).getNeighborChunk(2);
@@ -241,28 +239,106 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         if (northWestChunk != null) {
             neighbors.add(northWestChunk);
         }
+        return neighbors;
+    }
 
-        for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-            final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-            neighbor.getPendingLightUpdates().incrementAndGet();
-            neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+    /**
+     * Submits a batch draining the queued positions of the chunk. The chunk
+     * and its neighbors are kept loaded until the batch has finished.
+     */
+    private void scheduleLightUpdates(AsyncLightingEngine engine, EnumSkyBlock lightType, Chunk chunk, List<Chunk> neighbors,
+            QueuedLightUpdates queue) {
+        this.retainLightNeighbors(chunk, neighbors);
+        if (!this.submitLightUpdates(engine, lightType, chunk, neighbors, queue)) {
+            // The server is stopping, the queued positions are lost with it
+            queue.markIdle();
         }
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.lightExecutorService.execute(() -> {
-                this.checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
+    /**
+     * Submits the next batch of an already retained chunk, releasing the
+     * neighbors again if the engine has been shut down.
+     */
+    private boolean submitLightUpdates(AsyncLightingEngine engine, EnumSkyBlock lightType, Chunk chunk, List<Chunk> neighbors,
+            QueuedLightUpdates queue) {
+        try {
+            engine.getExecutor().execute(() -> this.processLightUpdates(engine, lightType, chunk, neighbors, queue));
+            return true;
+        } catch (RejectedExecutionException e) {
+            this.releaseLightNeighbors(chunk, neighbors);
+            return false;
         }
+    }
 
+    /**
+     * Submits a follow-up batch with the neighbors loaded right now, as they
+     * may have changed since the previous batch was scheduled.
+     */
+    private boolean continueLightUpdates(AsyncLightingEngine engine, EnumSkyBlock lightType, Chunk chunk, List<Chunk> previousNeighbors,
+            QueuedLightUpdates queue) {
+        final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+        if (engine.getExecutor().isShutdown() || chunk.unloadQueued || !spongeChunk.areNeighborsLoaded()) {
+            return false;
+        }
+        final List<Chunk> neighbors = this.getLightNeighbors(spongeChunk);
+        this.retainLightNeighbors(chunk, neighbors);
+        if (!this.submitLightUpdates(engine, lightType, chunk, neighbors, queue)) {
+            return false;
+        }
+        this.releaseLightNeighbors(chunk, previousNeighbors);
         return true;
     }
 
+    private void processLightUpdates(AsyncLightingEngine engine, EnumSkyBlock lightType, Chunk chunk, List<Chunk> neighbors,
+            QueuedLightUpdates queue) {
+        final int[] batch = new int[engine.getBatchSize()];
+        final int count = queue.drain(batch);
+        try {
+            final int chunkBlockX = chunk.x << 4;
+            final int chunkBlockZ = chunk.z << 4;
+            for (int i = 0; i < count; i++) {
+                this.checkLightAsync(lightType, QueuedLightUpdates.unpack(batch[i], chunkBlockX, chunkBlockZ), chunk, neighbors);
+            }
+        } finally {
+            engine.onProcessed(count);
+        }
+
+        // More may be queued, continue after the batches of other chunks
+        if (count == batch.length && this.continueLightUpdates(engine, lightType, chunk, neighbors, queue)) {
+            return;
+        }
+        queue.markIdle();
+        // Positions queued while this batch finished didn't schedule another one
+        if (!queue.isEmpty() && queue.trySchedule()) {
+            if (this.continueLightUpdates(engine, lightType, chunk, neighbors, queue)) {
+                return;
+            }
+            queue.markIdle();
+        }
+        this.releaseLightNeighbors(chunk, neighbors);
+    }
+
+    private void retainLightNeighbors(Chunk chunk, List<Chunk> neighbors) {
+        final long time = chunk.getWorld().getTotalWorldTime();
+        ((IMixinChunk) chunk).getPendingLightUpdates().incrementAndGet();
+        for (Chunk neighborChunk : neighbors) {
+            final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
+            neighbor.getPendingLightUpdates().incrementAndGet();
+            neighbor.setLightUpdateTime(time);
+        }
+    }
+
+    private void releaseLightNeighbors(Chunk chunk, List<Chunk> neighbors) {
+        ((IMixinChunk) chunk).getPendingLightUpdates().decrementAndGet();
+        for (Chunk neighborChunk : neighbors) {
+            ((IMixinChunk) neighborChunk).getPendingLightUpdates().decrementAndGet();
+        }
+    }
+
+    @Nullable
     @Override
     public ExecutorService getLightingExecutor() {
-        return this.lightExecutorService;
+        return AsyncLightingEngine.getIfRunning().map(AsyncLightingEngine::getExecutor).orElse(null);
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -355,24 +431,4 @@ public void setLightForAsync(EnumSkyBlock type, BlockPos pos, int lightValue, Ch
             }
         }
     }
-
-    private short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int setNibble(int num, int data, int which, int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
@@ -0,0 +1,323 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.api.entity.EntityTypes;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The incremental mode of entity activation. A coarse grid counts, for
+ * every chunk and activation type, the players having the chunk within
+ * range, and is only updated as players cross chunk borders. Entities are
+ * marked active until further notice, and re-evaluated only when their
+ * chunk changes state or when they enter another chunk.
+ *
+ * <p>Ranges are rounded up to whole chunks around the chunk of the player,
+ * using the largest range of each activation type.</p>
+ */
+public final class EntityActivationGrid {
+
+    // Activation types are 1 to 5, see EntityActivationRange#initializeEntityActivationType
+    private static final int TYPES = 6;
+    private static final int NOT_TRACKED = -1;
+    // Active until the grid says otherwise, EntityActivationRange#checkIfActive compares to the current tick
+    private static final long ACTIVE = Long.MAX_VALUE;
+
+    private final Long2ObjectOpenHashMap<int[]> counts = new Long2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<Presence> players = new Int2ObjectOpenHashMap<>();
+    private final LongOpenHashSet changed = new LongOpenHashSet();
+    // The masks chunks had before the current update touched them
+    private final Long2IntOpenHashMap previousMasks = new Long2IntOpenHashMap();
+    private final int[] radii = new int[TYPES];
+    private final int[] newRadii = new int[TYPES];
+    private int maxRadius = NOT_TRACKED;
+    private boolean enabled;
+    private long currentTick;
+
+    private static final class Presence {
+
+        int chunkX;
+        int chunkZ;
+        long seenTick;
+
+        Presence(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+
+    public EntityActivationGrid() {
+        Arrays.fill(this.radii, NOT_TRACKED);
+    }
+
+    /**
+     * Updates the grid with the players of the world, then re-evaluates the
+     * entities of every loaded chunk which changed state.
+     *
+     * @param world The world owning this grid
+     * @param currentTick The current server tick
+     */
+    void update(WorldServer world, long currentTick) {
+        this.currentTick = currentTick;
+        this.enabled = true;
+
+        final int viewDistanceCap = (((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8;
+        for (int type = 1; type < TYPES; type++) {
+            final Integer range = EntityActivationRange.maxActivationRanges.get((byte) type);
+            final int blocks = Math.min(range == null ? 0 : range, viewDistanceCap);
+            this.newRadii[type] = blocks < 0 ? NOT_TRACKED : (blocks + 15) >> 4;
+        }
+        track(world.playerEntities, this.newRadii, currentTick);
+
+        if (this.changed.isEmpty()) {
+            return;
+        }
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        for (LongIterator it = this.changed.iterator(); it.hasNext();) {
+            final long key = it.nextLong();
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) key, (int) (key >> 32));
+            if (chunk == null) {
+                continue;
+            }
+            final int mask = getMask(key);
+            for (ClassInheritanceMultiMap<Entity> entities : chunk.getEntityLists()) {
+                for (Entity entity : entities) {
+                    evaluate(entity, mask);
+                }
+            }
+        }
+        clearChanged();
+    }
+
+    /**
+     * Updates the counts with the players of the world, marking the chunks
+     * whose activation types changed.
+     *
+     * @param players The players of the world
+     * @param newRadii The range of each activation type in chunks, or -1
+     *     if not tracked
+     * @param currentTick The current server tick
+     */
+    void track(Iterable<EntityPlayer> players, int[] newRadii, long currentTick) {
+        if (!Arrays.equals(newRadii, this.radii)) {
+            // Start over, every chunk which was in range is re-evaluated afterwards
+            for (Presence presence : this.players.values()) {
+                move(presence.chunkX, presence.chunkZ, -1);
+            }
+            this.players.clear();
+            System.arraycopy(newRadii, 0, this.radii, 0, TYPES);
+            this.maxRadius = NOT_TRACKED;
+            for (int type = 1; type < TYPES; type++) {
+                this.maxRadius = Math.max(this.maxRadius, this.radii[type]);
+            }
+        }
+
+        for (EntityPlayer player : players) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+            if (!player.addedToChunk) {
+                continue;
+            }
+            Presence presence = this.players.get(player.getEntityId());
+            if (presence == null) {
+                presence = new Presence(player.chunkCoordX, player.chunkCoordZ);
+                this.players.put(player.getEntityId(), presence);
+                move(presence.chunkX, presence.chunkZ, 1);
+            } else if (presence.chunkX != player.chunkCoordX || presence.chunkZ != player.chunkCoordZ) {
+                move(presence.chunkX, presence.chunkZ, -1);
+                presence.chunkX = player.chunkCoordX;
+                presence.chunkZ = player.chunkCoordZ;
+                move(presence.chunkX, presence.chunkZ, 1);
+            }
+            presence.seenTick = currentTick;
+        }
+        for (Iterator<Int2ObjectMap.Entry<Presence>> it = this.players.int2ObjectEntrySet().iterator(); it.hasNext();) {
+            final Presence presence = it.next().getValue();
+            if (presence.seenTick != currentTick) {
+                move(presence.chunkX, presence.chunkZ, -1);
+                it.remove();
+            }
+        }
+        // Only chunks ending up in another state are changed, not those a player left and entered again
+        for (Long2IntMap.Entry entry : this.previousMasks.long2IntEntrySet()) {
+            if (getMask(entry.getLongKey()) != entry.getIntValue()) {
+                this.changed.add(entry.getLongKey());
+            }
+        }
+        this.previousMasks.clear();
+    }
+
+    /**
+     * Gets the activation types of the given chunk.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @return The bit mask of the activation types within range
+     */
+    int getMask(int chunkX, int chunkZ) {
+        return getMask(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets whether the activation types of the given chunk changed since
+     * the changes were last cleared.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @return Whether the chunk changed
+     */
+    boolean isChanged(int chunkX, int chunkZ) {
+        return this.changed.contains(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    /**
+     * Forgets the chunks which changed state, once their entities were
+     * re-evaluated.
+     */
+    void clearChanged() {
+        this.changed.clear();
+    }
+
+    /**
+     * Clears the grid after the incremental mode was turned off, handing
+     * the entities it activated back to the per tick activation.
+     *
+     * @param world The world owning this grid
+     * @param currentTick The current server tick
+     */
+    void disable(WorldServer world, long currentTick) {
+        if (!this.enabled) {
+            return;
+        }
+        this.enabled = false;
+        this.counts.clear();
+        this.players.clear();
+        clearChanged();
+        Arrays.fill(this.radii, NOT_TRACKED);
+        this.maxRadius = NOT_TRACKED;
+        for (Entity entity : world.loadedEntityList) {
+            final IModData_Activation activation = (IModData_Activation) entity;
+            if (activation.getActivatedTick() == ACTIVE) {
+                activation.setActivatedTick(currentTick);
+            }
+        }
+    }
+
+    /**
+     * Evaluates an entity which was just added to a chunk, either when
+     * spawned, loaded or moved over from another chunk.
+     *
+     * @param entity The entity
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     */
+    public void onEntityAdded(Entity entity, int chunkX, int chunkZ) {
+        if (this.enabled) {
+            evaluate(entity, getMask(chunkX, chunkZ));
+        }
+    }
+
+    private void evaluate(Entity entity, int mask) {
+        final IModData_Activation activation = (IModData_Activation) entity;
+        // Same as the per tick activation, configs reloaded since the entity was last evaluated apply first
+        if (!activation.getDefaultActivationState() && activation.requiresActivationCacheRefresh()) {
+            EntityActivationRange.initializeEntityActivationState(entity);
+            activation.requiresActivationCacheRefresh(false);
+        }
+        final boolean active;
+        if (((org.spongepowered.api.entity.Entity) entity).getType() == EntityTypes.UNKNOWN) {
+            active = mask != 0;
+        } else {
+            active = (mask & (1 << activation.getActivationType())) != 0;
+        }
+        if (active) {
+            activation.setActivatedTick(ACTIVE);
+        } else if (activation.getActivatedTick() == ACTIVE) {
+            // Still active for the current tick, like an entity activated by the per tick checks
+            activation.setActivatedTick(this.currentTick);
+        }
+    }
+
+    private int getMask(long key) {
+        final int[] chunkCounts = this.counts.get(key);
+        return chunkCounts == null ? 0 : mask(chunkCounts);
+    }
+
+    // Adds or removes the presence of a player in the given chunk to the chunks within range
+    private void move(int chunkX, int chunkZ, int delta) {
+        final int radius = this.maxRadius;
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                final int distance = Math.max(Math.abs(x), Math.abs(z));
+                final long key = ChunkPos.asLong(chunkX + x, chunkZ + z);
+                int[] chunkCounts = this.counts.get(key);
+                if (chunkCounts == null) {
+                    if (delta < 0) {
+                        continue;
+                    }
+                    chunkCounts = new int[TYPES];
+                    this.counts.put(key, chunkCounts);
+                }
+                if (!this.previousMasks.containsKey(key)) {
+                    this.previousMasks.put(key, mask(chunkCounts));
+                }
+                for (int type = 1; type < TYPES; type++) {
+                    if (distance <= this.radii[type]) {
+                        chunkCounts[type] += delta;
+                    }
+                }
+                if (mask(chunkCounts) == 0) {
+                    this.counts.remove(key);
+                }
+            }
+        }
+    }
+
+    private static int mask(int[] chunkCounts) {
+        int mask = 0;
+        for (int type = 1; type < TYPES; type++) {
+            if (chunkCounts[type] > 0) {
+                mask |= 1 << type;
+            }
+        }
+        return mask;
+    }
+}
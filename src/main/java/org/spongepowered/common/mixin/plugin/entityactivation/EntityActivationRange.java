@@ -72,6 +72,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_WorldActivation;
 
 import java.util.Map;
 
@@ -222,6 +223,14 @@ public static void activateEntities(World world) {
             return;
         }
 
+        final EntityActivationGrid grid = ((IModData_WorldActivation) world).getEntityActivationGrid();
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        if (((IMixinWorldServer) world).getActiveConfig().getConfig().getEntityActivationRange().isIncremental()) {
+            grid.update((WorldServer) world, currentTick);
+            return;
+        }
+        grid.disable((WorldServer) world, currentTick);
+
         for (EntityPlayer player : world.playerEntities) {
 
             int maxRange = 0;
@@ -232,7 +241,7 @@ public static void activateEntities(World world) {
             }
 
             maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
+            ((IModData_Activation) player).setActivatedTick(currentTick);
             growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
 
             int i = MathHelper.floor(maxBB.minX / 16.0D);
@@ -26,13 +26,10 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -47,9 +44,7 @@
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
-import org.spongepowered.common.util.VecHelper;
-
-import java.util.Map;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_ChunkActivation;
 
 public class TileEntityActivation {
 
@@ -128,54 +123,14 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     */
     public static void activateTileEntities(WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
-        for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
-            for (EntityPlayer player : playerChunkMapEntry.players) {
-                final Chunk chunk = playerChunkMapEntry.chunk;
-                if (chunk == null || chunk.unloadQueued) {
-                    continue;
-                }
-
-                activateChunkTileEntities(player, chunk);
-            }
-        }
-    }
-
-
-    /**
-     * Checks for the activation state of all tileentities in this chunk.
-     *
-     * @param chunk Chunk to check for activation
-     */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
         final long currentTick = SpongeImpl.getServer().getTickCounter();
-        for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
-            final TileEntity tileEntity = mapEntry.getValue();
-            if (!(tileEntity instanceof ITickable) || ((IModData_Activation) tileEntity).getActivatedTick() == currentTick) {
-                // already activated
+        for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
+            final Chunk chunk = playerChunkMapEntry.chunk;
+            if (chunk == null || chunk.unloadQueued || playerChunkMapEntry.players.isEmpty()) {
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((IModData_Activation) tileEntity).getActivatedTick()) {
-                if (((IModData_Activation) tileEntity).getDefaultActivationState()) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
-                    continue;
-                }
-
-                IModData_Activation spongeEntity = (IModData_Activation) tileEntity;
-                // check if activation cache needs to be updated
-                if (spongeEntity.requiresActivationCacheRefresh()) {
-                    TileEntityActivation.initializeTileEntityActivationState(tileEntity);
-                    spongeEntity.requiresActivationCacheRefresh(false);
-                }
-
-                int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
-                int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
-                }
-            }
+            ((IModData_ChunkActivation) chunk).getTileEntityActivationBuckets().activate(chunk, playerChunkMapEntry.players, currentTick);
         }
     }
 
@@ -209,9 +164,23 @@ public static boolean checkIfActive(TileEntity tileEntity) {
             }
         }
 
-        // check tick rate
-        if (isActive && world.getWorldInfo().getWorldTotalTime() % spongeTileEntity.getSpongeTickRate() != 0L) {
-            isActive = false;
+        // check tick rate, each tileentity is rescheduled from its own last tick
+        // so that those sharing a tick rate don't all tick on the same world tick
+        final int tickRate = spongeTileEntity.getSpongeTickRate();
+        if (isActive && tickRate > 1) {
+            final long totalTime = world.getWorldInfo().getWorldTotalTime();
+            long scheduledTick = spongeTileEntity.getScheduledTick();
+            if (scheduledTick == 0) {
+                // Not scheduled yet, spread the first tick over the tick rate by position
+                // as tileentities loaded or placed together would otherwise stay in lockstep
+                scheduledTick = totalTime + Math.floorMod(tileEntity.getPos().hashCode(), tickRate);
+                spongeTileEntity.setScheduledTick(scheduledTick);
+            }
+            if (totalTime < scheduledTick) {
+                isActive = false;
+            } else {
+                spongeTileEntity.setScheduledTick(totalTime + tickRate);
+            }
         }
 
         return isActive;
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The tickable tile entities of a chunk grouped by their activation range,
+ * in ascending order of range. Tile entities which are always active are
+ * kept in a last group with an unbounded range.
+ *
+ * <p>The groups are rebuilt lazily after the chunk's tile entities or the
+ * activation config changed, see {@link #invalidate()}. Only ever touched
+ * from the server thread.</p>
+ */
+public final class TileEntityActivationBuckets {
+
+    private static final int ALWAYS_ACTIVE = Integer.MAX_VALUE;
+    private static final int INITIAL_BUCKET_SIZE = 8;
+
+    // Player positions of the chunk being activated, shared as there is only one server thread
+    private static int[] playerX = new int[8];
+    private static int[] playerY = new int[8];
+    private static int[] playerZ = new int[8];
+
+    private boolean dirty = true;
+    private int count;
+    private int[] ranges = new int[2];
+    // Inclusive squared distance matching Math.round(distance) <= range
+    private long[] thresholds = new long[2];
+    private TileEntity[][] tiles = new TileEntity[2][];
+    private int[] sizes = new int[2];
+    // Bounds of all grouped tile entities
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * Activates the tile entities of the chunk which are within range of
+     * any of the given players.
+     *
+     * <p>The squared distances from the players to the bounds of the tile
+     * entities are computed once, so that whole groups can be skipped when
+     * out of reach of the nearest player or activated when entirely covered
+     * by a single player. Only the groups in between are checked per tile
+     * entity.</p>
+     *
+     * @param chunk The chunk owning these buckets
+     * @param players The players watching the chunk
+     * @param currentTick The current server tick
+     */
+    void activate(Chunk chunk, List<EntityPlayerMP> players, long currentTick) {
+        if (this.dirty) {
+            rebuild(chunk);
+            this.dirty = false;
+        }
+        if (this.count == 0) {
+            return;
+        }
+
+        final int playerCount = players.size();
+        if (playerX.length < playerCount) {
+            playerX = new int[playerCount];
+            playerY = new int[playerCount];
+            playerZ = new int[playerCount];
+        }
+        long nearest = Long.MAX_VALUE;
+        long covering = Long.MAX_VALUE;
+        for (int i = 0; i < playerCount; i++) {
+            final EntityPlayerMP player = players.get(i);
+            // Same block position as Entity#getPosition, without creating it
+            final int x = MathHelper.floor(player.posX);
+            final int y = MathHelper.floor(player.posY + 0.5D);
+            final int z = MathHelper.floor(player.posZ);
+            playerX[i] = x;
+            playerY[i] = y;
+            playerZ[i] = z;
+            nearest = Math.min(nearest, square(outside(x, this.minX, this.maxX)) + square(outside(y, this.minY, this.maxY))
+                    + square(outside(z, this.minZ, this.maxZ)));
+            covering = Math.min(covering, square(farthest(x, this.minX, this.maxX)) + square(farthest(y, this.minY, this.maxY))
+                    + square(farthest(z, this.minZ, this.maxZ)));
+        }
+
+        for (int bucket = 0; bucket < this.count; bucket++) {
+            final long threshold = this.thresholds[bucket];
+            if (nearest > threshold) {
+                // Ranges are ascending, so the following buckets may still be reached
+                continue;
+            }
+            final TileEntity[] bucketTiles = this.tiles[bucket];
+            final int size = this.sizes[bucket];
+            final boolean covered = covering <= threshold;
+            for (int i = 0; i < size; i++) {
+                final TileEntity tileEntity = bucketTiles[i];
+                final IModData_Activation activation = (IModData_Activation) tileEntity;
+                if (activation.getActivatedTick() >= currentTick || tileEntity.isInvalid()) {
+                    continue;
+                }
+                if (covered || isWithin(tileEntity.getPos(), threshold, playerCount)) {
+                    activation.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    private static boolean isWithin(BlockPos pos, long threshold, int playerCount) {
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int z = pos.getZ();
+        for (int i = 0; i < playerCount; i++) {
+            if (square(x - playerX[i]) + square(y - playerY[i]) + square(z - playerZ[i]) <= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild(Chunk chunk) {
+        for (int bucket = 0; bucket < this.count; bucket++) {
+            Arrays.fill(this.tiles[bucket], 0, this.sizes[bucket], null);
+            this.sizes[bucket] = 0;
+        }
+        this.count = 0;
+        this.minX = this.minY = this.minZ = Integer.MAX_VALUE;
+        this.maxX = this.maxY = this.maxZ = Integer.MIN_VALUE;
+        for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+            if (!(tileEntity instanceof ITickable) || tileEntity.isInvalid()) {
+                continue;
+            }
+            final IModData_Activation activation = (IModData_Activation) tileEntity;
+            if (!activation.getDefaultActivationState() && activation.requiresActivationCacheRefresh()) {
+                activation.setDefaultActivationState(TileEntityActivation.initializeTileEntityActivationState(tileEntity));
+                activation.requiresActivationCacheRefresh(false);
+            }
+            add(activation.getDefaultActivationState() ? ALWAYS_ACTIVE : activation.getActivationRange(), tileEntity);
+            final BlockPos pos = tileEntity.getPos();
+            this.minX = Math.min(this.minX, pos.getX());
+            this.minY = Math.min(this.minY, pos.getY());
+            this.minZ = Math.min(this.minZ, pos.getZ());
+            this.maxX = Math.max(this.maxX, pos.getX());
+            this.maxY = Math.max(this.maxY, pos.getY());
+            this.maxZ = Math.max(this.maxZ, pos.getZ());
+        }
+    }
+
+    private void add(int range, TileEntity tileEntity) {
+        int bucket = 0;
+        while (bucket < this.count && this.ranges[bucket] < range) {
+            bucket++;
+        }
+        if (bucket == this.count || this.ranges[bucket] != range) {
+            insertBucket(bucket, range);
+        }
+        TileEntity[] bucketTiles = this.tiles[bucket];
+        final int size = this.sizes[bucket];
+        if (size == bucketTiles.length) {
+            bucketTiles = this.tiles[bucket] = Arrays.copyOf(bucketTiles, size * 2);
+        }
+        bucketTiles[size] = tileEntity;
+        this.sizes[bucket] = size + 1;
+    }
+
+    private void insertBucket(int bucket, int range) {
+        if (this.count == this.ranges.length) {
+            final int capacity = this.count * 2;
+            this.ranges = Arrays.copyOf(this.ranges, capacity);
+            this.thresholds = Arrays.copyOf(this.thresholds, capacity);
+            this.tiles = Arrays.copyOf(this.tiles, capacity);
+            this.sizes = Arrays.copyOf(this.sizes, capacity);
+        }
+        // Keep the emptied array of the slot being shifted over, it is reused for the new bucket
+        final TileEntity[] reused = this.tiles[this.count];
+        final int moved = this.count - bucket;
+        System.arraycopy(this.ranges, bucket, this.ranges, bucket + 1, moved);
+        System.arraycopy(this.thresholds, bucket, this.thresholds, bucket + 1, moved);
+        System.arraycopy(this.tiles, bucket, this.tiles, bucket + 1, moved);
+        System.arraycopy(this.sizes, bucket, this.sizes, bucket + 1, moved);
+        this.ranges[bucket] = range;
+        this.thresholds[bucket] = threshold(range);
+        this.tiles[bucket] = reused == null ? new TileEntity[INITIAL_BUCKET_SIZE] : reused;
+        this.sizes[bucket] = 0;
+        this.count++;
+    }
+
+    // Block positions are whole numbers, so Math.round(sqrt(d)) <= r holds exactly when d <= r * r + r
+    private static long threshold(int range) {
+        if (range == ALWAYS_ACTIVE) {
+            return Long.MAX_VALUE;
+        }
+        return range < 0 ? -1 : (long) range * range + range;
+    }
+
+    // Distance from the value to the closest point of the interval
+    private static int outside(int value, int min, int max) {
+        return value < min ? min - value : value > max ? value - max : 0;
+    }
+
+    // Distance from the value to the farthest point of the interval
+    private static int farthest(int value, int min, int max) {
+        return Math.max(Math.abs(value - min), Math.abs(value - max));
+    }
+
+    private static long square(int value) {
+        return (long) value * value;
+    }
+}
@@ -39,14 +39,24 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationBuckets;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_ChunkActivation;
 
 @Mixin(Chunk.class)
-public class MixinChunk_TileEntityActivation {
+public class MixinChunk_TileEntityActivation implements IModData_ChunkActivation {
 
     @Shadow @Final private World world;
 
+    private final TileEntityActivationBuckets activationBuckets = new TileEntityActivationBuckets();
+
+    @Override
+    public TileEntityActivationBuckets getTileEntityActivationBuckets() {
+        return this.activationBuckets;
+    }
+
     @Inject(method = "addTileEntity(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V", at = @At("RETURN"))
     public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity tileEntityIn, CallbackInfo ci) {
+        this.activationBuckets.invalidate();
         if (tileEntityIn.getWorld() == null) {
             tileEntityIn.setWorld(this.world);
         }
@@ -62,4 +72,9 @@ public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity ti
             }
         }
     }
+
+    @Inject(method = "removeTileEntity", at = @At("RETURN"))
+    public void onRemoveTileEntity(BlockPos pos, CallbackInfo ci) {
+        this.activationBuckets.invalidate();
+    }
 }
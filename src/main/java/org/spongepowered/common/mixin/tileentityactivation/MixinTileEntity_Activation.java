@@ -37,6 +37,7 @@ public class MixinTileEntity_Activation implements IModData_Activation {
     private int activationRange;
     private int ticksExisted;
     private int tickRate = 1;
+    private long scheduledTick;
 
     @Override
     public final void incrementSpongeTicksExisted() {
@@ -87,6 +88,16 @@ public void setSpongeTickRate(int tickRate) {
         this.tickRate = tickRate;
     }
 
+    @Override
+    public long getScheduledTick() {
+        return this.scheduledTick;
+    }
+
+    @Override
+    public void setScheduledTick(long tick) {
+        this.scheduledTick = tick;
+    }
+
     @Override
     public int getActivationRange() {
         return this.activationRange;
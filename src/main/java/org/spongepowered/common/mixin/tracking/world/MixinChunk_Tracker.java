@@ -24,8 +24,6 @@
  */
 package org.spongepowered.common.mixin.tracking.world;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectArrayMap;
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -48,6 +46,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -56,7 +55,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -66,13 +64,10 @@
 public abstract class MixinChunk_Tracker implements Chunk, IMixinChunk {
 
     private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
     private static final int NUM_INT_Y_BITS = 24;
     private static final int Y_SHIFT = NUM_XZ_BITS;
-    private static final int Z_SHORT_SHIFT = Y_SHIFT + NUM_SHORT_Y_BITS;
     private static final int Z_INT_SHIFT = Y_SHIFT + NUM_INT_Y_BITS;
     private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
     private static final int Y_INT_MASK = 0xFFFFFF;
     private SpongeProfileManager spongeProfileManager;
     private UserStorageService userStorageService;
@@ -85,8 +80,7 @@ public abstract class MixinChunk_Tracker implements Chunk, IMixinChunk {
     @Shadow @Final private int[] heightMap;
     @Shadow private boolean dirty;
 
-    public Map<Integer, PlayerTracker> trackedIntBlockPositions = new Int2ObjectArrayMap<>();
-    public Map<Short, PlayerTracker> trackedShortBlockPositions = new Short2ObjectArrayMap<>();
+    public PlayerTrackerMap trackedBlockPositions = new PlayerTrackerMap();
 
     @Final // need this constructor to never be overwritten by anything.
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"), remap = false)
@@ -119,58 +113,30 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
 
         final IMixinWorldInfo worldInfo = (IMixinWorldInfo) this.world.getWorldInfo();
         final int indexForUniqueId = worldInfo.getIndexForUniqueId(user.getUniqueId());
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
+        final int blockPos = blockPosToInt(pos);
+        if (trackerType == PlayerTracker.Type.OWNER) {
+            // An owner also becomes the notifier of an already tracked position
+            if (this.trackedBlockPositions.containsKey(blockPos)) {
+                this.trackedBlockPositions.put(blockPos, indexForUniqueId, indexForUniqueId);
             } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackedBlockPositions.setOwner(blockPos, indexForUniqueId);
             }
         } else {
-            int blockPos = blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
-            }
+            this.trackedBlockPositions.setNotifier(blockPos, indexForUniqueId);
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return this.trackedIntBlockPositions;
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return this.trackedShortBlockPositions;
+    public PlayerTrackerMap getTrackedPlayerPositions() {
+        return this.trackedBlockPositions;
     }
 
     @Override
     public Optional<User> getBlockOwner(BlockPos pos) {
-        final int intKey = blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(shortKey) != null) {
-                PlayerTracker tracker = this.trackedShortBlockPositions.get(shortKey);
-                final int notifierIndex = tracker.ownerIndex;
-                return getValidatedUser(shortKey, notifierIndex);
-            }
+        final int key = blockPosToInt(pos);
+        final int ownerIndex = this.trackedBlockPositions.getOwner(key);
+        if (ownerIndex != PlayerTrackerMap.NO_INDEX) {
+            return getValidatedUser(key, ownerIndex);
         }
 
         return Optional.empty();
@@ -179,17 +145,9 @@ public Optional<User> getBlockOwner(BlockPos pos) {
     @Override
     public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
         final int key = blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
+        final int ownerIndex = this.trackedBlockPositions.getOwner(key);
+        if (ownerIndex != PlayerTrackerMap.NO_INDEX) {
             return getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return getValidatedUUID(shortKey, ownerIndex);
-            }
         }
 
         return Optional.empty();
@@ -197,18 +155,10 @@ public Optional<UUID> getBlockOwnerUUID(BlockPos pos) {
 
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
-        final int intKey = blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.notifierIndex;
-            return getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(shortKey) != null) {
-                PlayerTracker tracker = this.trackedShortBlockPositions.get(shortKey);
-                final int notifierIndex = tracker.notifierIndex;
-                return getValidatedUser(shortKey, notifierIndex);
-            }
+        final int key = blockPosToInt(pos);
+        final int notifierIndex = this.trackedBlockPositions.getNotifier(key);
+        if (notifierIndex != PlayerTrackerMap.NO_INDEX) {
+            return getValidatedUser(key, notifierIndex);
         }
 
         return Optional.empty();
@@ -217,22 +167,24 @@ public Optional<User> getBlockNotifier(BlockPos pos) {
     @Override
     public Optional<UUID> getBlockNotifierUUID(BlockPos pos) {
         final int key = blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.notifierIndex;
-            return getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.notifierIndex;
-                return getValidatedUUID(shortKey, ownerIndex);
-            }
+        final int notifierIndex = this.trackedBlockPositions.getNotifier(key);
+        if (notifierIndex != PlayerTrackerMap.NO_INDEX) {
+            return getValidatedUUID(key, notifierIndex);
         }
 
         return Optional.empty();
     }
 
+    @Override
+    public int getBlockOwnerIndex(BlockPos pos) {
+        return this.trackedBlockPositions.getOwner(blockPosToInt(pos));
+    }
+
+    @Override
+    public int getBlockNotifierIndex(BlockPos pos) {
+        return this.trackedBlockPositions.getNotifier(blockPosToInt(pos));
+    }
+
     private Optional<User> getValidatedUser(int key, int ownerIndex) {
         Optional<UUID> uuid = getValidatedUUID(key, ownerIndex);
         if (uuid.isPresent()) {
@@ -254,7 +206,7 @@ private Optional<UUID> getValidatedUUID(int key, int ownerIndex) {
             UUID userUniqueId = uuid;
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfig().getConfig().getWorld().getInvalidLookupUuids().contains(userUniqueId)) {
-                this.trackedIntBlockPositions.remove(key);
+                this.trackedBlockPositions.remove(key);
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -284,61 +236,20 @@ private Optional<User> getUserFromId(UUID uuid) {
     // Special setter used by API
     @Override
     public void setBlockNotifier(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                                                                              ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                                                                            ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        }
+        this.trackedBlockPositions.setNotifier(blockPosToInt(pos), uuid == null ? PlayerTrackerMap.NO_INDEX :
+                ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid));
     }
 
     // Special setter used by API
     @Override
     public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.world.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        }
-    }
-
-    @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-        this.trackedIntBlockPositions = trackedPositions;
+        this.trackedBlockPositions.setOwner(blockPosToInt(pos), uuid == null ? PlayerTrackerMap.NO_INDEX :
+                ((IMixinWorldInfo) this.world.getWorldInfo()).getIndexForUniqueId(uuid));
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
-        this.trackedShortBlockPositions = trackedPositions;
+    public void setTrackedPlayerPositions(PlayerTrackerMap trackedPositions) {
+        this.trackedBlockPositions = trackedPositions;
     }
 
     /**
@@ -371,26 +282,6 @@ private void endLoad(CallbackInfo callbackInfo) {
         }
     }
 
-    /**
-     * Serialize this BlockPos into a short value
-     */
-    private short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Create a BlockPos from a serialized chunk position
-     */
-    private BlockPos blockPosFromShort(short serialized) {
-        int x = this.x * 16 + (serialized & XZ_MASK);
-        int y = (serialized >> Y_SHIFT) & Y_SHORT_MASK;
-        int z = this.z * 16 + ((serialized >> Z_SHORT_SHIFT) & XZ_MASK);
-        return new BlockPos(x, y, z);
-    }
-
     /**
      * Serialize this BlockPos into an int value
      */
@@ -0,0 +1,204 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.IMixinNetworkManager;
+import org.spongepowered.common.text.chat.ChatUtil;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Shares the packets sent to several players while a broadcast is open.
+ * The first connection a packet is sent to encodes it on its own, as usual.
+ * From the second one on the packet instance is serialized once and the
+ * same bytes are written to every connection it is sent to.
+ * Connections which can't take pre-encoded packets, such as local ones,
+ * go through the regular packet pipeline.
+ *
+ * <p>Broadcasts are only opened on the main thread, packets sent from
+ * other threads are never shared.</p>
+ */
+public final class PacketBroadcast implements AutoCloseable {
+
+    // Marks packets sent to a single connection so far, which are left to its own encoder
+    private static final ByteBuf SENT_ONCE = Unpooled.buffer(0, 0);
+    // Marks packets which couldn't be encoded up front
+    private static final ByteBuf NOT_ENCODED = Unpooled.buffer(0, 0);
+
+    @Nullable private static PacketBroadcast current;
+
+    @Nullable private final PacketBroadcast parent;
+    private final boolean open;
+    private final Map<Packet<?>, ByteBuf> encoded = new IdentityHashMap<>();
+    private final List<ChatPacket> chatPackets = new ArrayList<>(1);
+
+    private PacketBroadcast(@Nullable PacketBroadcast parent, boolean open) {
+        this.parent = parent;
+        this.open = open;
+    }
+
+    /**
+     * Opens a broadcast for the current thread, which must be closed once
+     * every packet was sent. Broadcasts may be nested.
+     *
+     * @return The broadcast
+     */
+    public static PacketBroadcast open() {
+        if (!isMainThread()) {
+            return new PacketBroadcast(null, false);
+        }
+        current = new PacketBroadcast(current, true);
+        return current;
+    }
+
+    /**
+     * Gets the broadcast packets sent from the current thread are shared
+     * through.
+     *
+     * @return The open broadcast, if any
+     */
+    @Nullable
+    public static PacketBroadcast current() {
+        final PacketBroadcast broadcast = current;
+        return broadcast != null && isMainThread() ? broadcast : null;
+    }
+
+    /**
+     * Gets the chat packet for the given message, which is the same
+     * instance for every player receiving the same message instance.
+     *
+     * @param type The chat type
+     * @param message The message
+     * @return The chat packet
+     */
+    public SPacketChat getChatPacket(ChatType type, Text message) {
+        for (ChatPacket chatPacket : this.chatPackets) {
+            // Texts are immutable, message channels which don't transform the message hand out the same instance
+            if (chatPacket.message == message && chatPacket.type == type) {
+                return chatPacket.packet;
+            }
+        }
+        final SPacketChat packet = ChatUtil.createChatPacket(type, message);
+        this.chatPackets.add(new ChatPacket(type, message, packet));
+        return packet;
+    }
+
+    /**
+     * Writes the shared encoding of the packet to the given connection.
+     *
+     * @param manager The connection
+     * @param packet The packet
+     * @return False if the packet must be sent through the regular pipeline
+     */
+    public boolean write(NetworkManager manager, Packet<?> packet) {
+        final IMixinNetworkManager connection = (IMixinNetworkManager) manager;
+        if (!connection.acceptsEncodedPackets()) {
+            return false;
+        }
+        ByteBuf buffer = this.encoded.get(packet);
+        if (buffer == null) {
+            // Single recipients are common, don't move their encoding onto the main thread
+            this.encoded.put(packet, SENT_ONCE);
+            return false;
+        }
+        if (buffer == SENT_ONCE) {
+            buffer = encode(packet);
+            this.encoded.put(packet, buffer);
+        }
+        if (buffer == NOT_ENCODED) {
+            return false;
+        }
+        connection.sendEncodedPacket(buffer);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (ByteBuf buffer : this.encoded.values()) {
+            if (buffer != SENT_ONCE && buffer != NOT_ENCODED) {
+                buffer.release();
+            }
+        }
+        this.encoded.clear();
+        this.chatPackets.clear();
+        if (this.open) {
+            current = this.parent;
+        }
+    }
+
+    private static ByteBuf encode(Packet<?> packet) {
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            final Integer id = EnumConnectionState.PLAY.getPacketId(EnumPacketDirection.CLIENTBOUND, packet);
+            if (id == null) {
+                buffer.release();
+                return NOT_ENCODED;
+            }
+            // Mirrors NettyPacketEncoder, framing and compression are still done per connection
+            final PacketBuffer packetBuffer = new PacketBuffer(buffer);
+            packetBuffer.writeVarInt(id);
+            packet.writePacketData(packetBuffer);
+            return buffer;
+        } catch (Exception e) {
+            buffer.release();
+            SpongeImpl.getLogger().debug("Could not encode {} for broadcasting, sending it to each player instead", packet.getClass().getName(), e);
+            return NOT_ENCODED;
+        }
+    }
+
+    private static boolean isMainThread() {
+        return Sponge.isServerAvailable() && Sponge.getServer().isMainThread();
+    }
+
+    private static final class ChatPacket {
+
+        final ChatType type;
+        final Text message;
+        final SPacketChat packet;
+
+        ChatPacket(ChatType type, Text message, SPacketChat packet) {
+            this.type = type;
+            this.message = message;
+            this.packet = packet;
+        }
+    }
+}
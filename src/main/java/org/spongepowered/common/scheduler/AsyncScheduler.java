@@ -24,27 +24,32 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.PriorityQueue;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
+
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // The due queue is only compacted once it holds this many cancelled tasks
+    // and they make up at least half of it.
+    private static final int COMPACTION_THRESHOLD = 64;
+
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Pending tasks ordered by the time they are next due, cancelled tasks
+    // are dropped once they reach the head of the queue.
+    private final PriorityQueue<ScheduledTask> dueQueue = new PriorityQueue<>(ScheduledTask.DUE_ORDER);
+    // The number of cancelled tasks still in the due queue
+    private int cancelledTasks;
+    // The executor of asynchronous tasks, created from the config once the
+    // first task runs.
+    @Nullable private volatile AsyncTaskExecutor taskExecutor;
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,61 +60,39 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
-        return this.executor;
+    AsyncTaskExecutor getTaskExecutor() {
+        AsyncTaskExecutor executor = this.taskExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.taskExecutor;
+                if (executor == null) {
+                    executor = this.taskExecutor = new AsyncTaskExecutor(SpongeImpl.getGlobalConfig().getConfig().getScheduler());
+                }
+            }
+        }
+        return executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Sleep until the earliest task is due, new tasks signal the
+            // condition in case they are due before the current head.
+            ScheduledTask head;
+            while ((head = this.dueQueue.peek()) == null || head.dueTimestamp - System.nanoTime() > 0) {
+                if (head == null) {
+                    this.condition.await();
+                } else {
+                    this.condition.awaitNanos(head.dueTimestamp - System.nanoTime());
+                }
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -119,8 +102,18 @@ protected void preTick() {
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void processTasks() {
+        final long now = System.nanoTime();
+        ScheduledTask task;
+        while ((task = this.dueQueue.peek()) != null && task.dueTimestamp - now <= 0) {
+            this.dueQueue.poll();
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED && this.cancelledTasks > 0) {
+                this.cancelledTasks--;
+            }
+            if (this.processTask(task)) {
+                this.enqueue(task);
+            }
+        }
     }
 
     @Override
@@ -130,7 +123,7 @@ protected void finallyPostTick() {
 
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+        this.getTaskExecutor().execute(task.getOwner(), runnable);
     }
 
     @Override
@@ -138,10 +131,35 @@ protected void addTask(ScheduledTask task) {
         this.lock.lock();
         try {
             super.addTask(task);
+            this.enqueue(task);
             this.condition.signalAll();
         } finally {
             this.lock.unlock();
         }
     }
 
+    @Override
+    protected void onTaskCancelled(ScheduledTask task) {
+        this.lock.lock();
+        try {
+            // Removing the task from the queue is linear, leave it to be
+            // dropped once due unless cancelled tasks pile up.
+            if (this.getTask(task.getUniqueId()).isPresent()) {
+                this.cancelledTasks++;
+            }
+            super.onTaskCancelled(task);
+            if (this.cancelledTasks > COMPACTION_THRESHOLD && this.cancelledTasks * 2 > this.dueQueue.size()) {
+                this.dueQueue.removeIf(queued -> queued.getState() == ScheduledTask.ScheduledTaskState.CANCELED);
+                this.cancelledTasks = 0;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void enqueue(ScheduledTask task) {
+        task.dueTimestamp = task.nextExecutionTimestamp();
+        this.dueQueue.add(task);
+    }
+
 }
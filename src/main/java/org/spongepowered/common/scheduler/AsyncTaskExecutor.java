@@ -0,0 +1,231 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs async plugin tasks on the executor selected in the global config,
+ * optionally limiting how many tasks of a single plugin may run at once.
+ * Queue depth and run time are tracked per plugin.
+ */
+public final class AsyncTaskExecutor {
+
+    private final ExecutorService executor;
+    private final SchedulerCategory config;
+    private final ConcurrentMap<String, PluginTaskQueue> pluginQueues = new ConcurrentHashMap<>();
+
+    AsyncTaskExecutor(SchedulerCategory config) {
+        this.config = config;
+        this.executor = createExecutor(config);
+    }
+
+    /**
+     * Gets the task queues of every plugin that submitted an async task.
+     *
+     * @return The plugin task queues
+     */
+    public List<PluginTaskQueue> getPluginQueues() {
+        return ImmutableList.copyOf(this.pluginQueues.values());
+    }
+
+    void execute(PluginContainer plugin, Runnable runnable) {
+        this.pluginQueues.computeIfAbsent(plugin.getId(), id -> new PluginTaskQueue(id, this.config.getAsyncPluginConcurrency(id)))
+                .submit(runnable);
+    }
+
+    private static ExecutorService createExecutor(SchedulerCategory config) {
+        final ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().setNameFormat("Sponge - Async Task Thread #%d").setDaemon(true);
+        switch (config.getAsyncExecutor()) {
+            case "cached":
+                break;
+            case "bounded":
+                final ThreadPoolExecutor bounded = new ThreadPoolExecutor(config.getAsyncMaxThreads(), config.getAsyncMaxThreads(), 60L,
+                        TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory.build());
+                bounded.allowCoreThreadTimeOut(true);
+                return bounded;
+            case "work-stealing":
+                return Executors.newWorkStealingPool(config.getAsyncMaxThreads());
+            case "virtual":
+                try {
+                    // Only present on runtimes with virtual threads
+                    final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                    return (ExecutorService) factory.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    SpongeImpl.getLogger().warn("Virtual threads are not supported by this runtime, falling back to the cached async executor.");
+                }
+                break;
+            default:
+                SpongeImpl.getLogger().warn("Unknown async executor '{}' in the scheduler config, falling back to the cached async executor.",
+                        config.getAsyncExecutor());
+        }
+        return Executors.newCachedThreadPool(threadFactory.build());
+    }
+
+    /**
+     * The async tasks of a single plugin waiting for, or running on, the
+     * executor.
+     */
+    public final class PluginTaskQueue {
+
+        private final String pluginId;
+        private final int concurrencyLimit;
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        // Tasks handed to the executor and not finished yet, bounded by the concurrency limit
+        private final AtomicInteger dispatched = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        PluginTaskQueue(String pluginId, int concurrencyLimit) {
+            this.pluginId = pluginId;
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public int getConcurrencyLimit() {
+            return this.concurrencyLimit;
+        }
+
+        /**
+         * Gets the number of tasks which have not started yet, whether held
+         * back by the plugin's concurrency limit or waiting for a thread of
+         * the executor.
+         *
+         * @return The queue depth
+         */
+        public int getQueueDepth() {
+            return this.queued.get();
+        }
+
+        public int getRunning() {
+            return this.running.get();
+        }
+
+        public long getCompleted() {
+            return this.completed.sum();
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos.get();
+        }
+
+        void submit(Runnable runnable) {
+            this.queued.incrementAndGet();
+            if (this.concurrencyLimit <= 0) {
+                this.dispatched.incrementAndGet();
+                this.dispatch(runnable);
+                return;
+            }
+            this.pending.add(runnable);
+            this.drain();
+        }
+
+        private void drain() {
+            while (true) {
+                final int current = this.dispatched.get();
+                if (current >= this.concurrencyLimit) {
+                    return;
+                }
+                if (!this.dispatched.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final Runnable next = this.pending.poll();
+                if (next == null) {
+                    this.dispatched.decrementAndGet();
+                    // A task may have been queued after the poll, but before the slot was released
+                    if (this.pending.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                this.dispatch(next);
+            }
+        }
+
+        // The task must already hold a dispatch slot
+        private void dispatch(Runnable runnable) {
+            try {
+                AsyncTaskExecutor.this.executor.execute(() -> this.run(runnable));
+            } catch (RejectedExecutionException e) {
+                // The task will never run, don't leave its slot taken
+                this.queued.decrementAndGet();
+                this.dispatched.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private void run(Runnable runnable) {
+            this.queued.decrementAndGet();
+            this.running.incrementAndGet();
+            final long start = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                final long elapsed = System.nanoTime() - start;
+                this.completed.increment();
+                this.totalNanos.add(elapsed);
+                long max = this.maxNanos.get();
+                while (elapsed > max && !this.maxNanos.compareAndSet(max, elapsed)) {
+                    max = this.maxNanos.get();
+                }
+                this.running.decrementAndGet();
+                this.dispatched.decrementAndGet();
+                if (this.concurrencyLimit > 0) {
+                    this.drain();
+                }
+            }
+        }
+    }
+}
@@ -32,15 +32,23 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
 
+import java.util.Comparator;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
 public class ScheduledTask implements Task {
 
+    /**
+     * Orders tasks by the timestamp they are queued to be processed at.
+     */
+    static final Comparator<ScheduledTask> DUE_ORDER = (first, second) -> Long.compare(first.dueTimestamp, second.dueTimestamp);
+
     final long offset; //nanoseconds or ticks
     final long period; //nanoseconds or ticks
     final boolean delayIsTicks;
@@ -48,7 +56,12 @@ public class ScheduledTask implements Task {
     private final PluginContainer owner;
     private final Consumer<Task> consumer;
     private long timestamp;
-    private ScheduledTaskState state;
+    // The timestamp the scheduler has queued this task to be processed at
+    long dueTimestamp;
+    // Switched to RUNNING by the thread executing the task
+    private volatile ScheduledTaskState state;
+    // The scheduler the task was submitted to, told when the task is cancelled
+    @Nullable private volatile SchedulerBase scheduler;
     private final UUID id;
     private final String name;
     private final TaskSynchronicity syncType;
@@ -133,6 +146,10 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        final SchedulerBase scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.onTaskCancelled(this);
+        }
         return success;
     }
 
@@ -174,6 +191,10 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.offset;
     }
 
+    void setScheduler(SchedulerBase scheduler) {
+        this.scheduler = scheduler;
+    }
+
     void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
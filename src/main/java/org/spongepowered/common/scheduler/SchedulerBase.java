@@ -76,9 +76,20 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.setScheduler(this);
         this.taskMap.put(task.getUniqueId(), task);
     }
 
+    /**
+     * Called when a task of this scheduler has been cancelled, from whichever
+     * thread cancelled it. The task is no longer reported as scheduled.
+     *
+     * @param task The cancelled task
+     */
+    protected void onTaskCancelled(ScheduledTask task) {
+        this.removeTask(task);
+    }
+
     /**
      * Removes the task from the task map.
      *
@@ -105,7 +116,7 @@ protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.processTasks();
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -113,6 +124,14 @@ protected final void runTick() {
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
     }
 
+    /**
+     * Processes the tasks that may be due this tick. By default every task in
+     * the map is checked.
+     */
+    protected void processTasks() {
+        this.taskMap.values().forEach(this::processTask);
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -136,20 +155,21 @@ protected void finallyPostTick() {
      * Processes the task.
      *
      * @param task The task to process
+     * @return Whether the task is still scheduled afterwards
      */
-    protected void processTask(ScheduledTask task) {
+    protected boolean processTask(ScheduledTask task) {
         // If the task is now slated to be cancelled, we just remove it as if it
         // no longer exists.
         if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
             this.removeTask(task);
-            return;
+            return false;
         }
         long threshold = Long.MAX_VALUE;
         // Figure out if we start a delayed Task after threshold ticks or, start
         // it after the interval (period) of the repeating task parameter.
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
             threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
+        } else if (task.getState().isActive) {
             threshold = task.period;
         }
         // This moment is 'now'
@@ -160,14 +180,22 @@ protected void processTask(ScheduledTask task) {
         // If the task has a period of 0 (zero) this task will not repeat, and
         // is removed after we start it.
         if (threshold <= (now - task.getTimestamp())) {
+            if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+                // The previous execution hasn't started yet, e.g. it is held
+                // back by the concurrency limit of its plugin. Skip this one.
+                task.setTimestamp(now);
+                return true;
+            }
             task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
             task.setTimestamp(this.getTimestamp(task));
             startTask(task);
             // If task is one time shot, remove it from the map.
             if (task.period == 0L) {
                 this.removeTask(task);
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -185,8 +185,19 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the executor running async plugin tasks, along with its per
+     * plugin metrics.
+     *
+     * @return The async task executor
+     */
+    public AsyncTaskExecutor getAsyncTaskExecutor() {
+        return this.asyncScheduler.getTaskExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        // Subject to the concurrency limit of Sponge itself, like its scheduled tasks
+        return Functional.asyncFailableFuture(callable, runnable -> this.asyncScheduler.getTaskExecutor().execute(SpongeImpl.getPlugin(), runnable));
     }
 
     public Future<?> callSync(Runnable runnable) {
@@ -27,10 +27,33 @@
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 public class SyncScheduler extends SchedulerBase {
 
+    // The number of buckets in the tick wheel, tasks due further ahead than
+    // this stay in their bucket for another revolution.
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // Tasks may be submitted from any thread, they are moved into the wheel
+    // or the timed queue on the main thread at the start of the next tick.
+    private final Queue<ScheduledTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    // Tasks cancelled from any thread, taken out of the wheel or the timed
+    // queue on the main thread at the start of the next tick.
+    private final Queue<ScheduledTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+    // Tick based tasks, bucketed by the tick they are next due on.
+    @SuppressWarnings("unchecked")
+    private final List<ScheduledTask>[] tickWheel = new List[WHEEL_SIZE];
+    // Wall clock based tasks, ordered by the nano time they are next due at.
+    private final PriorityQueue<ScheduledTask> timedQueue = new PriorityQueue<>(ScheduledTask.DUE_ORDER);
+    private List<ScheduledTask> spareBucket = new ArrayList<>();
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -62,6 +85,94 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected void addTask(ScheduledTask task) {
+        super.addTask(task);
+        this.pendingTasks.add(task);
+    }
+
+    @Override
+    protected void onTaskCancelled(ScheduledTask task) {
+        super.onTaskCancelled(task);
+        this.cancelledTasks.add(task);
+    }
+
+    @Override
+    protected void processTasks() {
+        final long tick = this.counter;
+        ScheduledTask task;
+        while ((task = this.pendingTasks.poll()) != null) {
+            this.enqueue(task, tick);
+        }
+        while ((task = this.cancelledTasks.poll()) != null) {
+            this.dequeue(task);
+        }
+
+        final int index = (int) (tick & WHEEL_MASK);
+        final List<ScheduledTask> bucket = this.tickWheel[index];
+        if (bucket != null && !bucket.isEmpty()) {
+            // Swap in an empty bucket, repeating tasks may land in this slot again
+            this.tickWheel[index] = this.spareBucket;
+            for (ScheduledTask bucketTask : bucket) {
+                if (bucketTask.dueTimestamp > tick) {
+                    // Due on a later revolution of the wheel
+                    this.tickWheel[index].add(bucketTask);
+                } else if (this.processTask(bucketTask)) {
+                    this.enqueue(bucketTask, tick + 1);
+                }
+            }
+            bucket.clear();
+            this.spareBucket = bucket;
+        }
+
+        final long now = System.nanoTime();
+        while ((task = this.timedQueue.peek()) != null && task.dueTimestamp - now <= 0) {
+            this.timedQueue.poll();
+            if (this.processTask(task)) {
+                this.enqueue(task, tick + 1);
+            }
+        }
+    }
+
+    /**
+     * Queues the task to be processed once it is next due, but not before
+     * the given tick.
+     *
+     * @param task The task to queue
+     * @param minimumTick The earliest tick to process tick based tasks on
+     */
+    private void enqueue(ScheduledTask task, long minimumTick) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+            return;
+        }
+        task.dueTimestamp = task.nextExecutionTimestamp();
+        final boolean tickBased = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        if (tickBased) {
+            task.dueTimestamp = Math.max(task.dueTimestamp, minimumTick);
+            final int index = (int) (task.dueTimestamp & WHEEL_MASK);
+            List<ScheduledTask> bucket = this.tickWheel[index];
+            if (bucket == null) {
+                bucket = this.tickWheel[index] = new ArrayList<>();
+            }
+            bucket.add(task);
+        } else {
+            this.timedQueue.add(task);
+        }
+    }
+
+    /**
+     * Removes a cancelled task from wherever it is queued.
+     *
+     * @param task The task to remove
+     */
+    private void dequeue(ScheduledTask task) {
+        final List<ScheduledTask> bucket = this.tickWheel[(int) (task.dueTimestamp & WHEEL_MASK)];
+        if (bucket == null || !bucket.remove(task)) {
+            this.timedQueue.remove(task);
+        }
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = PluginPhase.State.SCHEDULED_TASK.createPhaseContext()
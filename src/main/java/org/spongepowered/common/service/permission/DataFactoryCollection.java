@@ -123,8 +123,8 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
+        protected Tristate resolvePermissionValue(String permission) {
+            Tristate ret = super.resolvePermissionValue(permission);
 
             if (ret == Tristate.UNDEFINED) {
                 ret = getDataPermissionValue(DataFactoryCollection.this.getDefaults().getTransientSubjectData(), permission);
@@ -136,6 +136,13 @@ public Tristate getPermissionValue(Set<Context> contexts, String permission) {
             return ret;
         }
 
+        @Override
+        protected long getPermissionVersion() {
+            final long version = latestVersion(super.getPermissionVersion(),
+                    getDataVersion(DataFactoryCollection.this.getDefaults().getTransientSubjectData()));
+            return latestVersion(version, getDataVersion(DataFactoryCollection.this.service.getDefaults().getTransientSubjectData()));
+        }
+
         @Override
         public Optional<String> getOption(Set<Context> contexts, String option) {
             Optional<String> ret = super.getOption(contexts, option);
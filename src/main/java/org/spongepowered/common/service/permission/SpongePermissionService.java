@@ -40,6 +40,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.service.permission.base.FixedParentMemorySubjectData;
 import org.spongepowered.common.service.permission.base.GlobalMemorySubjectData;
+import org.spongepowered.common.service.permission.base.SpongeMemorySubjectData;
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 import org.spongepowered.common.service.permission.base.SpongeSubjectCollection;
 
@@ -66,6 +67,7 @@
 public class SpongePermissionService implements PermissionService {
     private static final String SUBJECTS_DEFAULT = "default";
     private static final Function<String, CommandSource> NO_COMMAND_SOURCE = s -> null;
+    private static volatile long opsVersion;
 
     private final Game game;
     private final Map<String, PermissionDescription> descriptionMap = new LinkedHashMap<>();
@@ -101,6 +103,20 @@ static UserListOps getOps() {
         return SpongeImpl.getServer().getPlayerList().getOppedPlayers();
     }
 
+    /**
+     * Gets the version of the ops list, which changes whenever ops are added,
+     * removed or reloaded.
+     *
+     * @return The ops version
+     */
+    static long getOpsVersion() {
+        return opsVersion;
+    }
+
+    public static void onOpsChanged() {
+        opsVersion = SpongeMemorySubjectData.nextVersion();
+    }
+
     static int getServerOpLevel() {
         return SpongeImpl.getServer().getOpPermissionLevel();
     }
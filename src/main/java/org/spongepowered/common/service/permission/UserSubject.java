@@ -42,6 +42,8 @@
 import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 /**
  * An implementation of vanilla minecraft's 4 op groups.
  */
@@ -49,6 +51,7 @@ public class UserSubject extends SpongeSubject {
     private final GameProfile player;
     private final MemorySubjectData data;
     private final UserCollection collection;
+    @Nullable private volatile CachedOpLevel opLevel;
 
     public UserSubject(final GameProfile player, final UserCollection users) {
         this.player = player;
@@ -101,6 +104,17 @@ public Optional<CommandSource> getCommandSource() {
     int getOpLevel() {
         Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
 
+        // Looking up the ops list goes over every entry, only do it again once the list changed
+        final long opsVersion = SpongePermissionService.getOpsVersion();
+        CachedOpLevel opLevel = this.opLevel;
+        if (opLevel == null || opLevel.opsVersion != opsVersion) {
+            opLevel = new CachedOpLevel(opsVersion, lookupOpLevel());
+            this.opLevel = opLevel;
+        }
+        return opLevel.level;
+    }
+
+    private int lookupOpLevel() {
         // Query op level from server ops list based on player's game profile
         UserListOpsEntry entry = SpongePermissionService.getOps().getEntry(this.player);
         if (entry == null) {
@@ -127,8 +141,8 @@ public PermissionService getService() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected Tristate resolvePermissionValue(String permission) {
+        Tristate ret = super.resolvePermissionValue(permission);
         if (ret == Tristate.UNDEFINED) {
             ret = getDataPermissionValue(this.collection.getDefaults().getSubjectData(), permission);
         }
@@ -141,6 +155,14 @@ public Tristate getPermissionValue(Set<Context> contexts, String permission) {
         return ret;
     }
 
+    @Override
+    protected long getPermissionVersion() {
+        // Both the parent group and the fallback depend on the op level
+        long version = latestVersion(super.getPermissionVersion(), SpongePermissionService.getOpsVersion());
+        version = latestVersion(version, getDataVersion(this.collection.getDefaults().getSubjectData()));
+        return latestVersion(version, getDataVersion(this.collection.getService().getDefaults().getSubjectData()));
+    }
+
     @Override
     public Optional<String> getOption(Set<Context> contexts, String option) {
         Optional<String> ret = super.getOption(contexts, option);
@@ -152,4 +174,15 @@ public Optional<String> getOption(Set<Context> contexts, String option) {
         }
         return ret;
     }
+
+    private static final class CachedOpLevel {
+
+        final long opsVersion;
+        final int level;
+
+        CachedOpLevel(long opsVersion, int level) {
+            this.opsVersion = opsVersion;
+            this.level = level;
+        }
+    }
 }
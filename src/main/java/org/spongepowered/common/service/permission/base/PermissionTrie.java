@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable, character level trie of permission nodes. Resolves a
+ * permission the same way as a {@link org.spongepowered.api.service.permission.NodeTree},
+ * to the value of its most specific parent node, but walks the permission
+ * in place instead of lower casing and splitting it first.
+ */
+public final class PermissionTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    private PermissionTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles a trie from the given permissions.
+     *
+     * @param permissions The permission nodes and their values
+     * @param rootValue The value of permissions without any set parent node
+     * @return The compiled trie
+     */
+    public static PermissionTrie compile(Map<String, Boolean> permissions, Tristate rootValue) {
+        final Builder root = new Builder();
+        root.value = rootValue;
+        for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
+            final String permission = entry.getKey().toLowerCase(Locale.ROOT);
+            Builder node = root;
+            for (int i = 0; i < permission.length(); i++) {
+                node = node.children.computeIfAbsent(permission.charAt(i), c -> new Builder());
+            }
+            node.value = Tristate.fromBoolean(entry.getValue());
+        }
+        return new PermissionTrie(root.build());
+    }
+
+    /**
+     * Gets the value of the given permission.
+     *
+     * @param permission The permission
+     * @return The value of the most specific node set for the permission
+     */
+    public Tristate get(String permission) {
+        Node node = this.root;
+        Tristate result = node.value;
+        final int length = permission.length();
+        for (int i = 0; i < length; i++) {
+            node = node.getChild(Character.toLowerCase(permission.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            // Values only apply to whole segments, a.b must not match a.bc
+            if (node.value != Tristate.UNDEFINED && (i + 1 == length || permission.charAt(i + 1) == '.')) {
+                result = node.value;
+            }
+        }
+        return result;
+    }
+
+    private static final class Node {
+
+        // Sorted, for binary searches
+        final char[] keys;
+        final Node[] children;
+        final Tristate value;
+
+        Node(char[] keys, Node[] children, Tristate value) {
+            this.keys = keys;
+            this.children = children;
+            this.value = value;
+        }
+
+        Node getChild(char key) {
+            if (this.keys.length == 1) {
+                return this.keys[0] == key ? this.children[0] : null;
+            }
+            final int index = Arrays.binarySearch(this.keys, key);
+            return index < 0 ? null : this.children[index];
+        }
+    }
+
+    private static final class Builder {
+
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        Tristate value = Tristate.UNDEFINED;
+
+        Node build() {
+            if (this.children.isEmpty()) {
+                return new Node(NO_KEYS, NO_CHILDREN, this.value);
+            }
+            final char[] keys = new char[this.children.size()];
+            final Node[] nodes = new Node[keys.length];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(keys, nodes, this.value);
+        }
+    }
+}
@@ -33,11 +33,20 @@
 import org.spongepowered.api.util.Tristate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    protected static final long UNCACHEABLE = -1;
+
+    private final Map<String, CachedPermission> permissionCache = new ConcurrentHashMap<>();
+    @Nullable private volatile VersionStamp versionStamp;
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,11 +69,81 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        // Contexts aren't used to resolve permissions, so one cache serves every context set
+        final long version = getCurrentPermissionVersion();
+        if (version == UNCACHEABLE) {
+            return resolvePermissionValue(permission);
+        }
+        final CachedPermission cached = this.permissionCache.get(permission);
+        if (cached != null && cached.version == version) {
+            return cached.value;
+        }
+        final Tristate value = resolvePermissionValue(permission);
+        this.permissionCache.put(permission, new CachedPermission(version, value));
+        return value;
+    }
+
+    /**
+     * Resolves the value of a permission, bypassing the cache.
+     *
+     * @param permission The permission
+     * @return The permission value
+     */
+    protected Tristate resolvePermissionValue(String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
+    /**
+     * Gets the version of everything the permissions of this subject depend
+     * on, cached permissions are only used while it doesn't change.
+     *
+     * @return The version, or {@link #UNCACHEABLE}
+     */
+    protected long getPermissionVersion() {
+        return getDataVersion(getTransientSubjectData());
+    }
+
+    private long getCurrentPermissionVersion() {
+        // Nothing changed anywhere since the version was last computed
+        final long latest = SpongeMemorySubjectData.getLatestVersion();
+        VersionStamp stamp = this.versionStamp;
+        if (stamp == null || stamp.latest != latest) {
+            stamp = new VersionStamp(latest, getPermissionVersion());
+            this.versionStamp = stamp;
+        }
+        return stamp.version;
+    }
+
+    /**
+     * Gets the version of the subject data and of the permissions of its
+     * parents.
+     *
+     * @param data The subject data
+     * @return The version, or {@link #UNCACHEABLE}
+     */
+    protected static long getDataVersion(MemorySubjectData data) {
+        if (!(data instanceof SpongeMemorySubjectData)) {
+            return UNCACHEABLE;
+        }
+        long version = ((SpongeMemorySubjectData) data).getVersion();
+        for (SubjectReference parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            final Subject subject = parent.resolve().join();
+            if (!(subject instanceof SpongeBaseSubject)) {
+                return UNCACHEABLE;
+            }
+            version = latestVersion(version, ((SpongeBaseSubject) subject).getCurrentPermissionVersion());
+        }
+        return version;
+    }
+
+    protected static long latestVersion(long version, long other) {
+        return version == UNCACHEABLE || other == UNCACHEABLE ? UNCACHEABLE : Math.max(version, other);
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+        Tristate res = subject instanceof SpongeMemorySubjectData
+                ? ((SpongeMemorySubjectData) subject).getCompiledPermissions().get(permission)
+                : subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
         if (res == Tristate.UNDEFINED) {
             for (SubjectReference parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
@@ -112,4 +191,26 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class CachedPermission {
+
+        final long version;
+        final Tristate value;
+
+        CachedPermission(long version, Tristate value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private static final class VersionStamp {
+
+        final long latest;
+        final long version;
+
+        VersionStamp(long latest, long version) {
+            this.latest = latest;
+            this.version = version;
+        }
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.SubjectReference;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Memory subject data which versions changes of its permissions and
+ * parents, so resolved permissions can be cached.
+ */
+public class SpongeMemorySubjectData extends MemorySubjectData {
+
+    // Versions are issued from one counter, so the latest of several versions changes along with any of them
+    private static final AtomicLong versions = new AtomicLong();
+
+    private volatile long version;
+    private volatile long permissionsVersion;
+    @Nullable private volatile CompiledPermissions compiled;
+
+    /**
+     * Creates a new subject data instance, using the provided service to request instances of permission subjects.
+     *
+     * @param service The service to request subject references from
+     */
+    public SpongeMemorySubjectData(PermissionService service) {
+        super(service);
+    }
+
+    /**
+     * Gets the latest version issued to any subject data, which changes
+     * with every change made to the permissions or parents of any subject
+     * data.
+     *
+     * @return The latest version
+     */
+    public static long getLatestVersion() {
+        return versions.get();
+    }
+
+    /**
+     * Issues a new version, later than every version issued before.
+     *
+     * @return The new version
+     */
+    public static long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Gets the version of the permissions and parents of this subject data.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the global context permissions of this subject data, compiled
+     * for lookups.
+     *
+     * @return The compiled permissions
+     */
+    public PermissionTrie getCompiledPermissions() {
+        final long version = this.permissionsVersion;
+        CompiledPermissions compiled = this.compiled;
+        if (compiled == null || compiled.version != version) {
+            compiled = new CompiledPermissions(version, PermissionTrie.compile(getPermissions(GLOBAL_CONTEXT),
+                    getNodeTree(GLOBAL_CONTEXT).getRootValue()));
+            this.compiled = compiled;
+        }
+        return compiled.trie;
+    }
+
+    protected void onPermissionsChanged() {
+        final long version = nextVersion();
+        this.permissionsVersion = version;
+        this.version = version;
+    }
+
+    protected void onParentsChanged() {
+        this.version = nextVersion();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String permission, Tristate value) {
+        final CompletableFuture<Boolean> result = super.setPermission(contexts, permission, value);
+        onPermissionsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        final CompletableFuture<Boolean> result = super.clearPermissions();
+        onPermissionsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
+        final CompletableFuture<Boolean> result = super.clearPermissions(contexts);
+        onPermissionsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectReference parent) {
+        final CompletableFuture<Boolean> result = super.addParent(contexts, parent);
+        onParentsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectReference parent) {
+        final CompletableFuture<Boolean> result = super.removeParent(contexts, parent);
+        onParentsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        final CompletableFuture<Boolean> result = super.clearParents();
+        onParentsChanged();
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
+        final CompletableFuture<Boolean> result = super.clearParents(contexts);
+        onParentsChanged();
+        return result;
+    }
+
+    private static final class CompiledPermissions {
+
+        final long version;
+        final PermissionTrie trie;
+
+        CompiledPermissions(long version, PermissionTrie trie) {
+            this.version = version;
+            this.trie = trie;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.ChangeJournal;
+import org.spongepowered.common.util.SpongeUsernameCache;
+import org.spongepowered.common.world.WorldManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the players that have data stored in the overworld's player
+ * data directory, holding their unique id, last known name and when they
+ * were last seen.
+ *
+ * <p>The index lets offline user lookups skip the file system for players
+ * that never played, and lets profiles be listed without opening the
+ * directory. Loading an offline user that did play still reads its data
+ * file. The index is persisted as a {@link ChangeJournal} next to the player
+ * data and is built from the directory listing in the background if that
+ * journal does not exist yet. Until loading completes, {@link #isLoaded()}
+ * is false and callers fall back to the file system.</p>
+ *
+ * <p>Loading reconciles the journal with the directory, after which a miss
+ * is authoritative. Data files copied in while the server runs are only
+ * picked up the next time the index is loaded.</p>
+ */
+public final class PlayerDataIndex {
+
+    private static final String JOURNAL_NAME = "sponge_index.journal";
+    private static final String DAT_EXTENSION = ".dat";
+    private static final char SEPARATOR = '\t';
+
+    private static final Object indexLock = new Object();
+    @Nullable private static volatile PlayerDataIndex current;
+
+    private final Path directory;
+    private final ChangeJournal<Change> journal;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    // Names are indexed lower case for case insensitive lookups
+    private final Map<String, UUID> uuidByName = new ConcurrentHashMap<>();
+    private final CompletableFuture<PlayerDataIndex> loadFuture = new CompletableFuture<>();
+    // Guards the changes made while loading, which are replayed once the journal has been read
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Gets the index of the overworld's player data directory, starting to
+     * load it if that has not happened yet.
+     *
+     * @return The index, if the overworld is loaded
+     */
+    public static Optional<PlayerDataIndex> get() {
+        final Optional<WorldServer> overworld = WorldManager.getWorldByDimensionId(0);
+        if (!overworld.isPresent()) {
+            return Optional.empty();
+        }
+        final Path directory = ((SaveHandler) overworld.get().getSaveHandler()).playersDirectory.toPath();
+        PlayerDataIndex index = current;
+        if (index != null && index.directory.equals(directory)) {
+            return Optional.of(index);
+        }
+        synchronized (indexLock) {
+            index = current;
+            if (index == null || !index.directory.equals(directory)) {
+                if (index != null) {
+                    // The server switched saves, flush what the previous one still holds
+                    index.save();
+                }
+                index = new PlayerDataIndex(directory);
+                final PlayerDataIndex loading = index;
+                ChangeJournal.execute(loading::load);
+                current = index;
+            }
+            return Optional.of(index);
+        }
+    }
+
+    /**
+     * Records that the data of the given player has just been written.
+     *
+     * @param uniqueId The player's unique id
+     * @param name The player's name, or null to keep the known one
+     * @param lastSeen When the player was last seen in epoch milliseconds, or
+     *     zero to keep the known time
+     */
+    public static void update(UUID uniqueId, @Nullable String name, long lastSeen) {
+        get().ifPresent(index -> index.apply(new Change(checkNotNull(uniqueId, "uniqueId"), name, lastSeen, false)));
+    }
+
+    /**
+     * Records that the data of the given player has been deleted.
+     *
+     * @param uniqueId The player's unique id
+     */
+    public static void remove(UUID uniqueId) {
+        get().ifPresent(index -> index.apply(new Change(checkNotNull(uniqueId, "uniqueId"), null, 0, true)));
+    }
+
+    /**
+     * Appends the changes made since the last save to the journal of the
+     * current index.
+     */
+    public static void saveCurrent() {
+        final PlayerDataIndex index = current;
+        if (index != null) {
+            index.save();
+        }
+    }
+
+    private PlayerDataIndex(Path directory) {
+        this.directory = directory;
+        this.journal = new ChangeJournal<>(directory.resolve(JOURNAL_NAME), "player data index of " + directory, Change::toString);
+    }
+
+    /**
+     * Gets whether the index has finished loading. Until then it is empty
+     * and lookups have to go to the file system.
+     *
+     * @return Whether the index is loaded
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * Gets the entry of the given player, if the player has stored data.
+     * Must only be used once {@link #isLoaded() loaded}.
+     *
+     * @param uniqueId The player's unique id
+     * @return The entry, if present
+     */
+    public Optional<Entry> getEntry(UUID uniqueId) {
+        return Optional.ofNullable(this.entries.get(uniqueId));
+    }
+
+    /**
+     * Gets the entry of the player last seen with the given name. Must only
+     * be used once {@link #isLoaded() loaded}.
+     *
+     * @param name The player's name, case insensitive
+     * @return The entry, if present
+     */
+    public Optional<Entry> getEntry(String name) {
+        final UUID uniqueId = this.uuidByName.get(name.toLowerCase(Locale.ROOT));
+        return uniqueId == null ? Optional.empty() : getEntry(uniqueId);
+    }
+
+    /**
+     * Gets a snapshot of all entries. Must only be used once
+     * {@link #isLoaded() loaded}.
+     *
+     * @return The entries
+     */
+    public Collection<Entry> getEntries() {
+        return ImmutableList.copyOf(this.entries.values());
+    }
+
+    /**
+     * Looks up the entry of the given player, waiting for the index to load
+     * if necessary.
+     *
+     * @param uniqueId The player's unique id
+     * @return A future completed with the entry, if present
+     */
+    public CompletableFuture<Optional<Entry>> lookup(UUID uniqueId) {
+        return this.loadFuture.thenApply(index -> index.getEntry(uniqueId));
+    }
+
+    /**
+     * Looks up the entry of the player last seen with the given name,
+     * waiting for the index to load if necessary.
+     *
+     * @param name The player's name, case insensitive
+     * @return A future completed with the entry, if present
+     */
+    public CompletableFuture<Optional<Entry>> lookup(String name) {
+        return this.loadFuture.thenApply(index -> index.getEntry(name));
+    }
+
+    private void apply(Change change) {
+        synchronized (this.loadLock) {
+            this.journal.add(change);
+            // Changes made while loading are replayed once the journal has been read
+            if (this.loaded) {
+                replay(change);
+            }
+        }
+    }
+
+    private void replay(Change change) {
+        if (change.removal) {
+            final Entry removed = this.entries.remove(change.uniqueId);
+            if (removed != null && removed.name != null) {
+                this.uuidByName.remove(removed.name.toLowerCase(Locale.ROOT), removed.uniqueId);
+            }
+            return;
+        }
+        final Entry previous = this.entries.get(change.uniqueId);
+        final String name = change.name != null ? change.name : previous == null ? null : previous.name;
+        final long lastSeen = change.lastSeen > 0 ? change.lastSeen : previous == null ? 0 : previous.lastSeen;
+        this.entries.put(change.uniqueId, new Entry(change.uniqueId, name, lastSeen));
+        if (previous != null && previous.name != null && !previous.name.equalsIgnoreCase(name)) {
+            this.uuidByName.remove(previous.name.toLowerCase(Locale.ROOT), previous.uniqueId);
+        }
+        if (name != null) {
+            this.uuidByName.put(name.toLowerCase(Locale.ROOT), change.uniqueId);
+        }
+    }
+
+    private void load() {
+        try {
+            if (this.journal.exists()) {
+                this.journal.read(line -> replay(Change.parse(line)));
+                reconcileWithDirectory();
+            } else {
+                buildFromDirectory();
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to load the player data index of {}", this.directory, e);
+        } finally {
+            synchronized (this.loadLock) {
+                for (Change change : this.journal.getPendingChanges()) {
+                    replay(change);
+                }
+                this.loaded = true;
+            }
+            this.loadFuture.complete(this);
+        }
+    }
+
+    private void buildFromDirectory() throws IOException {
+        SpongeImpl.getLogger().info("Indexing the player data in {}, this only happens once", this.directory);
+        forEachDataFile((uniqueId, file) -> replay(new Change(uniqueId, SpongeUsernameCache.getLastKnownUsername(uniqueId), lastModified(file), false)));
+        this.journal.write(snapshot());
+    }
+
+    /**
+     * Brings a journal loaded from disk in line with the directory, which
+     * changes behind the index's back after a crash or when data files are
+     * copied in or restored. The differences are queued as changes so that
+     * the next save writes them to the journal.
+     */
+    private void reconcileWithDirectory() throws IOException {
+        final Set<UUID> missing = new HashSet<>(this.entries.keySet());
+        final List<Change> changes = new ArrayList<>();
+        forEachDataFile((uniqueId, file) -> {
+            if (!missing.remove(uniqueId)) {
+                changes.add(new Change(uniqueId, SpongeUsernameCache.getLastKnownUsername(uniqueId), lastModified(file), false));
+            }
+        });
+        for (UUID uniqueId : missing) {
+            changes.add(new Change(uniqueId, null, 0, true));
+        }
+        if (!changes.isEmpty()) {
+            SpongeImpl.getLogger().info("Reconciled {} entries of the player data index with {}", changes.size(), this.directory);
+            synchronized (this.loadLock) {
+                // Replayed along with the changes made while loading
+                changes.forEach(this.journal::add);
+            }
+        }
+    }
+
+    private void forEachDataFile(BiConsumer<UUID, Path> consumer) throws IOException {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + DAT_EXTENSION)) {
+            for (Path file : stream) {
+                final String fileName = file.getFileName().toString();
+                final UUID uniqueId;
+                try {
+                    uniqueId = UUID.fromString(fileName.substring(0, fileName.length() - DAT_EXTENSION.length()));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                consumer.accept(uniqueId, file);
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Removed meanwhile, the time is only informative
+            return 0;
+        }
+    }
+
+    private void save() {
+        if (this.loaded) {
+            this.journal.save(this.entries.size(), this::snapshot);
+        }
+    }
+
+    private List<Change> snapshot() {
+        final List<Change> snapshot = new ArrayList<>(this.entries.size());
+        for (Entry entry : this.entries.values()) {
+            snapshot.add(new Change(entry.uniqueId, entry.name, entry.lastSeen, false));
+        }
+        return snapshot;
+    }
+
+    /**
+     * A player with data stored on disk.
+     */
+    public static final class Entry {
+
+        final UUID uniqueId;
+        @Nullable final String name;
+        final long lastSeen;
+
+        Entry(UUID uniqueId, @Nullable String name, long lastSeen) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.lastSeen = lastSeen;
+        }
+
+        public UUID getUniqueId() {
+            return this.uniqueId;
+        }
+
+        public Optional<String> getName() {
+            return Optional.ofNullable(this.name);
+        }
+
+        public Optional<Instant> getLastSeen() {
+            return this.lastSeen > 0 ? Optional.of(Instant.ofEpochMilli(this.lastSeen)) : Optional.empty();
+        }
+
+        public GameProfile getProfile() {
+            return (GameProfile) new com.mojang.authlib.GameProfile(this.uniqueId, this.name);
+        }
+    }
+
+    private static final class Change {
+
+        final UUID uniqueId;
+        @Nullable final String name; // Null to keep the known name
+        final long lastSeen; // Zero to keep the known time
+        final boolean removal;
+
+        Change(UUID uniqueId, @Nullable String name, long lastSeen, boolean removal) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.lastSeen = lastSeen;
+            this.removal = removal;
+        }
+
+        // <uuid> for removals, <uuid> TAB <last seen> TAB <name> otherwise, the name may be empty
+        static Change parse(String line) {
+            final int first = line.indexOf(SEPARATOR);
+            if (first < 0) {
+                return new Change(UUID.fromString(line), null, 0, true);
+            }
+            final int second = line.indexOf(SEPARATOR, first + 1);
+            if (second < 0) {
+                throw new IllegalArgumentException("Truncated entry: " + line);
+            }
+            final String name = line.substring(second + 1);
+            return new Change(UUID.fromString(line.substring(0, first)), name.isEmpty() ? null : name,
+                    Long.parseLong(line.substring(first + 1, second)), false);
+        }
+
+        @Override
+        public String toString() {
+            if (this.removal) {
+                return this.uniqueId.toString();
+            }
+            return this.uniqueId.toString() + SEPARATOR + this.lastSeen + SEPARATOR + (this.name == null ? "" : this.name);
+        }
+    }
+}
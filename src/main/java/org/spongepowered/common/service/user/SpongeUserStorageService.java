@@ -38,6 +38,7 @@
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public class SpongeUserStorageService implements UserStorageService {
@@ -67,6 +68,39 @@ public Optional<User> get(GameProfile profile) {
         return Optional.ofNullable(UserDiscoverer.findByProfile(profile));
     }
 
+    /**
+     * Looks up the indexed player data of the given player without reading
+     * the data itself. Completes once the index has loaded.
+     *
+     * <p>This is specific to this implementation and not part of
+     * {@link UserStorageService}.</p>
+     *
+     * @param uniqueId The player's unique id
+     * @return A future completed with the index entry, if the player has data stored
+     */
+    public CompletableFuture<Optional<PlayerDataIndex.Entry>> getIndexed(UUID uniqueId) {
+        checkNotNull(uniqueId, "uniqueId");
+        checkState(Sponge.isServerAvailable(), "Server is not available!");
+        return PlayerDataIndex.get().map(index -> index.lookup(uniqueId)).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /**
+     * Looks up the indexed player data of the player last seen with the
+     * given name without reading the data itself. Completes once the index
+     * has loaded.
+     *
+     * <p>This is specific to this implementation and not part of
+     * {@link UserStorageService}.</p>
+     *
+     * @param lastKnownName The player's name, case insensitive
+     * @return A future completed with the index entry, if the player has data stored
+     */
+    public CompletableFuture<Optional<PlayerDataIndex.Entry>> getIndexed(String lastKnownName) {
+        checkNotNull(lastKnownName, "lastKnownName");
+        checkState(Sponge.isServerAvailable(), "Server is not available!");
+        return PlayerDataIndex.get().map(index -> index.lookup(lastKnownName)).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
     @Override
     public User getOrCreate(GameProfile profile) {
         if (profile.getUniqueId() == null) {
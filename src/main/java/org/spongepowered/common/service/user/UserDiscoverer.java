@@ -48,7 +48,9 @@
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
@@ -132,7 +134,37 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         // Add all cached profiles
         profiles.addAll(userCache.asMap().values().stream().map(User::getProfile).collect(Collectors.toList()));
 
-        // Add all known profiles from the data files
+        // Add all known profiles from the data files, preferably without listing them
+        final Optional<PlayerDataIndex> index = PlayerDataIndex.get();
+        if (index.isPresent() && index.get().isLoaded()) {
+            for (PlayerDataIndex.Entry entry : index.get().getEntries()) {
+                if (entry.getName().isPresent()) {
+                    profiles.add(entry.getProfile());
+                    continue;
+                }
+                final GameProfile profile = SpongeImpl.getServer().getPlayerProfileCache().getProfileByUUID(entry.getUniqueId());
+                if (profile != null) {
+                    profiles.add((org.spongepowered.api.profile.GameProfile) profile);
+                }
+            }
+        } else {
+            addProfilesFromDataFiles(profiles);
+        }
+
+        // Add all whitelisted users
+        final UserListWhitelist whiteList = SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers();
+        profiles.addAll(whiteList.getValues().values().stream().map(entry -> (org.spongepowered.api.profile.GameProfile) entry.value)
+                .collect(Collectors.toList()));
+
+        // Add all banned users
+        final UserListBans banList = SpongeImpl.getServer().getPlayerList().getBannedPlayers();
+        profiles.addAll(banList.getValues().values().stream().filter(entry -> entry != null).map(entry -> (org.spongepowered.api.profile.GameProfile)
+                entry.value).collect(Collectors.toList()));
+
+        return profiles;
+    }
+
+    private static void addProfilesFromDataFiles(Set<org.spongepowered.api.profile.GameProfile> profiles) {
         SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
         String[] uuids = saveHandler.getAvailablePlayerDat();
         for (String playerUuid : uuids) {
@@ -157,18 +189,6 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
                 profiles.add((org.spongepowered.api.profile.GameProfile) profile);
             }
         }
-
-        // Add all whitelisted users
-        final UserListWhitelist whiteList = SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers();
-        profiles.addAll(whiteList.getValues().values().stream().map(entry -> (org.spongepowered.api.profile.GameProfile) entry.value)
-                .collect(Collectors.toList()));
-
-        // Add all banned users
-        final UserListBans banList = SpongeImpl.getServer().getPlayerList().getBannedPlayers();
-        profiles.addAll(banList.getValues().values().stream().filter(entry -> entry != null).map(entry -> (org.spongepowered.api.profile.GameProfile)
-                entry.value).collect(Collectors.toList()));
-
-        return profiles;
     }
 
     static boolean delete(UUID uniqueId) {
@@ -208,8 +228,12 @@ private static User getFromStoredData(org.spongepowered.api.profile.GameProfile
             return null;
         }
 
-        try {
-            ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
+        try (InputStream stream = new FileInputStream(dataFile)) {
+            ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(stream));
+        } catch (FileNotFoundException e) {
+            // The index was out of date, the file has been removed behind our back
+            PlayerDataIndex.remove(profile.getUniqueId());
+            return null;
         } catch (IOException e) {
             SpongeImpl.getLogger().warn("Corrupt user file {}", dataFile, e);
         }
@@ -255,17 +279,23 @@ private static File getPlayerDataFile(UUID uniqueId) {
         // Note: Uses the overworld's player data
         SaveHandler saveHandler = (SaveHandler) worldServer.get().getSaveHandler();
         File file = new File(saveHandler.playersDirectory, uniqueId.toString() + ".dat");
-        if (file.exists()) {
-            return file;
+        // Once loaded, the index is reconciled with the directory and answers misses without touching the disk
+        final Optional<PlayerDataIndex> index = PlayerDataIndex.get();
+        if (index.isPresent() && index.get().isLoaded()) {
+            return index.get().getEntry(uniqueId).isPresent() ? file : null;
         }
-        return null;
+        return file.exists() ? file : null;
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
         File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (dataFile.delete()) {
+                    PlayerDataIndex.remove(uniqueId);
+                    return true;
+                }
+                return false;
             } catch (SecurityException e) {
                 SpongeImpl.getLogger().warn("Unable to delete file {} due to a security error", dataFile, e);
                 return false;
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.text.chat;
 
+import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.util.text.ITextComponent;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -35,8 +36,10 @@
 import org.spongepowered.api.event.message.MessageEvent.MessageFormatter;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.text.chat.ChatType;
 import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.text.SpongeTexts;
 
 import java.util.Optional;
@@ -58,8 +61,18 @@ public static void sendMessage(ITextComponent component, MessageChannel channel,
             event = SpongeEventFactory.createMessageChannelEvent(cause, channel, Optional.of(channel), formatter, false);
         }
         if (!SpongeImpl.postEvent(event) && !event.isMessageCancelled() && event.getChannel().isPresent()) {
-            event.getChannel().get().send(source, event.getMessage(), isChat ? ChatTypes.CHAT : ChatTypes.SYSTEM);
+            try (PacketBroadcast broadcast = PacketBroadcast.open()) {
+                event.getChannel().get().send(source, event.getMessage(), isChat ? ChatTypes.CHAT : ChatTypes.SYSTEM);
+            }
         }
     }
 
+    public static SPacketChat createChatPacket(ChatType type, Text message) {
+        ITextComponent component = SpongeTexts.toComponent(message);
+        if (type == ChatTypes.ACTION_BAR) {
+            component = SpongeTexts.fixActionBarFormatting(component);
+        }
+        return new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type);
+    }
+
 }
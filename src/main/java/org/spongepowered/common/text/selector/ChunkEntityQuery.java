@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Collects entities whose position lies within a box by walking only the
+ * loaded chunks, and the chunk sections, that the box covers instead of
+ * the whole world entity list.
+ *
+ * <p>Entities are only moved between chunk lists once per tick, so the
+ * covered area is widened by two blocks on every side like vanilla does
+ * for its own chunk based entity lookups.</p>
+ */
+final class ChunkEntityQuery {
+
+    private static final int MARGIN = 2;
+
+    /**
+     * Gets the number of chunk columns a query for the given bounds would
+     * visit.
+     *
+     * @param bounds The position bounds
+     * @return The number of chunk columns
+     */
+    static long getChunkCount(AxisAlignedBB bounds) {
+        final long width = chunkCoord(bounds.maxX + MARGIN) - chunkCoord(bounds.minX - MARGIN) + 1L;
+        final long depth = chunkCoord(bounds.maxZ + MARGIN) - chunkCoord(bounds.minZ - MARGIN) + 1L;
+        return width * depth;
+    }
+
+    /**
+     * Adds every entity of the given type whose position lies within the
+     * bounds and which passes the filter to the output list.
+     *
+     * @param chunks The chunk provider of the world to query
+     * @param bounds The inclusive position bounds
+     * @param type The entity class to look up
+     * @param filter The filter entities must pass
+     * @param out The list to add matching entities to
+     * @param limit The size at which the output list is full, or zero for no limit
+     * @return True if the output list reached the limit
+     */
+    static boolean collect(IChunkProvider chunks, AxisAlignedBB bounds, Class<? extends Entity> type, Predicate<? super Entity> filter,
+            List<Entity> out, int limit) {
+        if (limit > 0 && out.size() >= limit) {
+            return true;
+        }
+        final int minChunkX = chunkCoord(bounds.minX - MARGIN);
+        final int maxChunkX = chunkCoord(bounds.maxX + MARGIN);
+        final int minChunkZ = chunkCoord(bounds.minZ - MARGIN);
+        final int maxChunkZ = chunkCoord(bounds.maxZ + MARGIN);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final Chunk chunk = chunks.getLoadedChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+                final ClassInheritanceMultiMap<Entity>[] sections = chunk.getEntityLists();
+                final int minSection = MathHelper.clamp(chunkCoord(bounds.minY - MARGIN), 0, sections.length - 1);
+                final int maxSection = MathHelper.clamp(chunkCoord(bounds.maxY + MARGIN), 0, sections.length - 1);
+                for (int section = minSection; section <= maxSection; section++) {
+                    for (Entity entity : sections[section].getByClass(type)) {
+                        if (entity.posX < bounds.minX || entity.posX > bounds.maxX
+                                || entity.posY < bounds.minY || entity.posY > bounds.maxY
+                                || entity.posZ < bounds.minZ || entity.posZ > bounds.maxZ
+                                || !filter.test(entity)) {
+                            continue;
+                        }
+                        out.add(entity);
+                        if (limit > 0 && out.size() >= limit) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int chunkCoord(double coordinate) {
+        // Clamp so unbounded axes do not overflow, the provider simply has no chunks out there
+        return MathHelper.floor(Math.max(-3.0E7D, Math.min(3.0E7D, coordinate))) >> 4;
+    }
+
+    private ChunkEntityQuery() {
+    }
+
+}
@@ -31,6 +31,9 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -59,6 +62,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.entity.SpongeEntityType;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -66,10 +70,13 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -116,6 +123,10 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    private final boolean playerOnly;
+    // The position bounds entities must lie in, if the selector limits both x and z
+    @Nullable private final AxisAlignedBB bounds;
+    private final Class<? extends net.minecraft.entity.Entity> queryType;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -135,13 +146,67 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
+        this.playerOnly = isPlayerOnlySelector();
         this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
+        this.bounds = makeBounds();
+        this.queryType = getQueryType();
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
+    private boolean isPlayerOnlySelector() {
+        SelectorType selectorType = this.selector.getType();
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+            || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
+            && type.get().getValue() != EntityTypes.PLAYER);
+    }
+
+    @Nullable
+    private AxisAlignedBB makeBounds() {
         final Selector sel = this.selector;
+        Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        Vector3d min = new Vector3d(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        Vector3d max = new Vector3d(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            min = position.sub(radiusMax.get(), radiusMax.get(), radiusMax.get());
+            max = position.add(radiusMax.get(), radiusMax.get(), radiusMax.get());
+        }
+        Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        Vector3d boxMin = position.min(position.add(boxDimensions));
+        Vector3d boxMax = position.max(position.add(boxDimensions));
+        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+            min = new Vector3d(Math.max(min.getX(), boxMin.getX()), min.getY(), min.getZ());
+            max = new Vector3d(Math.min(max.getX(), boxMax.getX()), max.getY(), max.getZ());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+            min = new Vector3d(min.getX(), Math.max(min.getY(), boxMin.getY()), min.getZ());
+            max = new Vector3d(max.getX(), Math.min(max.getY(), boxMax.getY()), max.getZ());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+            min = new Vector3d(min.getX(), min.getY(), Math.max(min.getZ(), boxMin.getZ()));
+            max = new Vector3d(max.getX(), max.getY(), Math.min(max.getZ(), boxMax.getZ()));
+        }
+        if (Double.isInfinite(min.getX()) || Double.isInfinite(max.getX()) || Double.isInfinite(min.getZ()) || Double.isInfinite(max.getZ())) {
+            return null;
+        }
+        // An empty intersection ends up with swapped corners here, the filters still reject everything in it
+        return new AxisAlignedBB(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    private Class<? extends net.minecraft.entity.Entity> getQueryType() {
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (type.isPresent() && !type.get().isInverted() && type.get().getValue() instanceof SpongeEntityType) {
+            Class<? extends net.minecraft.entity.Entity> entityClass = ((SpongeEntityType) type.get().getValue()).entityClass;
+            if (entityClass != null) {
+                return entityClass;
+            }
+        }
+        return this.playerOnly ? EntityPlayer.class : net.minecraft.entity.Entity.class;
+    }
+
+    private Predicate<Entity> makeFilter() {
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
         addTypeFilters(filters);
@@ -153,14 +218,7 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
+        if (this.playerOnly) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
@@ -346,29 +404,72 @@ public Set<Entity> resolve() {
             defaultCount = 0;
         }
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
-        Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
-        for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
+        boolean random = selectorType == SelectorTypes.RANDOM;
+        if (maxToSelect < 0) {
+            return resolveFirstOfEachExtent(random);
+        }
+        // Random selectors have to see every candidate before picking, everything else can stop early
+        int limit = random ? 0 : maxToSelect;
+        List<Entity> entities = new ArrayList<>();
+        for (Extent extent : getExtentSet()) {
+            if (collectEntities(extent, entities, limit)) {
+                break;
             }
+        }
+        if (random) {
+            Collections.shuffle(entities);
+            if (maxToSelect != 0 && entities.size() > maxToSelect) {
+                return ImmutableSet.copyOf(entities.subList(0, maxToSelect));
+            }
+        }
+        return ImmutableSet.copyOf(entities);
+    }
+
+    // A negative count has always selected the first match of every extent, or a random one for random selectors
+    private Set<Entity> resolveFirstOfEachExtent(boolean random) {
+        ImmutableSet.Builder<Entity> selected = ImmutableSet.builder();
+        List<Entity> entities = new ArrayList<>();
+        for (Extent extent : getExtentSet()) {
+            entities.clear();
+            collectEntities(extent, entities, random ? 0 : 1);
+            if (!entities.isEmpty()) {
+                selected.add(entities.get(random ? ThreadLocalRandom.current().nextInt(entities.size()) : 0));
+            }
+        }
+        return selected.build();
+    }
 
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
-                    continue;
+    @SuppressWarnings("unchecked")
+    private boolean collectEntities(Extent extent, List<Entity> entities, int limit) {
+        if (extent instanceof WorldServer) {
+            WorldServer world = (WorldServer) extent;
+            Predicate<? super net.minecraft.entity.Entity> filter = entity -> this.selectorFilter.test((Entity) entity);
+            // Only walk the chunks if that visits fewer of them than the world has loaded
+            if (this.bounds != null && ChunkEntityQuery.getChunkCount(this.bounds) <= world.getChunkProvider().getLoadedChunkCount()) {
+                return ChunkEntityQuery.collect(world.getChunkProvider(), this.bounds, this.queryType, filter,
+                        (List<net.minecraft.entity.Entity>) (List<?>) entities, limit);
+            }
+            if (this.playerOnly) {
+                for (EntityPlayer player : world.playerEntities) {
+                    if (filter.test(player)) {
+                        entities.add((Entity) player);
+                        if (limit > 0 && entities.size() >= limit) {
+                            return true;
+                        }
+                    }
                 }
-                entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                return false;
+            }
+        }
+        for (Entity entity : extent.getEntities()) {
+            if (this.selectorFilter.test(entity)) {
+                entities.add(entity);
+                if (limit > 0 && entities.size() >= limit) {
+                    return true;
                 }
             }
         }
-        return entities.build();
+        return false;
     }
 
     private Set<? extends Extent> getExtentSet() {
@@ -0,0 +1,269 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An append-only journal of changes, one per line. Changes are queued as
+ * they are made and appended on save. Once the journal holds mostly
+ * superseded lines, it is rewritten from a snapshot of the live entries in
+ * the background, changes saved meanwhile are held back until it completes.
+ *
+ * @param <C> The type of changes
+ */
+public final class ChangeJournal<C> {
+
+    private static final Charset charset = Charsets.UTF_8;
+    // Journals are only compacted once they have this many lines and at least twice as many as live entries
+    private static final int COMPACTION_THRESHOLD = 1024;
+    private static final ExecutorService executor = createExecutor();
+
+    private final Path file;
+    private final Path compactedFile;
+    private final String name;
+    private final Function<C, String> formatter;
+    // Changes not yet appended to the journal, in the order they were made
+    private final Queue<C> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final Object lock = new Object();
+    private int lines;
+    private boolean compacting;
+
+    /**
+     * Creates a journal.
+     *
+     * @param file The journal file
+     * @param name The name of what the journal holds, used in log messages
+     * @param formatter Formats a change as a single line
+     */
+    public ChangeJournal(Path file, String name, Function<C, String> formatter) {
+        this.file = file;
+        this.compactedFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.name = name;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Runs a task on the thread journals are compacted on.
+     *
+     * @param task The task
+     */
+    public static void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Waits for the tasks already started on the journal thread, such as
+     * compactions, to complete. The thread is a daemon, so this must be
+     * called before shutting down to not lose any changes.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     */
+    public static void awaitPendingTasks(long timeout, TimeUnit unit) {
+        try {
+            // Tasks run in order on a single thread, so this only completes after every earlier one
+            executor.submit(() -> { }).get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            SpongeImpl.getLogger().warn("Timed out waiting for journals to be written", e);
+        }
+    }
+
+    /**
+     * Gets whether the journal has been written yet.
+     *
+     * @return Whether the journal exists
+     */
+    public boolean exists() {
+        return Files.exists(this.file);
+    }
+
+    /**
+     * Reads every line of the journal, in the order they were appended.
+     *
+     * @param reader Reads a line, throwing an {@link IllegalArgumentException}
+     *     if it is malformed
+     * @throws IOException If the journal could not be read
+     */
+    public void read(Consumer<String> reader) throws IOException {
+        int malformed = 0;
+        int lines = 0;
+        try (BufferedReader in = Files.newBufferedReader(this.file, charset)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lines++;
+                try {
+                    reader.accept(line);
+                } catch (IllegalArgumentException e) {
+                    // Most likely a line cut short by a crash while appending
+                    malformed++;
+                }
+            }
+        }
+        synchronized (this.lock) {
+            this.lines = lines;
+        }
+        if (malformed > 0) {
+            SpongeImpl.getLogger().warn("Skipped {} malformed entries in the {}", malformed, this.name);
+        }
+    }
+
+    /**
+     * Queues a change to be appended on the next save.
+     *
+     * @param change The change
+     */
+    public void add(C change) {
+        this.pendingChanges.add(change);
+    }
+
+    /**
+     * Gets the changes not appended yet.
+     *
+     * @return The pending changes, in the order they were made
+     */
+    public Collection<C> getPendingChanges() {
+        return this.pendingChanges;
+    }
+
+    /**
+     * Appends the pending changes, then starts compacting the journal if it
+     * has grown to hold mostly superseded lines.
+     *
+     * @param liveEntries The number of live entries
+     * @param snapshot Creates changes recreating the live entries
+     */
+    public void save(int liveEntries, Supplier<Collection<C>> snapshot) {
+        synchronized (this.lock) {
+            if (this.compacting) {
+                return;
+            }
+            try {
+                appendPendingChanges();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to save the {}", this.name, e);
+                return;
+            }
+            if (this.lines > COMPACTION_THRESHOLD && this.lines > liveEntries * 2) {
+                this.compacting = true;
+                final Collection<C> changes = snapshot.get();
+                executor.execute(() -> compact(changes));
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal with the given changes.
+     *
+     * @param snapshot The changes recreating the live entries
+     * @throws IOException If the journal could not be written
+     */
+    public void write(Collection<C> snapshot) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(this.compactedFile, charset)) {
+            for (C change : snapshot) {
+                writer.write(this.formatter.apply(change));
+                writer.newLine();
+            }
+        }
+        synchronized (this.lock) {
+            Files.move(this.compactedFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.lines = snapshot.size();
+        }
+    }
+
+    // Must hold the lock
+    private void appendPendingChanges() throws IOException {
+        if (this.pendingChanges.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(this.file, charset, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            C change;
+            while ((change = this.pendingChanges.peek()) != null) {
+                writer.write(this.formatter.apply(change));
+                writer.newLine();
+                // Only drop the change once written, a failed write keeps it for the next save
+                this.pendingChanges.poll();
+                this.lines++;
+            }
+        }
+    }
+
+    private void compact(Collection<C> snapshot) {
+        try {
+            // The snapshot already includes every change held back meanwhile. Appending them again
+            // afterwards is harmless, as replaying changes in order always ends in the same state.
+            write(snapshot);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to compact the {}", this.name, e);
+            try {
+                Files.deleteIfExists(this.compactedFile);
+            } catch (IOException ignored) {
+                // Nothing more we can do
+            }
+        } finally {
+            synchronized (this.lock) {
+                this.compacting = false;
+                try {
+                    appendPendingChanges();
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Failed to save the {}", this.name, e);
+                }
+            }
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        // A daemon, so it never holds up shutdown, see awaitPendingTasks
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Journal Thread").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -61,6 +61,7 @@
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.blockcapturing.IModData_BlockCapturing;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_ChunkActivation;
 import org.spongepowered.common.registry.type.BlockTypeRegistryModule;
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.WorldManager;
@@ -172,6 +173,10 @@ public static void logBlockTrack(World world, Block block, BlockPos pos, User us
     }
 
     public static void logBlockAction(World world, @Nullable BlockChange type, Transaction<BlockSnapshot> transaction) {
+        logBlockAction(world, type, transaction.getOriginal().getState(), transaction.getFinal().getState());
+    }
+
+    public static void logBlockAction(World world, @Nullable BlockChange type, Object originalState, Object newState) {
         if (world.isRemote) {
             return;
         }
@@ -185,8 +190,8 @@ public static void logBlockAction(World world, @Nullable BlockChange type, Trans
                     user.isPresent() ? user.get().getName() : "None",
                     world.getWorldInfo().getWorldName(),
                     ((IMixinWorldServer) world).getDimensionId(),
-                    transaction.getOriginal().getState(),
-                    transaction.getFinal().getState());
+                    originalState,
+                    newState);
             logStack(config);
         }
     }
@@ -509,6 +514,13 @@ public static void refreshActiveConfigs() {
             for (TileEntity tileEntity : world.loadedTileEntityList) {
                 if (tileEntity instanceof IModData_Activation) {
                     ((IModData_Activation) tileEntity).requiresActivationCacheRefresh(true);
+                    // Rescheduled with the refreshed tick rate
+                    ((IModData_Activation) tileEntity).setScheduledTick(0);
+                }
+            }
+            for (Chunk chunk : world.getChunkProvider().getLoadedChunks()) {
+                if (chunk instanceof IModData_ChunkActivation) {
+                    ((IModData_ChunkActivation) chunk).getTileEntityActivationBuckets().invalidate();
                 }
             }
         }
@@ -26,10 +26,15 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,12 +43,10 @@
 
 import org.spongepowered.common.SpongeImpl;
 import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -53,6 +56,10 @@
  * last known username.<br>
  * For convenience, {@link #getMap()} is provided to get an immutable copy of
  * the caches underlying map.
+ * <p>
+ * The cache is persisted as an append-only journal of changes, one per line,
+ * which is rewritten in the background once it has grown to hold mostly
+ * superseded entries. A legacy {@code usernamecache.json} is migrated on load.
  * 
  * Note: This class represents Forge's UsernameCache. It is used merely used
  * to support both SpongeForge and SpongeVanilla. Original code can be found
@@ -62,13 +69,19 @@
  */
 public final class SpongeUsernameCache {
 
-    // Thread-safe map
-    private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    // Thread-safe maps, names are indexed lower case for case insensitive lookups
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
+    // The players known by each name, in the order they took it. The lists are never modified once published.
+    private static final Map<String, List<UUID>> uuidsByName = new ConcurrentHashMap<>();
 
     private static final Charset charset = Charsets.UTF_8;
 
-    private static final File saveFile = new File(".", "usernamecache.json");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Path legacySaveFile = Paths.get(".", "usernamecache.json");
+    private static final char SEPARATOR = '\t';
+
+    private static final ChangeJournal<Change> journal = new ChangeJournal<>(Paths.get(".", "usernamecache.journal"), "username cache",
+        Change::toString);
+    private static final Object loadLock = new Object();
 
     private static boolean loaded = false;
 
@@ -91,7 +104,8 @@ public static void setUsername(UUID uuid, String username) {
             return;
         }
 
-        map.put(uuid, username);
+        put(uuid, username);
+        journal.add(new Change(uuid, username));
     }
 
     /**
@@ -107,7 +121,8 @@ public static boolean removeUsername(UUID uuid) {
             load();
         }
 
-        if (map.remove(uuid) != null) {
+        if (remove(uuid)) {
+            journal.add(new Change(uuid, null));
             return true;
         }
 
@@ -138,6 +153,11 @@ public static String getLastKnownUsername(UUID uuid) {
      * Get the player's last known {@link java.util.UUID UUID}
      * <p>
      * <b>May be <code>null</code></b>
+     * <p>
+     * Names are released and taken again, so several players may have last
+     * been seen with the same username. In that case, the one who took it
+     * most recently is returned, even if that player has been seen with
+     * another name since. The order is kept across saves and loads.
      *
      * @param username
      *            the player's username
@@ -151,13 +171,8 @@ public static UUID getLastKnownUUID(String username) {
             load();
         }
 
-        for (Map.Entry<UUID, String> mapEntry : map.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
-
-        return null;
+        final List<UUID> uuids = uuidsByName.get(username.toLowerCase(Locale.ROOT));
+        return uuids == null ? null : uuids.get(uuids.size() - 1);
     }
 
     /**
@@ -191,18 +206,16 @@ public static Map<UUID, String> getMap() {
 
     /**
      * Save the cache to file
+     * <p>
+     * Only the changes made since the last save are appended. While the
+     * journal is being compacted, changes are held back until it completes.
      */
     public static void save() {
         if (!loaded) {
             load();
         }
 
-        try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
-        } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
-        }
+        journal.save(map.size(), SpongeUsernameCache::snapshot);
     }
 
     /**
@@ -210,25 +223,134 @@ public static void save() {
      */
     public static void load() {
         loaded = true;
-        if (!saveFile.exists()) return;
+        synchronized (loadLock) {
+            map.clear();
+            uuidsByName.clear();
+            if (journal.exists()) {
+                loadJournal();
+            } else if (Files.exists(legacySaveFile)) {
+                migrateLegacyFile();
+            }
+        }
+    }
 
+    private static void loadJournal() {
         try {
+            journal.read(line -> {
+                final int separator = line.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    remove(UUID.fromString(line));
+                } else {
+                    put(UUID.fromString(line.substring(0, separator)), line.substring(separator + 1));
+                }
+            });
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read username cache file from disk", e);
+        }
+    }
 
-            String json = Files.toString(saveFile, charset);
-            Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
-
-            map = gson.fromJson(json, type);
+    private static void migrateLegacyFile() {
+        try {
+            final String json = new String(Files.readAllBytes(legacySaveFile), charset);
+            final Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
+            final Map<UUID, String> legacy = new Gson().fromJson(json, type);
+            if (legacy != null) {
+                legacy.forEach(SpongeUsernameCache::put);
+            }
+            journal.write(snapshot());
+            Files.delete(legacySaveFile);
         } catch (JsonSyntaxException e) {
             SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            saveFile.delete();
+            deleteQuietly(legacySaveFile);
         } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            saveFile.delete();
-        } finally {
-            // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+            SpongeImpl.getLogger().error("Failed to migrate the username cache file", e);
+        }
+    }
+
+    private static void put(UUID uuid, String username) {
+        final String name = username.toLowerCase(Locale.ROOT);
+        final String previous = map.put(uuid, username);
+        if (previous != null && !previous.toLowerCase(Locale.ROOT).equals(name)) {
+            unindexName(uuid, previous);
+        }
+        indexName(uuid, name);
+    }
+
+    private static boolean remove(UUID uuid) {
+        final String previous = map.remove(uuid);
+        if (previous == null) {
+            return false;
+        }
+        unindexName(uuid, previous);
+        return true;
+    }
+
+    // Moves the player to the end of the players known by the name, as the one who took it last
+    private static void indexName(UUID uuid, String name) {
+        uuidsByName.compute(name, (key, uuids) -> {
+            if (uuids == null) {
+                return ImmutableList.of(uuid);
+            }
+            return ImmutableList.<UUID>builder().addAll(without(uuids, uuid)).add(uuid).build();
+        });
+    }
+
+    private static void unindexName(UUID uuid, String username) {
+        uuidsByName.computeIfPresent(username.toLowerCase(Locale.ROOT), (key, uuids) -> {
+            final List<UUID> remaining = without(uuids, uuid);
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static List<UUID> without(List<UUID> uuids, UUID uuid) {
+        if (!uuids.contains(uuid)) {
+            return uuids;
+        }
+        final ImmutableList.Builder<UUID> builder = ImmutableList.builder();
+        for (UUID known : uuids) {
+            if (!known.equals(uuid)) {
+                builder.add(known);
+            }
+        }
+        return builder.build();
+    }
+
+    // Players sharing a name are written in the order they took it, so the journal replays to the same index
+    private static List<Change> snapshot() {
+        final List<Change> snapshot = new ArrayList<>(map.size());
+        for (List<UUID> uuids : uuidsByName.values()) {
+            for (UUID uuid : uuids) {
+                final String username = map.get(uuid);
+                if (username != null) {
+                    snapshot.add(new Change(uuid, username));
+                }
             }
         }
+        return snapshot;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Nothing more we can do
+        }
+    }
+
+    private static final class Change {
+
+        final UUID uuid;
+        @Nullable final String username; // Null for removals
+
+        Change(UUID uuid, @Nullable String username) {
+            this.uuid = uuid;
+            this.username = username;
+        }
+
+        // <uuid> for removals, <uuid> TAB <username> otherwise
+        @Override
+        public String toString() {
+            return this.username == null ? this.uuid.toString() : this.uuid.toString() + SEPARATOR + this.username;
+        }
     }
-}
\ No newline at end of file
+}
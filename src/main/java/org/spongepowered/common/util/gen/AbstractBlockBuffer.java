@@ -31,6 +31,7 @@
 import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.extent.worker.SpongeBlockVolumeWorker;
 
 /**
  * Base class for block buffers.
@@ -64,6 +65,59 @@ protected int getIndex(int x, int y, int z) {
     
     public abstract BlockPalette getPalette();
 
+    /**
+     * Gets a worker for this buffer, which can be switched to work in
+     * parallel, see {@link SpongeBlockVolumeWorker#parallel(boolean)}.
+     *
+     * @return The worker
+     */
+    @Override
+    public abstract SpongeBlockVolumeWorker<? extends BlockVolume> getBlockWorker();
+
+    /**
+     * Visits the palette ids of the blocks in the planes from {@code xMin}
+     * to {@code xMax}, in storage order. Buffers storing palette ids visit
+     * them directly, without looking up their states.
+     *
+     * <p>Different planes may be visited concurrently as long as the buffer
+     * isn't modified at the same time.</p>
+     *
+     * @param xMin The first plane to visit
+     * @param xMax The last plane to visit
+     * @param visitor The visitor
+     */
+    public void visitBlockIds(int xMin, int xMax, BlockIdVisitor visitor) {
+        checkRange(xMin, this.start.getY(), this.start.getZ());
+        checkRange(xMax, this.start.getY(), this.start.getZ());
+        final BlockPalette palette = getPalette();
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = this.start.getZ(); z <= this.end.getZ(); z++) {
+                for (int y = this.start.getY(); y <= this.end.getY(); y++) {
+                    // Every state of a buffer has an id in its palette
+                    visitor.visit(x, y, z, palette.get(getBlock(x, y, z)).get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the palette ids of the given planes straight from the backing
+     * data, one plane after the other as they are laid out in it.
+     */
+    static void visitBackingIds(AbstractBlockBuffer buffer, ArrayMutableBlockBuffer.BackingData data, int xMin, int xMax,
+            BlockIdVisitor visitor) {
+        buffer.checkRange(xMin, buffer.start.getY(), buffer.start.getZ());
+        buffer.checkRange(xMax, buffer.start.getY(), buffer.start.getZ());
+        int index = buffer.getIndex(xMin, buffer.start.getY(), buffer.start.getZ());
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = buffer.start.getZ(); z <= buffer.end.getZ(); z++) {
+                for (int y = buffer.start.getY(); y <= buffer.end.getY(); y++) {
+                    visitor.visit(x, y, z, data.get(index++));
+                }
+            }
+        }
+    }
+
     @Override
     public Vector3i getBlockMax() {
         return this.end;
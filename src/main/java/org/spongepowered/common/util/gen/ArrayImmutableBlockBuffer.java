@@ -32,14 +32,12 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
-import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer.BackingData;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer.CharBackingData;
 import org.spongepowered.common.world.extent.ImmutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.ImmutableBlockViewTransform;
 import org.spongepowered.common.world.extent.worker.SpongeBlockVolumeWorker;
-import org.spongepowered.common.world.schematic.GlobalPalette;
 
 public class ArrayImmutableBlockBuffer extends AbstractBlockBuffer implements ImmutableBlockVolume {
 
@@ -71,7 +69,12 @@ public ArrayImmutableBlockBuffer(BlockPalette palette, Vector3i start, Vector3i
 
     @Override
     public BlockPalette getPalette() {
-        return GlobalPalette.instance;
+        return this.palette;
+    }
+
+    @Override
+    public void visitBlockIds(int xMin, int xMax, BlockIdVisitor visitor) {
+        visitBackingIds(this, this.data, xMin, xMax, visitor);
     }
 
     @Override
@@ -98,7 +101,7 @@ public UnmodifiableBlockVolume getUnmodifiableBlockView() {
     }
 
     @Override
-    public BlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker() {
+    public SpongeBlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker() {
         return new SpongeBlockVolumeWorker<>(this);
     }
 
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.util.gen;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.util.math.MathHelper;
 import org.spongepowered.api.block.BlockState;
@@ -33,7 +35,6 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
-import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
@@ -42,6 +43,8 @@
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
+import java.util.function.IntUnaryOperator;
+
 public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
 
     /**
@@ -124,11 +127,7 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
                 }
                 this.palette = newpalette;
             } else {
-
-                newdata = new PackedBackingData(dataSize, highId);
-                for (int i = 0; i < dataSize; i++) {
-                    newdata.set(i, this.data.get(i));
-                }
+                newdata = copyData(highId);
             }
             this.data = newdata;
         }
@@ -136,6 +135,57 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
         return true;
     }
 
+    private BackingData copyData(int highId) {
+        final int dataSize = area();
+        final BackingData newdata = new PackedBackingData(dataSize, highId);
+        for (int i = 0; i < dataSize; i++) {
+            newdata.set(i, this.data.get(i));
+        }
+        return newdata;
+    }
+
+    /**
+     * Gets the id of the block at the given position in this buffer's
+     * palette.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The palette id
+     */
+    public int getBlockId(int x, int y, int z) {
+        checkRange(x, y, z);
+        return this.data.get(getIndex(x, y, z));
+    }
+
+    @Override
+    public void visitBlockIds(int xMin, int xMax, BlockIdVisitor visitor) {
+        visitBackingIds(this, this.data, xMin, xMax, visitor);
+    }
+
+    /**
+     * Replaces the palette id of every block with the one given by the
+     * mapper, without looking up any states. The mapped ids must already be
+     * assigned in this buffer's palette.
+     *
+     * @param mapper The id mapper
+     */
+    public void mapBlockIds(IntUnaryOperator mapper) {
+        final int highId = this.palette.getHighestId();
+        if (highId > this.data.getMax()) {
+            this.data = copyData(highId);
+        }
+        final int dataSize = area();
+        for (int i = 0; i < dataSize; i++) {
+            final int id = this.data.get(i);
+            final int mapped = mapper.applyAsInt(id);
+            if (mapped != id) {
+                checkArgument(mapped >= 0 && mapped <= highId, "Id %s is not in the palette", mapped);
+                this.data.set(i, mapped);
+            }
+        }
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
@@ -155,7 +205,7 @@ public MutableBlockVolume getBlockView(DiscreteTransform3 transform) {
     }
 
     @Override
-    public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
+    public SpongeMutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
@@ -35,7 +35,6 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
-import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
@@ -95,7 +94,7 @@ public MutableBlockVolume getBlockView(DiscreteTransform3 transform) {
     }
 
     @Override
-    public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
+    public SpongeMutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
@@ -27,6 +27,8 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.Property;
@@ -40,6 +42,7 @@
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.util.VecHelper;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
@@ -49,20 +52,40 @@
 import java.util.UUID;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 public class SpongeLocatableBlock implements LocatableBlock {
 
     private final BlockState blockState;
     private final Vector3i position;
     private final UUID worldId;
     private final WeakReference<World> worldReference;
-    private final Location<World> location;
+    // Created on first request, most locatables only ever serve as a cause or phase source
+    @Nullable private Location<World> location;
+    @Nullable private BlockPos blockPos;
 
     SpongeLocatableBlock(SpongeLocatableBlockBuilder builder) {
         this.blockState = builder.blockState;
         this.position = builder.position;
         this.worldId = builder.worldId;
         this.worldReference = builder.worldReference;
-        this.location = new Location<>(this.worldReference.get(), this.position);
+    }
+
+    /**
+     * Creates a locatable for a block in a loaded world without going through
+     * the builder, which would resolve the current block state and location
+     * eagerly.
+     *
+     * @param world The world
+     * @param pos The block position
+     * @param blockState The block state at the position
+     */
+    public SpongeLocatableBlock(World world, BlockPos pos, BlockState blockState) {
+        this.blockState = blockState;
+        this.blockPos = pos.toImmutable();
+        this.position = new Vector3i(pos.getX(), pos.getY(), pos.getZ());
+        this.worldId = world.getUniqueId();
+        this.worldReference = new WeakReference<>(world);
     }
 
     @Override
@@ -72,9 +95,30 @@ public BlockState getBlockState() {
 
     @Override
     public Location<World> getLocation() {
+        if (this.location == null) {
+            World world = this.worldReference.get();
+            if (world == null) {
+                // Reloaded since, the cached location keeps the new instance
+                world = Sponge.getServer().getWorld(this.worldId)
+                        .orElseThrow(() -> new IllegalStateException("World is not available by the UUID: " + this.worldId));
+            }
+            this.location = new Location<>(world, this.position);
+        }
         return this.location;
     }
 
+    @Override
+    public Vector3i getPosition() {
+        return this.position;
+    }
+
+    public BlockPos getBlockPos() {
+        if (this.blockPos == null) {
+            this.blockPos = VecHelper.toBlockPos(this.position);
+        }
+        return this.blockPos;
+    }
+
     @Override
     public <T extends Property<?, ?>> Optional<T> getProperty(Class<T> propertyClass) {
         return this.blockState.getProperty(propertyClass);
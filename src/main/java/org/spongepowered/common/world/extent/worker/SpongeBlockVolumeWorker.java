@@ -40,8 +40,11 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.util.gen.BlockIdVisitor;
 
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 /**
  *
@@ -49,11 +52,103 @@
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
     protected final V volume;
+    protected boolean parallel;
 
     public SpongeBlockVolumeWorker(V volume) {
         this.volume = volume;
     }
 
+    /**
+     * Sets whether this worker splits buffer backed volumes over the common
+     * fork join pool. Procedures are then called concurrently and in no
+     * particular order, so they must not modify the volumes being read.
+     * Results are still written to the destination on the calling thread,
+     * one plane of constant x at a time. Volumes that aren't buffers, such as
+     * worlds, are always worked on sequentially.
+     *
+     * <p>The workers of the block buffers are reachable without a cast, see
+     * {@link AbstractBlockBuffer#getBlockWorker()}.</p>
+     *
+     * @param parallel Whether to work in parallel
+     * @return This worker, for chaining
+     */
+    public SpongeBlockVolumeWorker<V> parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    protected boolean isParallel(BlockVolume... volumes) {
+        if (!this.parallel) {
+            return false;
+        }
+        for (BlockVolume volume : volumes) {
+            if (!(volume instanceof AbstractBlockBuffer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits the palette id of every block of a buffer backed volume, without
+     * looking up their states. In parallel mode different planes of constant
+     * x are visited concurrently.
+     *
+     * @param visitor The visitor
+     * @throws UnsupportedOperationException If the volume isn't a buffer
+     */
+    public void iterateBlockIds(BlockIdVisitor visitor) {
+        if (!(this.volume instanceof AbstractBlockBuffer)) {
+            throw new UnsupportedOperationException("Block ids can only be visited on buffers");
+        }
+        final AbstractBlockBuffer buffer = (AbstractBlockBuffer) this.volume;
+        final int xMin = buffer.getBlockMin().getX();
+        final int xMax = buffer.getBlockMax().getX();
+        if (this.parallel) {
+            IntStream.rangeClosed(xMin, xMax).parallel().forEach(x -> buffer.visitBlockIds(x, x, visitor));
+        } else {
+            buffer.visitBlockIds(xMin, xMax, visitor);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface BlockProducer {
+
+        BlockState produce(int x, int y, int z);
+    }
+
+    /**
+     * Produces the blocks of the volume one plane of constant x at a time,
+     * its lines of constant z in parallel, and writes each plane to the
+     * destination on the calling thread before producing the next one.
+     */
+    protected void produceByPlane(BlockProducer producer, MutableBlockVolume destination, int xOffset, int yOffset, int zOffset) {
+        final int xMin = this.volume.getBlockMin().getX();
+        final int yMin = this.volume.getBlockMin().getY();
+        final int zMin = this.volume.getBlockMin().getZ();
+        final int xMax = this.volume.getBlockMax().getX();
+        final int yMax = this.volume.getBlockMax().getY();
+        final int zMax = this.volume.getBlockMax().getZ();
+        final int lineSize = yMax - yMin + 1;
+        // Reused for every plane, each line only writes its own range
+        final BlockState[] plane = new BlockState[lineSize * (zMax - zMin + 1)];
+        for (int x = xMin; x <= xMax; x++) {
+            final int planeX = x;
+            IntStream.rangeClosed(zMin, zMax).parallel().forEach(z -> {
+                int i = (z - zMin) * lineSize;
+                for (int y = yMin; y <= yMax; y++) {
+                    plane[i++] = producer.produce(planeX, y, z);
+                }
+            });
+            int i = 0;
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, plane[i++]);
+                }
+            }
+        }
+    }
+
     @Override
     public V getVolume() {
         return this.volume;
@@ -76,6 +171,10 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            if (isParallel(this.volume)) {
+                produceByPlane((x, y, z) -> mapper.map(unmodifiableVolume, x, y, z), destination, xOffset, yOffset, zOffset);
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -109,6 +208,12 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            if (isParallel(this.volume, second)) {
+                produceByPlane((x, y, z) -> merger.merge(firstUnmodifiableVolume, x, y, z,
+                    secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond),
+                    destination, xOffsetDestination, yOffsetDestination, zOffsetDestination);
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -129,6 +234,16 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (isParallel(this.volume)) {
+            IntStream.rangeClosed(xMin, xMax).parallel().forEach(x -> {
+                for (int z = zMin; z <= zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
+                }
+            });
+            return;
+        }
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
             BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
                 .source(this)
@@ -152,6 +267,21 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (isParallel(this.volume)) {
+            // Each plane is reduced from the identity, then the planes are merged
+            return IntStream.rangeClosed(xMin, xMax).parallel()
+                .mapToObj(x -> {
+                    T reduction = identity;
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                        }
+                    }
+                    return reduction;
+                })
+                .reduce(merge::apply)
+                .orElse(identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
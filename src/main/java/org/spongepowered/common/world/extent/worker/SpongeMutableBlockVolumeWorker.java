@@ -38,6 +38,12 @@ public SpongeMutableBlockVolumeWorker(V volume) {
         super(volume);
     }
 
+    @Override
+    public SpongeMutableBlockVolumeWorker<V> parallel(boolean parallel) {
+        super.parallel(parallel);
+        return this;
+    }
+
     @Override
     public void fill(BlockVolumeFiller filler) {
         final int xMin = this.volume.getBlockMin().getX();
@@ -46,6 +52,10 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (isParallel(this.volume)) {
+            produceByPlane(filler::produce, this.volume, 0, 0, 0);
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
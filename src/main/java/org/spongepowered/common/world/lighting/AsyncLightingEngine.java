@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the async light updates of every world on one server wide
+ * work-stealing pool, instead of a pool per world. Queued positions are
+ * coalesced per chunk in {@link QueuedLightUpdates} and processed in
+ * batches of at most {@link #getBatchSize()} positions.
+ */
+public final class AsyncLightingEngine {
+
+    @Nullable private static AsyncLightingEngine instance;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final long startTime = System.nanoTime();
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+    private final LongAdder processedUpdates = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private AsyncLightingEngine(AsyncLightingCategory config) {
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.pool = new ForkJoinPool(Math.max(1, config.getNumThreads()), new LightThreadFactory(), (thread, throwable) ->
+                SpongeImpl.getLogger().error("Uncaught exception in async light thread {}", thread.getName(), throwable), true);
+    }
+
+    /**
+     * Starts the engine for a starting server, unless one is running
+     * already.
+     */
+    public static synchronized void start() {
+        if (instance == null || instance.pool.isShutdown()) {
+            instance = new AsyncLightingEngine(SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingCategory());
+        }
+    }
+
+    /**
+     * Gets the engine of the running server, if it was started and hasn't
+     * been shut down since.
+     *
+     * @return The lighting engine, or empty while none is running
+     */
+    public static synchronized Optional<AsyncLightingEngine> getIfRunning() {
+        return instance == null || instance.pool.isShutdown() ? Optional.empty() : Optional.of(instance);
+    }
+
+    /**
+     * Shuts the running engine down, waiting up to the given time for
+     * pending updates to finish.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     */
+    public static void shutdown(long timeout, TimeUnit unit) {
+        final AsyncLightingEngine engine;
+        synchronized (AsyncLightingEngine.class) {
+            engine = instance;
+            instance = null;
+        }
+        if (engine == null) {
+            return;
+        }
+        engine.pool.shutdown();
+        try {
+            engine.pool.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            engine.pool.shutdownNow();
+        }
+    }
+
+    public ExecutorService getExecutor() {
+        return this.pool;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public int getThreads() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Gets the number of positions queued for a light update in all worlds
+     * which haven't been processed yet.
+     *
+     * @return The queued positions
+     */
+    public int getQueuedUpdates() {
+        return this.queuedUpdates.get();
+    }
+
+    /**
+     * Gets the number of batches and whole chunk light checks waiting for a
+     * free light thread.
+     *
+     * @return The queued tasks
+     */
+    public long getQueuedTasks() {
+        return this.pool.getQueuedSubmissionCount() + this.pool.getQueuedTaskCount();
+    }
+
+    public long getProcessedUpdates() {
+        return this.processedUpdates.sum();
+    }
+
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Gets the mean number of positions processed per second since the
+     * engine was started.
+     *
+     * @return The throughput
+     */
+    public double getUpdatesPerSecond() {
+        final double seconds = (System.nanoTime() - this.startTime) / 1.0E9D;
+        return seconds <= 0 ? 0 : this.processedUpdates.sum() / seconds;
+    }
+
+    public void onQueued() {
+        this.queuedUpdates.incrementAndGet();
+    }
+
+    public void onProcessed(int count) {
+        this.queuedUpdates.addAndGet(-count);
+        this.processedUpdates.add(count);
+        this.batches.increment();
+    }
+
+    private static final class LightThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge - Async Light Thread #" + this.threadCount.incrementAndGet());
+            // Workers may be started from any thread, make sure they see the game classes
+            thread.setContextClassLoader(AsyncLightingEngine.class.getClassLoader());
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The positions of a chunk queued for a light update of one light type.
+ *
+ * <p>Positions are coalesced into one bitset per chunk section, allocated
+ * the first time a position of the section is queued, so queueing, removing
+ * and checking a position never boxes or copies anything. Any thread may
+ * queue positions while a single batch drains them, section by section so
+ * that neighbouring positions are processed together.</p>
+ *
+ * <p>Bitsets a batch left empty are dropped again. A position queued into a
+ * bitset just as it is dropped is either taken back by the queueing thread
+ * or moved over by the batch, so it is never lost.</p>
+ */
+public final class QueuedLightUpdates {
+
+    private static final int SECTION_COUNT = 16;
+    // 16 * 16 * 16 positions per section, 64 bits per word
+    private static final int SECTION_WORDS = 4096 / 64;
+
+    private final AtomicReferenceArray<AtomicLongArray> sections = new AtomicReferenceArray<>(SECTION_COUNT);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Packs the chunk relative position of the given block into the key
+     * used by this queue.
+     *
+     * @param pos The block position
+     * @return The packed position
+     */
+    public static int pack(BlockPos pos) {
+        return (pos.getY() & 0xFF) << 8 | (pos.getZ() & 0xF) << 4 | pos.getX() & 0xF;
+    }
+
+    /**
+     * Unpacks a position of this queue into a block position of the chunk
+     * at the given block offset.
+     *
+     * @param packed The packed position
+     * @param chunkBlockX The block x coordinate of the chunk origin
+     * @param chunkBlockZ The block z coordinate of the chunk origin
+     * @return The block position
+     */
+    public static BlockPos unpack(int packed, int chunkBlockX, int chunkBlockZ) {
+        return new BlockPos(chunkBlockX + (packed & 0xF), packed >>> 8 & 0xFF, chunkBlockZ + (packed >>> 4 & 0xF));
+    }
+
+    /**
+     * Queues the packed position.
+     *
+     * @param packed The packed position
+     * @return True if the position wasn't queued yet
+     */
+    public boolean add(int packed) {
+        final int section = packed >>> 12;
+        final int word = (packed & 0xFFF) >>> 6;
+        final long bit = 1L << packed;
+        while (true) {
+            final AtomicLongArray words = this.getOrCreateSection(section);
+            if (!setBit(words, word, bit)) {
+                return false;
+            }
+            // Dropped by the batch meanwhile, take the bit back unless the batch already moved it over
+            if (this.sections.get(section) != words && clearBit(words, word, bit)) {
+                continue;
+            }
+            this.size.incrementAndGet();
+            return true;
+        }
+    }
+
+    private AtomicLongArray getOrCreateSection(int section) {
+        AtomicLongArray words;
+        while ((words = this.sections.get(section)) == null) {
+            this.sections.compareAndSet(section, null, new AtomicLongArray(SECTION_WORDS));
+        }
+        return words;
+    }
+
+    private static boolean setBit(AtomicLongArray words, int word, long bit) {
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | bit));
+        return true;
+    }
+
+    private static boolean clearBit(AtomicLongArray words, int word, long bit) {
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current & ~bit));
+        return true;
+    }
+
+    public boolean contains(int packed) {
+        final AtomicLongArray words = this.sections.get(packed >>> 12);
+        return words != null && (words.get((packed & 0xFFF) >>> 6) & 1L << packed) != 0;
+    }
+
+    /**
+     * Removes the packed position from the queue.
+     *
+     * @param packed The packed position
+     * @return True if the position was queued
+     */
+    public boolean remove(int packed) {
+        final AtomicLongArray words = this.sections.get(packed >>> 12);
+        if (words == null) {
+            return false;
+        }
+        if (!clearBit(words, (packed & 0xFFF) >>> 6, 1L << packed)) {
+            return false;
+        }
+        this.size.decrementAndGet();
+        return true;
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    public boolean isEmpty() {
+        return this.size.get() == 0;
+    }
+
+    /**
+     * Removes queued positions, lowest section first, until the given array
+     * is filled or the queue is empty. Sections left empty are dropped. Must
+     * only be called by the batch draining this queue.
+     *
+     * @param out The array to fill with packed positions
+     * @return The number of positions removed
+     */
+    public int drain(int[] out) {
+        int count = 0;
+        for (int section = 0; section < SECTION_COUNT && count < out.length; section++) {
+            final AtomicLongArray words = this.sections.get(section);
+            if (words == null) {
+                continue;
+            }
+            for (int word = 0; word < SECTION_WORDS && count < out.length; word++) {
+                long bits = words.get(word);
+                while (bits != 0 && count < out.length) {
+                    final long bit = Long.lowestOneBit(bits);
+                    bits &= ~bit;
+                    final int packed = section << 12 | word << 6 | Long.numberOfTrailingZeros(bit);
+                    if (this.remove(packed)) {
+                        out[count++] = packed;
+                    }
+                }
+            }
+            if (isClear(words) && this.sections.compareAndSet(section, words, null)) {
+                this.moveLeftovers(section, words);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops every queued position. Must only be called by the thread
+     * queueing positions, once no batch drains this queue anymore.
+     */
+    public void clear() {
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            this.sections.set(section, null);
+        }
+        this.size.set(0);
+    }
+
+    private static boolean isClear(AtomicLongArray words) {
+        for (int word = 0; word < SECTION_WORDS; word++) {
+            if (words.get(word) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Moves the bits set in a dropped section since it was found empty, they are already counted
+    private void moveLeftovers(int section, AtomicLongArray dropped) {
+        for (int word = 0; word < SECTION_WORDS; word++) {
+            long bits = dropped.getAndSet(word, 0);
+            while (bits != 0) {
+                final long bit = Long.lowestOneBit(bits);
+                bits &= ~bit;
+                if (!setBit(this.getOrCreateSection(section), word, bit)) {
+                    // Queued again meanwhile, and counted twice
+                    this.size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the right to schedule a batch draining this queue.
+     *
+     * @return True if no batch was scheduled yet
+     */
+    public boolean trySchedule() {
+        return this.scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Marks the batch draining this queue as finished. The caller must check
+     * for positions queued in the meantime afterwards.
+     */
+    public void markIdle() {
+        this.scheduled.set(false);
+    }
+}
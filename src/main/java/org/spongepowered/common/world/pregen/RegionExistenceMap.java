@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * A bitmap of the chunks that exist on disk, read from the location tables
+ * at the start of every region file instead of opening a stream per chunk.
+ *
+ * <p>Regions are scanned in parallel when the map is created. Afterwards
+ * the map is only accessed from the main thread, which marks the chunks it
+ * generates itself.</p>
+ */
+final class RegionExistenceMap {
+
+    private static final int REGION_SHIFT = 5;
+    private static final int CHUNKS_PER_REGION = 1 << (REGION_SHIFT * 2);
+    private static final int HEADER_SIZE = CHUNKS_PER_REGION * 4;
+    private static final String REGION_EXTENSION = ".mca";
+
+    // One bit per chunk of a region, indexed by (x & 31) + (z & 31) * 32 like the region header
+    private final Long2ObjectMap<long[]> regions;
+
+    private RegionExistenceMap(Long2ObjectMap<long[]> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Starts scanning the headers of the region files in the given directory
+     * that overlap the given chunk area.
+     *
+     * @param regionDirectory The directory holding the region files
+     * @param minChunkX The lowest chunk x coordinate
+     * @param minChunkZ The lowest chunk z coordinate
+     * @param maxChunkX The highest chunk x coordinate
+     * @param maxChunkZ The highest chunk z coordinate
+     * @return A future completed with the map
+     */
+    static CompletableFuture<RegionExistenceMap> scan(Path regionDirectory, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        return CompletableFuture.supplyAsync(() -> {
+            final List<Path> files = new ArrayList<>();
+            final LongList keys = new LongArrayList();
+            if (Files.isDirectory(regionDirectory)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(regionDirectory, "r.*.*" + REGION_EXTENSION)) {
+                    for (Path file : stream) {
+                        final String[] parts = file.getFileName().toString().split("\\.");
+                        final int regionX;
+                        final int regionZ;
+                        try {
+                            regionX = Integer.parseInt(parts[1]);
+                            regionZ = Integer.parseInt(parts[2]);
+                        } catch (NumberFormatException e) {
+                            continue;
+                        }
+                        if (regionX >= minChunkX >> REGION_SHIFT && regionX <= maxChunkX >> REGION_SHIFT
+                                && regionZ >= minChunkZ >> REGION_SHIFT && regionZ <= maxChunkZ >> REGION_SHIFT) {
+                            files.add(file);
+                            keys.add(ChunkPos.asLong(regionX, regionZ));
+                        }
+                    }
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Failed to list the region files in {}", regionDirectory, e);
+                }
+            }
+            final long[][] bitmaps = new long[files.size()][];
+            // Only the first 4KiB of each file are read, so this is cheap enough to do in parallel on the common pool
+            IntStream.range(0, files.size()).parallel().forEach(i -> bitmaps[i] = readHeader(files.get(i)));
+            final Long2ObjectMap<long[]> regions = new Long2ObjectOpenHashMap<>(files.size());
+            for (int i = 0; i < bitmaps.length; i++) {
+                regions.put(keys.getLong(i), bitmaps[i]);
+            }
+            return new RegionExistenceMap(regions);
+        });
+    }
+
+    boolean exists(int chunkX, int chunkZ) {
+        final long[] bitmap = this.regions.get(ChunkPos.asLong(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT));
+        if (bitmap == null) {
+            return false;
+        }
+        final int index = index(chunkX, chunkZ);
+        return (bitmap[index >> 6] & (1L << index)) != 0;
+    }
+
+    void mark(int chunkX, int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+        long[] bitmap = this.regions.get(key);
+        if (bitmap == null) {
+            bitmap = new long[CHUNKS_PER_REGION / 64];
+            this.regions.put(key, bitmap);
+        }
+        final int index = index(chunkX, chunkZ);
+        bitmap[index >> 6] |= 1L << index;
+    }
+
+    int getRegionCount() {
+        return this.regions.size();
+    }
+
+    private static int index(int chunkX, int chunkZ) {
+        return (chunkX & 31) + (chunkZ & 31) * 32;
+    }
+
+    private static long[] readHeader(Path file) {
+        final long[] bitmap = new long[CHUNKS_PER_REGION / 64];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            // A truncated header only describes the chunks it covers
+            for (int index = 0; index < header.limit() / 4; index++) {
+                if (header.getInt(index * 4) != 0) {
+                    bitmap[index >> 6] |= 1L << index;
+                }
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to read the header of region file {}, treating it as empty", file, e);
+        }
+        return bitmap;
+    }
+
+}
@@ -30,6 +30,8 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -43,14 +45,22 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -60,6 +70,8 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 60 * 1000;
+    private static final String CHECKPOINT_FILE = "sponge_pregen.dat";
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -81,6 +93,15 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private final Task spongeTask;
     private final int tickInterval;
     private final Object plugin;
+    private final boolean scanRegionHeaders;
+    private final boolean checkpoint;
+    private final Vector3i centerChunk;
+
+    // Until the region headers are scanned, existence is checked per chunk
+    @Nullable private final CompletableFuture<RegionExistenceMap> regionScan;
+    @Nullable private RegionExistenceMap existenceMap;
+    @Nullable private final Path checkpointFile;
+    private long lastCheckpointTime;
 
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
@@ -101,13 +122,15 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private SpongeChunkPreGenerateTask(Object plugin,
             World world, Vector3d center, double diameter, int chunkCount, float tickPercent, int tickInterval, Cause cause,
-            List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
+            List<Consumer<ChunkPreGenerationEvent>> eventListeners, boolean scanRegionHeaders, boolean checkpoint) {
 
         this.scheduler = Sponge.getScheduler();
         int preferredTickInterval = this.scheduler.getPreferredTickInterval();
 
         this.plugin = plugin;
         this.world = world;
+        this.scanRegionHeaders = scanRegionHeaders;
+        this.checkpoint = checkpoint;
 
         // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
         // because they set up an async method which we need to get sync anyway, we just bypass it.
@@ -139,6 +162,22 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.nextJump = 0;
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
+        this.centerChunk = this.currentPosition;
+
+        if (scanRegionHeaders && world.getWorldStorage() instanceof IMixinAnvilChunkLoader) {
+            // The spiral checks one chunk beyond its radius on the negative sides
+            final int radius = this.chunkRadius + 1;
+            this.regionScan = RegionExistenceMap.scan(((IMixinAnvilChunkLoader) world.getWorldStorage()).getWorldDir().resolve("region"),
+                    this.centerChunk.getX() - radius, this.centerChunk.getZ() - radius, this.centerChunk.getX() + radius,
+                    this.centerChunk.getZ() + radius);
+        } else {
+            this.regionScan = null;
+        }
+        this.checkpointFile = checkpoint ? world.getDirectory().resolve("data").resolve(CHECKPOINT_FILE) : null;
+        if (this.checkpointFile != null) {
+            loadCheckpoint(this.checkpointFile);
+        }
+        this.lastCheckpointTime = System.currentTimeMillis();
 
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
@@ -206,6 +245,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            saveCheckpoint();
         }
     }
 
@@ -252,6 +292,12 @@ public void accept(Task task) {
                 this.world.loadChunk(pos1, true);
                 this.world.loadChunk(pos2, true);
                 this.world.loadChunk(pos3, true);
+                if (this.existenceMap != null) {
+                    this.existenceMap.mark(position.getX(), position.getZ());
+                    this.existenceMap.mark(pos1.getX(), pos1.getZ());
+                    this.existenceMap.mark(pos2.getX(), pos2.getZ());
+                    this.existenceMap.mark(pos3.getX(), pos3.getZ());
+                }
 
                 count += this.currentGenCount;
             } else {
@@ -291,14 +337,94 @@ public void accept(Task task) {
             this.isCancelled = true;
             unregisterListener();
             task.cancel();
+            deleteCheckpoint();
+        } else if (this.generationEndTime - this.lastCheckpointTime >= CHECKPOINT_INTERVAL_MILLIS) {
+            saveCheckpoint();
         }
     }
 
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
+        if (this.existenceMap == null && this.regionScan != null && this.regionScan.isDone()) {
+            this.existenceMap = this.regionScan.exceptionally(e -> {
+                SpongeImpl.getLogger().error("Failed to scan the region files of {}, checking chunks one by one", this.world.getName(), e);
+                return null;
+            }).join();
+        }
+        if (this.existenceMap != null) {
+            final RegionExistenceMap map = this.existenceMap;
+            return map.exists(chunk1.getX(), chunk1.getZ()) && map.exists(chunk2.getX(), chunk2.getZ())
+                    && map.exists(chunk3.getX(), chunk3.getZ()) && map.exists(chunk4.getX(), chunk4.getZ());
+        }
         return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
                 this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
     }
 
+    private void loadCheckpoint(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        final NBTTagCompound compound;
+        try (InputStream stream = Files.newInputStream(file)) {
+            compound = CompressedStreamTools.readCompressed(stream);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to read the chunk pre-generation checkpoint {}, starting from the center", file, e);
+            return;
+        }
+        // Only resume the same spiral, anything else is a different pre-generation
+        if (!compound.hasKey("Radius") || compound.getInteger("CenterX") != this.centerChunk.getX() || compound.getInteger("CenterZ") != this.centerChunk.getZ()
+                || compound.getInteger("Radius") != this.chunkRadius) {
+            return;
+        }
+        this.currentPosition = new Vector3i(compound.getInteger("PositionX"), 0, compound.getInteger("PositionZ"));
+        this.currentGenCount = compound.getInteger("GenCount");
+        this.currentLayer = compound.getInteger("Layer");
+        this.currentIndex = compound.getInteger("Index");
+        this.nextJump = compound.getInteger("NextJump");
+        this.chunksGenerated = compound.getInteger("Generated");
+        this.chunksSkipped = compound.getInteger("Skipped");
+        SpongeImpl.getLogger().info("Resuming chunk pre-generation of {} at layer {} of {}", this.world.getName(), this.currentLayer,
+                this.chunkRadius);
+    }
+
+    private void saveCheckpoint() {
+        this.lastCheckpointTime = System.currentTimeMillis();
+        if (this.checkpointFile == null || !hasNextChunkPosition()) {
+            return;
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger("CenterX", this.centerChunk.getX());
+        compound.setInteger("CenterZ", this.centerChunk.getZ());
+        compound.setInteger("Radius", this.chunkRadius);
+        compound.setInteger("PositionX", this.currentPosition.getX());
+        compound.setInteger("PositionZ", this.currentPosition.getZ());
+        compound.setInteger("GenCount", this.currentGenCount);
+        compound.setInteger("Layer", this.currentLayer);
+        compound.setInteger("Index", this.currentIndex);
+        compound.setInteger("NextJump", this.nextJump);
+        compound.setInteger("Generated", this.chunksGenerated);
+        compound.setInteger("Skipped", this.chunksSkipped);
+        final Path tempFile = this.checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.createDirectories(this.checkpointFile.getParent());
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(tempFile, this.checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to save the chunk pre-generation checkpoint {}", this.checkpointFile, e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (this.checkpointFile != null) {
+            try {
+                Files.deleteIfExists(this.checkpointFile);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Failed to delete the chunk pre-generation checkpoint {}", this.checkpointFile, e);
+            }
+        }
+    }
+
     private void unregisterListener() {
         if (this.eventListener != null) {
             Sponge.getEventManager().unregisterListeners(this.eventListener);
@@ -314,6 +440,7 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        saveCheckpoint();
     }
 
     private boolean hasNextChunkPosition() {
@@ -363,6 +490,8 @@ public static class Builder implements ChunkPreGenerate.Builder {
         private int tickInterval = DEFAULT_TICK_INTERVAL;
         private float tickPercent = DEFAULT_TICK_PERCENT;
         private int chunksPerTick = 0;
+        private boolean scanRegionHeaders = true;
+        private boolean checkpoint = true;
 
         public Builder(World world, Vector3d center, double diameter) {
             this.world = world;
@@ -424,6 +553,31 @@ public ChunkPreGenerate.Builder tickPercentLimit(float tickPercent) {
             return this;
         }
 
+        /**
+         * Sets whether the region file headers are scanned up front to tell
+         * which chunks exist, instead of checking every chunk on its own.
+         *
+         * @param scanRegionHeaders Whether to scan region headers
+         * @return This builder, for chaining
+         */
+        public Builder scanRegionHeaders(boolean scanRegionHeaders) {
+            this.scanRegionHeaders = scanRegionHeaders;
+            return this;
+        }
+
+        /**
+         * Sets whether progress is saved to the world directory, so that a
+         * pre-generation of the same area started after a restart resumes
+         * where it stopped.
+         *
+         * @param checkpoint Whether to save checkpoints
+         * @return This builder, for chaining
+         */
+        public Builder checkpoint(boolean checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
         @Override
         public ChunkPreGenerate.Builder addListener(Consumer<ChunkPreGenerationEvent> listener) {
             checkNotNull(listener, "listener cannot be null");
@@ -439,7 +593,7 @@ public ChunkPreGenerate start() {
             Cause cause = Sponge.getCauseStackManager().getCurrentCause();
             Sponge.getCauseStackManager().popCause();
             return new SpongeChunkPreGenerateTask(this.plugin, this.world, this.center, this.diameter, this.chunksPerTick, this.tickPercent,
-                    this.tickInterval, cause, this.eventListeners);
+                    this.tickInterval, cause, this.eventListeners, this.scanRegionHeaders, this.checkpoint);
         }
 
         @Override
@@ -451,6 +605,8 @@ public ChunkPreGenerate.Builder from(ChunkPreGenerate value) {
             final SpongeChunkPreGenerateTask other = (SpongeChunkPreGenerateTask) value;
             // Bypass null check
             this.plugin = other.plugin;
+            this.scanRegionHeaders = other.scanRegionHeaders;
+            this.checkpoint = other.checkpoint;
             return tickInterval(other.tickInterval)
                     .chunksPerTick(other.chunkCount)
                     .tickPercentLimit(other.tickPercent);
@@ -462,6 +618,8 @@ public ChunkPreGenerate.Builder reset() {
             this.tickInterval = 0;
             this.chunksPerTick = 0;
             this.tickPercent = DEFAULT_TICK_PERCENT;
+            this.scanRegionHeaders = true;
+            this.checkpoint = true;
             this.eventListeners.clear();
             return this;
         }
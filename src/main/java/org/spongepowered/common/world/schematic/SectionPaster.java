@@ -0,0 +1,300 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMapEntry;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Pastes a block volume straight into the {@link ExtendedBlockStorage}
+ * sections of the chunks it covers, one chunk at a time. Height maps are
+ * regenerated once per touched chunk instead of once per block, and
+ * clients get a single update per chunk. Only the pasted blocks changing
+ * light opacity or emission are relit, once the whole chunk is written, so
+ * that light spreads into the neighboring chunks as usual.
+ *
+ * <p>Instead of an event per block, one {@link ChangeBlockEvent.Post} is
+ * posted per chunk with the cause the paste was started with. Cancelling it
+ * leaves the chunk untouched, invalidated transactions are skipped. No
+ * physics or neighbor notifications happen for the pasted blocks. The tile
+ * entity archetypes are applied afterwards through the regular path, within
+ * one block worker phase per step.</p>
+ */
+final class SectionPaster implements Consumer<Task> {
+
+    // PlayerChunkMapEntry resends whole sections past this many changes anyway
+    private static final int MAX_TRACKED_CHANGES = 64;
+
+    private final BlockVolume volume;
+    private final Location<World> location;
+    private final WorldServer world;
+    private final Cause cause;
+    private final Map<Vector3i, TileEntityArchetype> archetypes;
+    private final Iterator<Map.Entry<Vector3i, TileEntityArchetype>> tiles;
+    private final long budgetNanos;
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    // Offset from volume to world coordinates
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
+    // Bounds of the paste, in world coordinates
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final int chunkCount;
+    private int nextChunk;
+
+    // The changes of the current chunk, as packed chunk positions and states
+    private int[] changedPositions = new int[0];
+    private IBlockState[] changedStates = new IBlockState[0];
+    // The packed positions of the applied changes which affect light
+    private int[] relightPositions = new int[0];
+
+    SectionPaster(BlockVolume volume, Map<Vector3i, TileEntityArchetype> tiles, Location<World> location, long budgetNanos, Cause cause) {
+        this.volume = volume;
+        this.location = location;
+        this.world = (WorldServer) location.getExtent();
+        this.cause = cause;
+        this.archetypes = tiles;
+        this.tiles = tiles.entrySet().iterator();
+        this.budgetNanos = budgetNanos;
+        this.offsetX = location.getBlockX();
+        this.offsetY = location.getBlockY();
+        this.offsetZ = location.getBlockZ();
+        this.minX = volume.getBlockMin().getX() + this.offsetX;
+        this.minY = Math.max(0, volume.getBlockMin().getY() + this.offsetY);
+        this.minZ = volume.getBlockMin().getZ() + this.offsetZ;
+        this.maxX = volume.getBlockMax().getX() + this.offsetX;
+        this.maxY = Math.min(this.world.getHeight() - 1, volume.getBlockMax().getY() + this.offsetY);
+        this.maxZ = volume.getBlockMax().getZ() + this.offsetZ;
+        this.minChunkX = this.minX >> 4;
+        this.minChunkZ = this.minZ >> 4;
+        this.chunksX = (this.maxX >> 4) - this.minChunkX + 1;
+        this.chunkCount = this.minY > this.maxY ? 0 : this.chunksX * ((this.maxZ >> 4) - this.minChunkZ + 1);
+    }
+
+    @Override
+    public void accept(Task task) {
+        try {
+            if (paste(System.nanoTime() + this.budgetNanos)) {
+                task.cancel();
+            }
+        } catch (RuntimeException e) {
+            task.cancel();
+            this.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Pastes chunks, then tile entities, until either everything is pasted
+     * or the deadline passes. At least one chunk or tile entity is pasted
+     * per call, so a paste always makes progress.
+     *
+     * @param deadline The {@link System#nanoTime()} to stop at
+     * @return Whether the paste is complete
+     */
+    boolean paste(long deadline) {
+        do {
+            if (this.nextChunk < this.chunkCount) {
+                final int index = this.nextChunk++;
+                pasteChunk(this.minChunkX + index % this.chunksX, this.minChunkZ + index / this.chunksX);
+            } else if (this.tiles.hasNext()) {
+                try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                        .source(this.volume)
+                        .buildAndSwitch()) {
+                    do {
+                        final Map.Entry<Vector3i, TileEntityArchetype> entry = this.tiles.next();
+                        entry.getValue().apply(this.location.add(entry.getKey()));
+                    } while (this.tiles.hasNext() && System.nanoTime() < deadline);
+                }
+            } else {
+                this.future.complete(null);
+                return true;
+            }
+        } while (System.nanoTime() < deadline);
+        return false;
+    }
+
+    private void pasteChunk(int chunkX, int chunkZ) {
+        final Chunk chunk = this.world.getChunkFromChunkCoords(chunkX, chunkZ);
+        final int changeCount = collectChanges(chunk, chunkX, chunkZ);
+        if (changeCount == 0 || ShouldFire.CHANGE_BLOCK_EVENT_POST && !postChangeEvent(chunk, changeCount)) {
+            return;
+        }
+
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final boolean skyLight = this.world.provider.hasSkyLight();
+        final IBlockState air = Blocks.AIR.getDefaultState();
+        final PlayerChunkMapEntry entry = this.world.getPlayerChunkMap().getEntry(chunkX, chunkZ);
+        int applied = 0;
+        int relights = 0;
+        for (int i = 0; i < changeCount; i++) {
+            final IBlockState state = this.changedStates[i];
+            if (state == null) {
+                continue;
+            }
+            final int packed = this.changedPositions[i];
+            final int x = (chunkX << 4) + (packed >>> 12);
+            final int y = packed & 0xFF;
+            final int z = (chunkZ << 4) + (packed >>> 8 & 15);
+            ExtendedBlockStorage section = sections[y >> 4];
+            final IBlockState current = section == Chunk.NULL_BLOCK_STORAGE ? air : section.get(x & 15, y & 15, z & 15);
+            if (section == Chunk.NULL_BLOCK_STORAGE) {
+                section = sections[y >> 4] = new ExtendedBlockStorage(y >> 4 << 4, skyLight);
+            }
+            if (SpongeImplHooks.hasBlockTileEntity(current.getBlock(), current)) {
+                this.world.removeTileEntity(new BlockPos(x, y, z));
+            }
+            section.set(x & 15, y & 15, z & 15, state);
+            if (state.getLightOpacity() != current.getLightOpacity() || state.getLightValue() != current.getLightValue()) {
+                this.relightPositions[relights++] = packed;
+            }
+            if (SpongeImplHooks.hasBlockTileEntity(state.getBlock(), state)
+                    && !this.archetypes.containsKey(new Vector3i(x - this.offsetX, y - this.offsetY, z - this.offsetZ))) {
+                chunk.getTileEntity(new BlockPos(x, y, z), Chunk.EnumCreateEntityType.IMMEDIATE);
+            }
+            if (entry != null && changeCount < MAX_TRACKED_CHANGES) {
+                entry.blockChanged(x & 15, y, z & 15);
+            }
+            applied++;
+        }
+        if (applied == 0) {
+            return;
+        }
+        chunk.generateSkylightMap();
+        chunk.markDirty();
+        // Relit once every block is written, so light isn't spread through blocks about to be replaced
+        for (int i = 0; i < relights; i++) {
+            final int packed = this.relightPositions[i];
+            this.world.checkLight(new BlockPos((chunkX << 4) + (packed >>> 12), packed & 0xFF, (chunkZ << 4) + (packed >>> 8 & 15)));
+        }
+        if (entry != null && changeCount >= MAX_TRACKED_CHANGES) {
+            ((IMixinPlayerChunkMapEntry) entry).markChunkForUpdate();
+        }
+    }
+
+    /**
+     * Collects the blocks of the chunk which differ from the volume.
+     *
+     * @return The number of changes
+     */
+    private int collectChanges(Chunk chunk, int chunkX, int chunkZ) {
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final IBlockState air = Blocks.AIR.getDefaultState();
+        final int x0 = Math.max(this.minX, chunkX << 4);
+        final int x1 = Math.min(this.maxX, (chunkX << 4) + 15);
+        final int z0 = Math.max(this.minZ, chunkZ << 4);
+        final int z1 = Math.min(this.maxZ, (chunkZ << 4) + 15);
+        final int capacity = (x1 - x0 + 1) * (z1 - z0 + 1) * (this.maxY - this.minY + 1);
+        if (this.changedPositions.length < capacity) {
+            this.changedPositions = new int[capacity];
+            this.changedStates = new IBlockState[capacity];
+            this.relightPositions = new int[capacity];
+        }
+        int changeCount = 0;
+        for (int y = this.minY; y <= this.maxY; y++) {
+            final ExtendedBlockStorage section = sections[y >> 4];
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    final IBlockState state = (IBlockState) this.volume.getBlock(x - this.offsetX, y - this.offsetY, z - this.offsetZ);
+                    final IBlockState current = section == Chunk.NULL_BLOCK_STORAGE ? air : section.get(x & 15, y & 15, z & 15);
+                    if (current != state) {
+                        this.changedPositions[changeCount] = (x & 15) << 12 | (z & 15) << 8 | y;
+                        this.changedStates[changeCount++] = state;
+                    }
+                }
+            }
+        }
+        return changeCount;
+    }
+
+    /**
+     * Posts the changes of the chunk as one event. Changes of invalidated
+     * transactions are dropped.
+     *
+     * @return Whether the changes may be applied
+     */
+    private boolean postChangeEvent(Chunk chunk, int changeCount) {
+        final IMixinWorldServer mixinWorld = (IMixinWorldServer) this.world;
+        final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>(changeCount);
+        for (int i = 0; i < changeCount; i++) {
+            final int packed = this.changedPositions[i];
+            final BlockPos pos = new BlockPos((chunk.x << 4) + (packed >>> 12), packed & 0xFF, (chunk.z << 4) + (packed >>> 8 & 15));
+            final IBlockState current = chunk.getBlockState(pos);
+            final BlockSnapshot original = mixinWorld.createSpongeBlockSnapshot(current, current.getActualState(this.world, pos), pos,
+                    BlockChangeFlags.NONE);
+            transactions.add(new Transaction<>(original, original.withState((BlockState) this.changedStates[i])));
+        }
+        final ChangeBlockEvent.Post event = SpongeEventFactory.createChangeBlockEventPost(this.cause, transactions);
+        if (SpongeImpl.postEvent(event)) {
+            return false;
+        }
+        for (int i = 0; i < changeCount; i++) {
+            final Transaction<BlockSnapshot> transaction = transactions.get(i);
+            this.changedStates[i] = transaction.isValid() ? (IBlockState) transaction.getFinal().getState() : null;
+        }
+        return true;
+    }
+
+}
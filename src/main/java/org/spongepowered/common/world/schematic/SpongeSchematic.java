@@ -29,7 +29,6 @@
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
-import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.Schematic;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 
@@ -60,7 +59,7 @@ public DataView getMetadata() {
     }
 
     @Override
-    public MutableBlockVolumeWorker<Schematic> getBlockWorker() {
+    public SpongeMutableBlockVolumeWorker<Schematic> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
@@ -0,0 +1,284 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.io.ByteStreams;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads only the requested paths of the level compound of a chunk straight
+ * from its NBT stream, skipping over the bytes of every other tag instead
+ * of building them.
+ */
+final class ProjectedChunkReader {
+
+    // Same limit as NBTSizeTracker enforces through NBTBase#read
+    private static final int MAX_DEPTH = 512;
+    // Always read, so the caller can tell which chunk the data belongs to
+    private static final String[] COORDINATES = {"xPos", "zPos"};
+
+    private final Node root = new Node();
+
+    ProjectedChunkReader(List<DataQuery> projection) {
+        for (String coordinate : COORDINATES) {
+            this.root.child(coordinate).full = true;
+        }
+        for (DataQuery query : projection) {
+            Node node = this.root;
+            for (String part : query.getParts()) {
+                node = node.child(part);
+            }
+            node.full = true;
+        }
+    }
+
+    /**
+     * Reads the projected level compound of a chunk, applying the same
+     * checks as {@link WorldStorageUtil#readDataFromRegion}.
+     *
+     * @param in The uncompressed chunk stream
+     * @return The projected level compound, or null if the chunk is invalid
+     * @throws IOException If the stream could not be read
+     */
+    @Nullable
+    NBTTagCompound read(DataInputStream in) throws IOException {
+        if (in.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            return null;
+        }
+        skipString(in);
+        NBTTagCompound level = null;
+        byte type;
+        while ((type = in.readByte()) != NbtDataUtil.TAG_END) {
+            final String key = in.readUTF();
+            if (level == null && type == NbtDataUtil.TAG_COMPOUND && key.equals(NbtDataUtil.CHUNK_DATA_LEVEL)) {
+                level = new NBTTagCompound();
+                if (!readLevel(in, level)) {
+                    return null;
+                }
+            } else {
+                skip(in, type, 0);
+            }
+        }
+        return level;
+    }
+
+    // Returns whether the level had the sections list every valid chunk has
+    private boolean readLevel(DataInputStream in, NBTTagCompound level) throws IOException {
+        boolean hasSections = false;
+        byte type;
+        while ((type = in.readByte()) != NbtDataUtil.TAG_END) {
+            final String key = in.readUTF();
+            if (type == NbtDataUtil.TAG_LIST && key.equals(NbtDataUtil.CHUNK_DATA_SECTIONS)) {
+                hasSections = true;
+            }
+            readEntry(in, type, key, this.root.children.get(key), level, 1);
+        }
+        return hasSections;
+    }
+
+    private void readEntry(DataInputStream in, byte type, String key, @Nullable Node node, NBTTagCompound parent, int depth)
+            throws IOException {
+        if (node == null) {
+            skip(in, type, depth);
+        } else if (node.full) {
+            parent.setTag(key, readTag(in, type, depth));
+        } else if (type == NbtDataUtil.TAG_COMPOUND) {
+            final NBTTagCompound compound = new NBTTagCompound();
+            byte childType;
+            while ((childType = in.readByte()) != NbtDataUtil.TAG_END) {
+                final String childKey = in.readUTF();
+                readEntry(in, childType, childKey, node.children.get(childKey), compound, depth + 1);
+            }
+            if (!compound.hasNoTags()) {
+                parent.setTag(key, compound);
+            }
+        } else {
+            // The query goes deeper than this tag, so there is nothing to select
+            skip(in, type, depth);
+        }
+    }
+
+    private static NBTBase readTag(DataInputStream in, byte type, int depth) throws IOException {
+        checkDepth(depth);
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return new NBTTagByte(in.readByte());
+            case NbtDataUtil.TAG_SHORT:
+                return new NBTTagShort(in.readShort());
+            case NbtDataUtil.TAG_INT:
+                return new NBTTagInt(in.readInt());
+            case NbtDataUtil.TAG_LONG:
+                return new NBTTagLong(in.readLong());
+            case NbtDataUtil.TAG_FLOAT:
+                return new NBTTagFloat(in.readFloat());
+            case NbtDataUtil.TAG_DOUBLE:
+                return new NBTTagDouble(in.readDouble());
+            case NbtDataUtil.TAG_BYTE_ARRAY: {
+                final byte[] bytes = new byte[checkLength(in.readInt())];
+                in.readFully(bytes);
+                return new NBTTagByteArray(bytes);
+            }
+            case NbtDataUtil.TAG_STRING:
+                return new NBTTagString(in.readUTF());
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int length = checkLength(in.readInt());
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < length; i++) {
+                    list.appendTag(readTag(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                byte childType;
+                while ((childType = in.readByte()) != NbtDataUtil.TAG_END) {
+                    final String childKey = in.readUTF();
+                    compound.setTag(childKey, readTag(in, childType, depth + 1));
+                }
+                return compound;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY: {
+                final int[] ints = new int[checkLength(in.readInt())];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return new NBTTagIntArray(ints);
+            }
+            case NbtDataUtil.TAG_LONG_ARRAY: {
+                final long[] longs = new long[checkLength(in.readInt())];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = in.readLong();
+                }
+                return new NBTTagLongArray(longs);
+            }
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static void skip(DataInputStream in, byte type, int depth) throws IOException {
+        checkDepth(depth);
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                ByteStreams.skipFully(in, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                ByteStreams.skipFully(in, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                ByteStreams.skipFully(in, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                ByteStreams.skipFully(in, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                ByteStreams.skipFully(in, checkLength(in.readInt()));
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipString(in);
+                break;
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int length = checkLength(in.readInt());
+                for (int i = 0; i < length; i++) {
+                    skip(in, elementType, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                byte childType;
+                while ((childType = in.readByte()) != NbtDataUtil.TAG_END) {
+                    skipString(in);
+                    skip(in, childType, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY:
+                ByteStreams.skipFully(in, checkLength(in.readInt()) * 4L);
+                break;
+            case NbtDataUtil.TAG_LONG_ARRAY:
+                ByteStreams.skipFully(in, checkLength(in.readInt()) * 8L);
+                break;
+            case NbtDataUtil.TAG_END:
+                // Empty lists are typed as end tags and have no elements to skip
+                break;
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static void skipString(DataInputStream in) throws IOException {
+        ByteStreams.skipFully(in, in.readUnsignedShort());
+    }
+
+    private static int checkLength(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative NBT array length " + length);
+        }
+        return length;
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+    }
+
+    private static final class Node {
+
+        final Map<String, Node> children = new HashMap<>();
+        // Whether the whole tag is selected, not just some of its children
+        boolean full;
+
+        Node child(String key) {
+            return this.children.computeIfAbsent(key, k -> new Node());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits the chunks of a set of region files between workers. Every chunk
+ * is read with positional reads on the worker's own channel and inflated
+ * there, so nothing goes through the shared {@code RegionFileCache}.
+ *
+ * <p>Locations pack the index of the region file into the upper half and
+ * the raw header entry (sector offset and count) into the lower half, and
+ * are sorted by region so that a split keeps reading a single file for as
+ * long as possible.</p>
+ */
+final class RegionChunkSpliterator implements Spliterator<DataContainer> {
+
+    static final int SECTOR_SIZE = 4096;
+    private static final int VERSION_GZIP = 1;
+    private static final int VERSION_DEFLATE = 2;
+    private static final int MIN_SPLIT = 32;
+
+    private final Path[] regions;
+    private final long[] locations;
+    private final Set<FileChannel> openChannels;
+    @Nullable private final ProjectedChunkReader projection;
+    private int origin;
+    private final int fence;
+
+    @Nullable private FileChannel channel;
+    private int channelRegion = -1;
+
+    RegionChunkSpliterator(Path[] regions, long[] locations, Set<FileChannel> openChannels, @Nullable ProjectedChunkReader projection) {
+        this(regions, locations, openChannels, projection, 0, locations.length);
+    }
+
+    private RegionChunkSpliterator(Path[] regions, long[] locations, Set<FileChannel> openChannels,
+            @Nullable ProjectedChunkReader projection, int origin, int fence) {
+        this.regions = regions;
+        this.locations = locations;
+        this.openChannels = openChannels;
+        this.projection = projection;
+        this.origin = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DataContainer> action) {
+        while (this.origin < this.fence) {
+            final DataContainer data = read(this.locations[this.origin++]);
+            if (data != null) {
+                action.accept(data);
+                return true;
+            }
+        }
+        closeChannel();
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super DataContainer> action) {
+        while (this.origin < this.fence) {
+            final DataContainer data = read(this.locations[this.origin++]);
+            if (data != null) {
+                action.accept(data);
+            }
+        }
+        closeChannel();
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<DataContainer> trySplit() {
+        final int mid = (this.origin + this.fence) >>> 1;
+        if (mid - this.origin < MIN_SPLIT) {
+            return null;
+        }
+        final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.regions, this.locations, this.openChannels,
+                this.projection, this.origin, mid);
+        this.origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // Chunks that turn out to be corrupt are skipped, so this is an upper bound
+        return this.fence - this.origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    @Nullable
+    private DataContainer read(long location) {
+        final int region = (int) (location >>> 32);
+        final int entry = (int) location;
+        final long offset = (long) (entry >>> 8) * SECTOR_SIZE;
+        final int sectors = entry & 0xFF;
+        try {
+            final FileChannel channel = getChannel(region);
+            final ByteBuffer header = ByteBuffer.allocate(5);
+            readFully(channel, header, offset);
+            header.flip();
+            final int length = header.getInt() - 1;
+            final int version = header.get();
+            if (length <= 0 || length + 5 > sectors * SECTOR_SIZE) {
+                return null;
+            }
+            final ByteBuffer compressed = ByteBuffer.allocate(length);
+            readFully(channel, compressed, offset + 5);
+            final InputStream raw = new ByteArrayInputStream(compressed.array());
+            final InputStream inflated;
+            if (version == VERSION_GZIP) {
+                inflated = new GZIPInputStream(raw);
+            } else if (version == VERSION_DEFLATE) {
+                inflated = new InflaterInputStream(raw);
+            } else {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(inflated))) {
+                if (this.projection != null) {
+                    final NBTTagCompound level = this.projection.read(in);
+                    return level == null ? null : NbtTranslator.getInstance().translateFrom(level);
+                }
+                return WorldStorageUtil.readDataFromRegion(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Skipping unreadable chunk at sector {} of {}", entry >>> 8, this.regions[region], e);
+            return null;
+        }
+    }
+
+    private FileChannel getChannel(int region) throws IOException {
+        if (this.channel == null || this.channelRegion != region) {
+            closeChannel();
+            this.channel = FileChannel.open(this.regions[region], StandardOpenOption.READ);
+            this.channelRegion = region;
+            this.openChannels.add(this.channel);
+        }
+        return this.channel;
+    }
+
+    private void closeChannel() {
+        if (this.channel != null) {
+            this.openChannels.remove(this.channel);
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+            }
+            this.channel = null;
+            this.channelRegion = -1;
+        }
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of region file");
+            }
+        }
+    }
+
+}
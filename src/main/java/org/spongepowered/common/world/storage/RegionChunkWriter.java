@@ -0,0 +1,263 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes the pending chunks of a chunk loader in batches. Every call takes
+ * the latest queued compound of each pending chunk, so chunks saved again
+ * before they were written are only compressed and written once. The
+ * chunks are compressed in parallel and every region file touched by the
+ * batch is then written in one pass. Regions are processed in waves of a
+ * bounded number of chunks, so a large batch never holds every compressed
+ * chunk in memory at once.
+ */
+public final class RegionChunkWriter {
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk Writer Thread #%d").setDaemon(true).build());
+
+    // Whole regions are added to a wave until it holds at least this many chunks
+    private static final int WAVE_CHUNKS = 1024;
+
+    private final File chunkSaveLocation;
+    private final Map<ChunkPos, NBTTagCompound> chunksToSave;
+    private final Object lock;
+
+    private final LongAdder chunksWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    /**
+     * Creates a writer for the pending chunks of a chunk loader.
+     *
+     * @param chunkSaveLocation The world directory
+     * @param chunksToSave The pending chunks, which are only removed once written
+     * @param lock The lock guarding the pending chunks
+     */
+    public RegionChunkWriter(File chunkSaveLocation, Map<ChunkPos, NBTTagCompound> chunksToSave, Object lock) {
+        this.chunkSaveLocation = chunkSaveLocation;
+        this.chunksToSave = chunksToSave;
+        this.lock = lock;
+    }
+
+    public long getChunksWritten() {
+        return this.chunksWritten.sum();
+    }
+
+    public long getBytesWritten() {
+        return this.bytesWritten.sum();
+    }
+
+    /**
+     * Gets the total time spent writing batches, including compression.
+     *
+     * @return The flush time in nanoseconds
+     */
+    public long getFlushNanos() {
+        return this.flushNanos.sum();
+    }
+
+    /**
+     * Writes every chunk pending at the time of the call, blocking until the
+     * batch is written.
+     *
+     * @return False if there was nothing to write
+     */
+    public boolean writePending() {
+        final Long2ObjectMap<List<PendingChunk>> regions = new Long2ObjectOpenHashMap<>();
+        synchronized (this.lock) {
+            for (Map.Entry<ChunkPos, NBTTagCompound> entry : this.chunksToSave.entrySet()) {
+                final ChunkPos pos = entry.getKey();
+                regions.computeIfAbsent(ChunkPos.asLong(pos.x >> 5, pos.z >> 5), k -> new ArrayList<>())
+                        .add(new PendingChunk(pos, entry.getValue()));
+            }
+        }
+        if (regions.isEmpty()) {
+            return false;
+        }
+
+        final long start = System.nanoTime();
+        final List<List<PendingChunk>> wave = new ArrayList<>();
+        int waveChunks = 0;
+        for (List<PendingChunk> region : regions.values()) {
+            wave.add(region);
+            waveChunks += region.size();
+            if (waveChunks >= WAVE_CHUNKS) {
+                this.writeWave(wave);
+                wave.clear();
+                waveChunks = 0;
+            }
+        }
+        if (!wave.isEmpty()) {
+            this.writeWave(wave);
+        }
+        this.flushNanos.add(System.nanoTime() - start);
+        return true;
+    }
+
+    private void writeWave(List<List<PendingChunk>> wave) {
+        final List<CompletableFuture<Void>> writes = new ArrayList<>(wave.size());
+        for (List<PendingChunk> region : wave) {
+            final List<CompletableFuture<CompressedChunk>> compressed = new ArrayList<>(region.size());
+            for (PendingChunk chunk : region) {
+                compressed.add(CompletableFuture.supplyAsync(() -> compress(chunk), WORKERS));
+            }
+            writes.add(CompletableFuture.allOf(compressed.toArray(new CompletableFuture<?>[0]))
+                    .thenAcceptAsync(v -> this.writeRegion(compressed), WORKERS));
+        }
+        for (CompletableFuture<Void> write : writes) {
+            try {
+                write.join();
+            } catch (CompletionException e) {
+                SpongeImpl.getLogger().error("Failed to save chunks to {}", this.chunkSaveLocation, e.getCause());
+            }
+        }
+
+        synchronized (this.lock) {
+            for (List<PendingChunk> region : wave) {
+                for (PendingChunk chunk : region) {
+                    // A newer compound may have been queued in the meantime
+                    if (this.chunksToSave.get(chunk.pos) == chunk.compound) {
+                        this.chunksToSave.remove(chunk.pos);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeRegion(List<CompletableFuture<CompressedChunk>> region) {
+        final List<CompressedChunk> chunks = new ArrayList<>(region.size());
+        for (CompletableFuture<CompressedChunk> chunk : region) {
+            chunks.add(chunk.join());
+        }
+        final CompressedChunk first = chunks.get(0);
+        IOException failure = null;
+        // Retried once, the region cache may close the file while it's in use
+        for (int attempt = 0; attempt < 2; attempt++) {
+            final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, first.chunkX, first.chunkZ);
+            try {
+                this.bytesWritten.add(((IMixinRegionFile) regionFile).writeChunks(chunks));
+                this.chunksWritten.add(chunks.size());
+                return;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        throw new UncheckedIOException(failure);
+    }
+
+    private static CompressedChunk compress(PendingChunk chunk) {
+        final ChunkBuffer buffer = new ChunkBuffer();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(buffer))) {
+            CompressedStreamTools.write(chunk.compound, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CompressedChunk(chunk.pos.x, chunk.pos.z, buffer.getBuffer(), buffer.size());
+    }
+
+    private static final class PendingChunk {
+
+        final ChunkPos pos;
+        final NBTTagCompound compound;
+
+        PendingChunk(ChunkPos pos, NBTTagCompound compound) {
+            this.pos = pos;
+            this.compound = compound;
+        }
+    }
+
+    // Hands out the internal buffer instead of copying it
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        ChunkBuffer() {
+            super(8192);
+        }
+
+        byte[] getBuffer() {
+            return this.buf;
+        }
+    }
+
+    /**
+     * A chunk compressed in the region file format.
+     */
+    public static final class CompressedChunk {
+
+        final int chunkX;
+        final int chunkZ;
+        private final byte[] data;
+        private final int length;
+
+        CompressedChunk(int chunkX, int chunkZ, byte[] data, int length) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.data = data;
+            this.length = length;
+        }
+
+        public int getLocalX() {
+            return this.chunkX & 31;
+        }
+
+        public int getLocalZ() {
+            return this.chunkZ & 31;
+        }
+
+        public byte[] getData() {
+            return this.data;
+        }
+
+        public int getLength() {
+            return this.length;
+        }
+    }
+}
@@ -24,16 +24,29 @@
  */
 package org.spongepowered.common.world.storage;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.world.chunk.storage.RegionFile;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SpongeChunkDataStream implements ChunkDataStream {
 
@@ -146,4 +159,61 @@ public void reset() {
         this.openedFiles.clear();
     }
 
+    /**
+     * Streams the chunks of every region file of the world, independently of
+     * the position of this iterator. Chunks are read and decompressed on the
+     * thread consuming them, so a parallel stream spreads the work over the
+     * common pool. Chunks that fail to read are skipped.
+     *
+     * <p>If any queries are given, only those paths of the level container
+     * are read, everything else is skipped over without being built. The
+     * chunk coordinates are always included.</p>
+     *
+     * <p>The stream should be closed once done with, to release the region
+     * files still open.</p>
+     *
+     * @param parallel Whether the stream is parallel
+     * @param projection The paths to read, relative to the level container
+     * @return The stream of chunk data
+     */
+    public Stream<DataContainer> stream(boolean parallel, DataQuery... projection) {
+        final List<Path> regions = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
+        final LongArrayList locations = new LongArrayList();
+        for (int i = 0; i < regions.size(); i++) {
+            try (FileChannel channel = FileChannel.open(regions.get(i), StandardOpenOption.READ)) {
+                if (channel.size() < RegionChunkSpliterator.SECTOR_SIZE) {
+                    continue;
+                }
+                // Read rather than mapped, mappings are only released once garbage collected and keep the file locked meanwhile
+                final ByteBuffer headerBytes = ByteBuffer.allocate(RegionChunkSpliterator.SECTOR_SIZE);
+                RegionChunkSpliterator.readFully(channel, headerBytes, 0);
+                headerBytes.flip();
+                final IntBuffer header = headerBytes.asIntBuffer();
+                final int start = locations.size();
+                while (header.hasRemaining()) {
+                    final int entry = header.get();
+                    if (entry != 0) {
+                        locations.add((long) i << 32 | (entry & 0xFFFFFFFFL));
+                    }
+                }
+                // Read each region front to back
+                Arrays.sort(locations.elements(), start, locations.size());
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not read the header of region file {}", regions.get(i), e);
+            }
+        }
+        final Set<FileChannel> openChannels = ConcurrentHashMap.newKeySet();
+        final RegionChunkSpliterator spliterator = new RegionChunkSpliterator(regions.toArray(new Path[0]), locations.toLongArray(),
+                openChannels, projection.length == 0 ? null : new ProjectedChunkReader(Arrays.asList(projection)));
+        return StreamSupport.stream(spliterator, parallel).onClose(() -> {
+            for (FileChannel channel : openChannels) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            openChannels.clear();
+        });
+    }
+
 }
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class CommandAliasTreeTest {
+
+    private static final String[] ALIASES = {
+            "give", "gamemode", "gamerule", "g", "ga", "sponge", "sponge:sponge", "sponge:help", "help", "minecraft:give", "minecraft:help",
+            "tp", "tpa", "tpaccept", "tpahere", "tphere", "t", "warp", "warps", "w"
+    };
+
+    @Test
+    public void testMatchesMultimap() {
+        final Random random = new Random(0xA11A5);
+        final CommandMapping[] mappings = {mock(CommandMapping.class), mock(CommandMapping.class), mock(CommandMapping.class)};
+        final ListMultimap<String, CommandMapping> expected = ArrayListMultimap.create();
+        CommandAliasTree tree = CommandAliasTree.EMPTY;
+        for (int i = 0; i < 2000; i++) {
+            final String alias = ALIASES[random.nextInt(ALIASES.length)];
+            final CommandMapping mapping = mappings[random.nextInt(mappings.length)];
+            if (random.nextBoolean()) {
+                if (!expected.containsEntry(alias, mapping)) {
+                    expected.put(alias, mapping);
+                }
+                tree = tree.with(alias, mapping);
+            } else {
+                expected.remove(alias, mapping);
+                tree = tree.without(alias, mapping);
+            }
+            assertEquals(expected.keySet().size(), tree.size());
+            for (String check : ALIASES) {
+                assertEquals(check, expected.get(check), tree.get(check));
+                final String prefix = check.substring(0, random.nextInt(check.length() + 1));
+                assertEquals(prefix, withPrefix(expected, prefix), collect(tree, prefix));
+            }
+        }
+    }
+
+    @Test
+    public void testOldTreeIsUnchanged() {
+        final CommandMapping mapping = mock(CommandMapping.class);
+        final CommandAliasTree before = CommandAliasTree.EMPTY.with("tp", mapping);
+        final CommandAliasTree after = before.with("tpa", mapping).without("tp", mapping);
+        assertEquals(1, before.size());
+        assertEquals(1, before.get("tp").size());
+        assertEquals(0, before.get("tpa").size());
+        assertEquals(0, after.get("tp").size());
+        assertEquals(1, after.get("tpa").size());
+    }
+
+    private static Map<String, List<CommandMapping>> withPrefix(ListMultimap<String, CommandMapping> expected, String prefix) {
+        final Map<String, List<CommandMapping>> result = new TreeMap<>();
+        Multimaps.asMap(expected).forEach((alias, mappings) -> {
+            if (alias.startsWith(prefix)) {
+                result.put(alias, new ArrayList<>(mappings));
+            }
+        });
+        return result;
+    }
+
+    private static Map<String, List<CommandMapping>> collect(CommandAliasTree tree, String prefix) {
+        final Map<String, List<CommandMapping>> result = new TreeMap<>();
+        final List<String> order = new ArrayList<>();
+        tree.forEachWithPrefix(prefix, (alias, mappings) -> {
+            order.add(alias);
+            result.put(alias, new ArrayList<>(mappings));
+        });
+        assertEquals(new ArrayList<>(result.keySet()), order);
+        return result;
+    }
+}
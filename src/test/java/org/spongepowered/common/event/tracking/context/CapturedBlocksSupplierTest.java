@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.entity.PlayerTrackerMap;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.BlockChange;
+import org.spongepowered.common.world.SpongeBlockChangeFlag;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class CapturedBlocksSupplierTest {
+
+    private final Map<SpongeBlockSnapshot, Object[]> created = new HashMap<>();
+    private IMixinWorldServer world;
+    private SpongeBlockChangeFlag flag;
+
+    @Before
+    public void setUp() {
+        this.world = mock(IMixinWorldServer.class);
+        this.flag = mock(SpongeBlockChangeFlag.class);
+        when(this.world.createSpongeBlockSnapshot(any(IBlockState.class), any(BlockPos.class), any(SpongeBlockChangeFlag.class), anyInt(),
+            anyInt())).thenAnswer(invocation -> {
+                final SpongeBlockSnapshot snapshot = mock(SpongeBlockSnapshot.class);
+                this.created.put(snapshot, invocation.getArguments());
+                return snapshot;
+            });
+    }
+
+    @Test
+    public void testMixedCapturesKeepOrderAndOwners() {
+        final CapturedBlocksSupplier supplier = new CapturedBlocksSupplier();
+        final IBlockState first = mock(IBlockState.class);
+        final IBlockState third = mock(IBlockState.class);
+        final SpongeBlockSnapshot eager = mock(SpongeBlockSnapshot.class);
+        eager.blockChange = BlockChange.PLACE;
+
+        supplier.capturePending(this.world, new BlockPos(1, 2, 3), first, this.flag, BlockChange.BREAK, 4, 7);
+        supplier.captureSnapshot(this.world, new BlockPos(4, 5, 6), mock(IBlockState.class), this.flag, eager);
+        supplier.capturePending(this.world, new BlockPos(7, 8, 9), third, this.flag, BlockChange.MODIFY, PlayerTrackerMap.NO_INDEX, 2);
+
+        final List<BlockSnapshot> snapshots = new ArrayList<>(supplier.get());
+        assertEquals(3, snapshots.size());
+        assertSame(eager, snapshots.get(1));
+        assertCreated(snapshots.get(0), first, new BlockPos(1, 2, 3), 4, 7);
+        assertEquals(BlockChange.BREAK, ((SpongeBlockSnapshot) snapshots.get(0)).blockChange);
+        assertCreated(snapshots.get(2), third, new BlockPos(7, 8, 9), PlayerTrackerMap.NO_INDEX, 2);
+        assertEquals(BlockChange.MODIFY, ((SpongeBlockSnapshot) snapshots.get(2)).blockChange);
+
+        // Captured after the first read, still appended in order
+        final IBlockState fourth = mock(IBlockState.class);
+        supplier.capturePending(this.world, new BlockPos(0, 0, 0), fourth, this.flag, BlockChange.PLACE, 1, 1);
+        final List<BlockSnapshot> all = supplier.get();
+        assertEquals(4, all.size());
+        assertEquals(snapshots, all.subList(0, 3));
+        assertCreated(all.get(3), fourth, new BlockPos(0, 0, 0), 1, 1);
+    }
+
+    @Test
+    public void testRemoveCaptureKeepsNestedCaptures() {
+        final CapturedBlocksSupplier supplier = new CapturedBlocksSupplier();
+        final IBlockState outer = mock(IBlockState.class);
+        final IBlockState nested = mock(IBlockState.class);
+        final int index = supplier.capturePending(this.world, new BlockPos(0, 0, 0), outer, this.flag, BlockChange.PLACE, 0, 0);
+        supplier.capturePending(this.world, new BlockPos(0, 1, 0), nested, this.flag, BlockChange.BREAK, 0, 0);
+
+        supplier.removeCapture(index, new BlockPos(0, 0, 0), outer);
+
+        final List<BlockSnapshot> snapshots = supplier.get();
+        assertEquals(1, snapshots.size());
+        assertCreated(snapshots.get(0), nested, new BlockPos(0, 1, 0), 0, 0);
+    }
+
+    @Test
+    public void testDeferredChangesAreReadWithoutSnapshots() {
+        final CapturedBlocksSupplier supplier = new CapturedBlocksSupplier();
+        final IBlockState state = mock(IBlockState.class);
+        supplier.capturePending(this.world, new BlockPos(1, 1, 1), state, this.flag, BlockChange.DECAY, 3, 5);
+
+        supplier.acceptAndClearIfNotEmpty(list -> {
+            assertFalse(list.isEmpty());
+            assertSame(supplier, CapturedBlocksSupplier.getDeferring(list));
+            final CapturedBlocksSupplier.Changes changes = supplier.detach();
+            assertEquals(1, changes.size());
+            assertEquals(new BlockPos(1, 1, 1), changes.getPosition(0));
+            assertSame(state, changes.getOriginalState(0));
+            assertSame(this.world, changes.getWorld(0));
+            assertSame(this.flag, changes.getFlag(0));
+            assertEquals(BlockChange.DECAY, changes.getBlockChange(0));
+            supplier.release(changes);
+        });
+
+        verify(this.world, never()).createSpongeBlockSnapshot(any(IBlockState.class), any(BlockPos.class), any(SpongeBlockChangeFlag.class),
+            anyInt(), anyInt());
+        assertTrue(supplier.isEmpty());
+    }
+
+    @Test
+    public void testReadListIsNotDeferring() {
+        final CapturedBlocksSupplier supplier = new CapturedBlocksSupplier();
+        supplier.capturePending(this.world, new BlockPos(0, 0, 0), mock(IBlockState.class), this.flag, BlockChange.PLACE, 0, 0);
+
+        supplier.acceptAndClearIfNotEmpty(list -> {
+            assertEquals(1, list.size());
+            assertNull(CapturedBlocksSupplier.getDeferring(list));
+        });
+        assertTrue(supplier.isEmpty());
+    }
+
+    private void assertCreated(BlockSnapshot snapshot, IBlockState state, BlockPos pos, int owner, int notifier) {
+        final Object[] arguments = this.created.get(snapshot);
+        assertSame(state, arguments[0]);
+        assertEquals(pos, arguments[1]);
+        assertSame(this.flag, arguments[2]);
+        assertEquals(owner, arguments[3]);
+        assertEquals(notifier, arguments[4]);
+    }
+}
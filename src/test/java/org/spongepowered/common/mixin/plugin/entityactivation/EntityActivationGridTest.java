@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.Arrays;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class EntityActivationGridTest {
+
+    private static final int MONSTER = 1 << 1;
+    private static final int CREATURE = 1 << 2;
+
+    private EntityActivationGrid grid;
+    private long tick;
+
+    @Before
+    public void setUp() {
+        this.grid = new EntityActivationGrid();
+    }
+
+    @Test
+    public void testCountsOverlappingPlayers() {
+        track(radii(1, 2), player(1, 0, 0), player(2, 2, 0));
+
+        assertEquals(MONSTER | CREATURE, this.grid.getMask(0, 0));
+        assertEquals(MONSTER | CREATURE, this.grid.getMask(1, 0));
+        assertEquals(MONSTER | CREATURE, this.grid.getMask(3, 0));
+        assertEquals(CREATURE, this.grid.getMask(4, 0));
+        assertEquals(CREATURE, this.grid.getMask(-2, 2));
+        assertEquals(0, this.grid.getMask(-3, 0));
+        assertEquals(0, this.grid.getMask(0, 3));
+    }
+
+    @Test
+    public void testBorderCrossing() {
+        final EntityPlayer player = player(1, 0, 0);
+        track(radii(1, -1), player);
+        this.grid.clearChanged();
+
+        player.chunkCoordX = 1;
+        track(radii(1, -1), player);
+
+        assertTrue(this.grid.isChanged(-1, 0));
+        assertEquals(0, this.grid.getMask(-1, 0));
+        assertTrue(this.grid.isChanged(2, 1));
+        assertEquals(MONSTER, this.grid.getMask(2, 1));
+        // Still within range on both sides of the border
+        assertFalse(this.grid.isChanged(0, 0));
+        assertEquals(MONSTER, this.grid.getMask(0, 0));
+    }
+
+    @Test
+    public void testRadiusChange() {
+        final EntityPlayer player = player(1, 0, 0);
+        track(radii(1, -1), player);
+        this.grid.clearChanged();
+
+        track(radii(2, -1), player);
+
+        assertTrue(this.grid.isChanged(2, 0));
+        assertEquals(MONSTER, this.grid.getMask(2, 0));
+        assertEquals(0, this.grid.getMask(3, 0));
+
+        this.grid.clearChanged();
+        track(radii(0, -1), player);
+
+        assertTrue(this.grid.isChanged(1, 0));
+        assertEquals(0, this.grid.getMask(1, 0));
+        assertEquals(MONSTER, this.grid.getMask(0, 0));
+    }
+
+    @Test
+    public void testPlayerRemoval() {
+        final EntityPlayer first = player(1, 0, 0);
+        final EntityPlayer second = player(2, 0, 0);
+        track(radii(1, -1), first, second);
+        this.grid.clearChanged();
+
+        track(radii(1, -1), first);
+
+        // The remaining player keeps the chunks in range
+        assertFalse(this.grid.isChanged(0, 0));
+        assertEquals(MONSTER, this.grid.getMask(0, 0));
+
+        track(radii(1, -1));
+
+        assertTrue(this.grid.isChanged(0, 0));
+        assertEquals(0, this.grid.getMask(0, 0));
+        assertEquals(0, this.grid.getMask(1, 1));
+    }
+
+    @Test
+    public void testIgnoresPlayersNotInChunk() {
+        final EntityPlayer player = player(1, 0, 0);
+        player.addedToChunk = false;
+        track(radii(1, -1), player);
+
+        assertFalse(this.grid.isChanged(0, 0));
+        assertEquals(0, this.grid.getMask(0, 0));
+    }
+
+    private void track(int[] radii, EntityPlayer... players) {
+        this.grid.track(ImmutableList.copyOf(players), radii, ++this.tick);
+    }
+
+    // Tracks monsters and creatures only
+    private static int[] radii(int monster, int creature) {
+        final int[] radii = new int[6];
+        Arrays.fill(radii, -1);
+        radii[0] = 0;
+        radii[1] = monster;
+        radii[2] = creature;
+        return radii;
+    }
+
+    private static EntityPlayer player(int id, int chunkX, int chunkZ) {
+        final EntityPlayerMP player = mock(EntityPlayerMP.class);
+        when(player.getEntityId()).thenReturn(id);
+        player.addedToChunk = true;
+        player.chunkCoordX = chunkX;
+        player.chunkCoordZ = chunkZ;
+        return player;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class TileEntityActivationBucketsTest {
+
+    private static final long TICK = 20;
+
+    @Test
+    public void testRoundedRangeThreshold() {
+        // A range of 2 reaches squared distances up to 2 * 2 + 2
+        final FakeTile within = new FakeTile(new BlockPos(0, 0, 0), 2);
+        final FakeTile outside = new FakeTile(new BlockPos(0, 0, 100), 2);
+        activate(ImmutableList.of(within, outside), player(1, 1, 2), player(2, 0, 102));
+
+        assertEquals(TICK, within.getActivatedTick());
+        assertEquals(0, outside.getActivatedTick());
+    }
+
+    @Test
+    public void testSkipsBucketsOutOfReach() {
+        final FakeTile near = new FakeTile(new BlockPos(0, 0, 0), 1);
+        final FakeTile far = new FakeTile(new BlockPos(1, 0, 0), 8);
+        // Nearest squared distance to the bounds is 25, out of reach of range 1 only
+        activate(ImmutableList.of(near, far), player(6, 0, 0));
+
+        assertEquals(0, near.getActivatedTick());
+        assertEquals(TICK, far.getActivatedTick());
+    }
+
+    @Test
+    public void testCoversWholeBucket() {
+        final FakeTile first = new FakeTile(new BlockPos(0, 0, 0), 4);
+        final FakeTile second = new FakeTile(new BlockPos(3, 1, 3), 4);
+        final FakeTile third = new FakeTile(new BlockPos(0, 1, 3), 4);
+        activate(ImmutableList.of(first, second, third), player(1, 0, 1));
+
+        assertEquals(TICK, first.getActivatedTick());
+        assertEquals(TICK, second.getActivatedTick());
+        assertEquals(TICK, third.getActivatedTick());
+    }
+
+    @Test
+    public void testChecksEachTileInPartialBucket() {
+        final FakeTile reached = new FakeTile(new BlockPos(0, 0, 0), 3);
+        final FakeTile missed = new FakeTile(new BlockPos(10, 0, 0), 3);
+        activate(ImmutableList.of(reached, missed), player(1, 0, 0));
+
+        assertEquals(TICK, reached.getActivatedTick());
+        assertEquals(0, missed.getActivatedTick());
+    }
+
+    @Test
+    public void testAlwaysAndNeverActive() {
+        final FakeTile always = new FakeTile(new BlockPos(0, 0, 1000), 1);
+        always.setDefaultActivationState(true);
+        final FakeTile never = new FakeTile(new BlockPos(0, 0, 0), -1);
+        activate(ImmutableList.of(always, never), player(0, 0, 0));
+
+        assertEquals(TICK, always.getActivatedTick());
+        assertEquals(0, never.getActivatedTick());
+    }
+
+    private static void activate(Iterable<FakeTile> tiles, EntityPlayerMP... players) {
+        final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+        for (FakeTile tile : tiles) {
+            tileEntities.put(tile.getPos(), tile);
+        }
+        final Chunk chunk = mock(Chunk.class);
+        when(chunk.getTileEntityMap()).thenReturn(tileEntities);
+        new TileEntityActivationBuckets().activate(chunk, ImmutableList.copyOf(players), TICK);
+    }
+
+    private static EntityPlayerMP player(int x, int y, int z) {
+        final EntityPlayerMP player = mock(EntityPlayerMP.class);
+        player.posX = x + 0.5D;
+        player.posY = y;
+        player.posZ = z + 0.5D;
+        return player;
+    }
+
+    private static final class FakeTile extends TileEntity implements ITickable, IModData_Activation {
+
+        private final int range;
+        private boolean defaultState;
+        private long activatedTick;
+
+        FakeTile(BlockPos pos, int range) {
+            this.setPos(pos);
+            this.range = range;
+        }
+
+        @Override
+        public void update() {
+        }
+
+        @Override
+        public void inactiveTick() {
+        }
+
+        @Override
+        public byte getActivationType() {
+            return 0;
+        }
+
+        @Override
+        public long getActivatedTick() {
+            return this.activatedTick;
+        }
+
+        @Override
+        public boolean getDefaultActivationState() {
+            return this.defaultState;
+        }
+
+        @Override
+        public void setActivatedTick(long tick) {
+            this.activatedTick = tick;
+        }
+
+        @Override
+        public int getActivationRange() {
+            return this.range;
+        }
+
+        @Override
+        public void setActivationRange(int range) {
+        }
+
+        @Override
+        public void requiresActivationCacheRefresh(boolean flag) {
+        }
+
+        @Override
+        public boolean requiresActivationCacheRefresh() {
+            return false;
+        }
+
+        @Override
+        public void setDefaultActivationState(boolean defaultState) {
+            this.defaultState = defaultState;
+        }
+
+        @Override
+        public int getSpongeTicksExisted() {
+            return 0;
+        }
+
+        @Override
+        public void incrementSpongeTicksExisted() {
+        }
+
+        @Override
+        public int getSpongeTickRate() {
+            return 1;
+        }
+
+        @Override
+        public void setSpongeTickRate(int tickRate) {
+        }
+
+        @Override
+        public long getScheduledTick() {
+            return 0;
+        }
+
+        @Override
+        public void setScheduledTick(long tick) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.service.permission.NodeTree;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Map;
+
+public class PermissionTrieTest {
+
+    private static final Map<String, Boolean> PERMISSIONS = ImmutableMap.<String, Boolean>builder()
+            .put("minecraft.command", true)
+            .put("minecraft.command.op", false)
+            .put("Sponge.Debug", true)
+            .put("a.b", true)
+            .put("a.bc.d", false)
+            .build();
+
+    private static final String[] CHECKS = {
+            "", "minecraft", "minecraft.command", "minecraft.command.give", "minecraft.command.op", "minecraft.command.op.other",
+            "minecraft.commands", "minecraft.command.", "sponge.debug", "SPONGE.DEBUG.timings", "a", "a.b", "a.bc", "a.bc.d", "a.b.c",
+            "a.bcd", "b"
+    };
+
+    @Test
+    public void testMatchesNodeTree() {
+        for (Tristate root : Tristate.values()) {
+            final NodeTree tree = NodeTree.of(PERMISSIONS, root);
+            final PermissionTrie trie = PermissionTrie.compile(PERMISSIONS, root);
+            for (String check : CHECKS) {
+                assertEquals(check, tree.get(check), trie.get(check));
+            }
+        }
+    }
+}
@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import net.minecraft.nbt.NBTTagCompound;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,6 +39,8 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataBuilder;
 import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTTagLongArray;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
 
 import java.util.Optional;
@@ -66,4 +70,41 @@ public void testDotContainerKeys() {
         assertEquals(container, translatedContainer);
     }
 
+    @Test
+    public void testArraysAndLists() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("longs"), new long[] {1L, Long.MAX_VALUE, -3L})
+                .set(DataQuery.of("ints"), new int[] {4, 5})
+                .set(DataQuery.of("flag"), true)
+                .set(DataQuery.of("names"), ImmutableList.of("a", "b"))
+                .set(DataQuery.of("nested", "value"), 3.5D);
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertEquals(NbtDataUtil.TAG_LONG_ARRAY, compound.getTag("longs").getId());
+        final DataView translatedContainer = NbtTranslator.getInstance().translateFrom(compound);
+        assertArrayEquals(new long[] {1L, Long.MAX_VALUE, -3L}, (long[]) translatedContainer.get(DataQuery.of("longs")).get());
+        assertArrayEquals(new int[] {4, 5}, (int[]) translatedContainer.get(DataQuery.of("ints")).get());
+        assertEquals(Optional.of(true), translatedContainer.getBoolean(DataQuery.of("flag")));
+        assertEquals(Optional.of(ImmutableList.of("a", "b")), translatedContainer.getStringList(DataQuery.of("names")));
+        assertEquals(Optional.of(3.5D), translatedContainer.getDouble(DataQuery.of("nested", "value")));
+    }
+
+    @Test
+    public void testDefaultSafetyModeDoesNotShareArrays() {
+        final DataContainer container = DataContainer.createNew()
+                .set(DataQuery.of("bytes"), new byte[] {1, 2})
+                .set(DataQuery.of("ints"), new int[] {3, 4})
+                .set(DataQuery.of("longs"), new long[] {5L, 6L})
+                .set(DataQuery.of("nested", "longs"), new long[] {7L});
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        compound.getByteArray("bytes")[0] = 0;
+        compound.getIntArray("ints")[0] = 0;
+        ((IMixinNBTTagLongArray) compound.getTag("longs")).getLongArray()[0] = 0L;
+        ((IMixinNBTTagLongArray) compound.getCompoundTag("nested").getTag("longs")).getLongArray()[0] = 0L;
+
+        assertArrayEquals(new byte[] {1, 2}, (byte[]) container.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {3, 4}, (int[]) container.get(DataQuery.of("ints")).get());
+        assertArrayEquals(new long[] {5L, 6L}, (long[]) container.get(DataQuery.of("longs")).get());
+        assertArrayEquals(new long[] {7L}, (long[]) container.get(DataQuery.of("nested", "longs")).get());
+    }
+
 }
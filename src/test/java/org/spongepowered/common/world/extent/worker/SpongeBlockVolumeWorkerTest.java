@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeBlockVolumeWorkerTest {
+
+    private static final Vector3i MIN = new Vector3i(-4, 10, -3);
+    private static final Vector3i SIZE = new Vector3i(9, 4, 7);
+    private static final BlockState AIR = mock(BlockState.class);
+    private static final BlockState STONE = mock(BlockState.class);
+    private static final BlockState DIRT = mock(BlockState.class);
+
+    private BimapPalette palette;
+    private ArrayMutableBlockBuffer buffer;
+
+    @BeforeClass
+    public static void registerAir() throws ReflectiveOperationException {
+        // The buffers fill themselves with air, which isn't registered in tests
+        final BlockType air = mock(BlockType.class);
+        when(air.getDefaultState()).thenReturn(AIR);
+        final Field field = BlockTypes.class.getDeclaredField("AIR");
+        field.setAccessible(true);
+        final Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+        field.set(null, air);
+    }
+
+    @Before
+    public void init() {
+        // Assigned up front so that the buffer never switches to the global palette
+        this.palette = new BimapPalette();
+        this.palette.getOrAssign(AIR);
+        this.palette.getOrAssign(STONE);
+        this.palette.getOrAssign(DIRT);
+        this.buffer = new ArrayMutableBlockBuffer(this.palette, MIN, SIZE);
+    }
+
+    private static BlockState expected(int x, int y, int z) {
+        return Math.floorMod(x + 2 * y + 3 * z, 3) == 0 ? STONE : DIRT;
+    }
+
+    private void assertBlocks(boolean swapped) {
+        final Vector3i max = this.buffer.getBlockMax();
+        for (int x = MIN.getX(); x <= max.getX(); x++) {
+            for (int y = MIN.getY(); y <= max.getY(); y++) {
+                for (int z = MIN.getZ(); z <= max.getZ(); z++) {
+                    final BlockState expected = expected(x, y, z);
+                    assertSame(swapped ? expected == STONE ? DIRT : STONE : expected, this.buffer.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelFill() {
+        this.buffer.getBlockWorker().parallel(true).fill(SpongeBlockVolumeWorkerTest::expected);
+
+        assertBlocks(false);
+    }
+
+    @Test
+    public void testParallelIterateVisitsEachBlockOnce() {
+        final Set<Vector3i> visited = ConcurrentHashMap.newKeySet();
+        this.buffer.getBlockWorker().parallel(true).iterate((volume, x, y, z) -> assertTrue(visited.add(new Vector3i(x, y, z))));
+
+        assertEquals(SIZE.getX() * SIZE.getY() * SIZE.getZ(), visited.size());
+    }
+
+    @Test
+    public void testParallelReduceMatchesSequential() {
+        this.buffer.getBlockWorker().fill(SpongeBlockVolumeWorkerTest::expected);
+
+        final int sequential = this.buffer.getBlockWorker()
+            .reduce((volume, x, y, z, count) -> volume.getBlock(x, y, z) == STONE ? count + 1 : count, Integer::sum, 0);
+        final int parallel = this.buffer.getBlockWorker().parallel(true)
+            .reduce((volume, x, y, z, count) -> volume.getBlock(x, y, z) == STONE ? count + 1 : count, Integer::sum, 0);
+
+        assertTrue(sequential > 0);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testBlockIds() {
+        this.buffer.getBlockWorker().fill(SpongeBlockVolumeWorkerTest::expected);
+
+        for (boolean parallel : new boolean[] {false, true}) {
+            final AtomicInteger visits = new AtomicInteger();
+            this.buffer.getBlockWorker().parallel(parallel).iterateBlockIds((x, y, z, id) -> {
+                assertEquals(this.buffer.getBlockId(x, y, z), id);
+                assertSame(expected(x, y, z), this.palette.get(id).get());
+                visits.incrementAndGet();
+            });
+            assertEquals(SIZE.getX() * SIZE.getY() * SIZE.getZ(), visits.get());
+        }
+    }
+
+    @Test
+    public void testMapBlockIds() {
+        this.buffer.getBlockWorker().fill(SpongeBlockVolumeWorkerTest::expected);
+        final int stoneId = this.palette.get(STONE).get();
+        final int dirtId = this.palette.get(DIRT).get();
+
+        this.buffer.mapBlockIds(id -> id == stoneId ? dirtId : id == dirtId ? stoneId : id);
+
+        assertBlocks(true);
+    }
+
+}
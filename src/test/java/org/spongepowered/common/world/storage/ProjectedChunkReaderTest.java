@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTTagLongArray;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ProjectedChunkReaderTest {
+
+    @Test
+    public void testProjectingEveryTagMatchesFullRead() throws IOException {
+        final byte[] chunk = write(createChunk());
+        final NBTTagCompound full = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(chunk)))
+                .getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL);
+        final List<DataQuery> projection = new ArrayList<>();
+        for (String key : full.getKeySet()) {
+            projection.add(DataQuery.of(key));
+        }
+
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(chunk));
+        final NBTTagCompound projected = new ProjectedChunkReader(projection).read(in);
+
+        assertEquals(full, projected);
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 0L, Long.MAX_VALUE}, ((IMixinNBTTagLongArray) projected.getTag("Longs")).getLongArray());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testSkipsUnselectedTags() throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(createChunk())));
+        final NBTTagCompound projected = new ProjectedChunkReader(ImmutableList.of(DataQuery.of('.', "Nested.Inner.Longs"),
+                DataQuery.of("Double"))).read(in);
+
+        final NBTTagCompound expected = new NBTTagCompound();
+        expected.setInteger("xPos", 3);
+        expected.setInteger("zPos", -4);
+        expected.setDouble("Double", 2.5D);
+        final NBTTagCompound inner = new NBTTagCompound();
+        inner.setTag("Longs", new NBTTagLongArray(new long[] {9L}));
+        final NBTTagCompound nested = new NBTTagCompound();
+        nested.setTag("Inner", inner);
+        expected.setTag("Nested", nested);
+        assertEquals(expected, projected);
+        // Every skipped tag was consumed up to the end of the chunk
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testChunkWithoutSections() throws IOException {
+        final NBTTagCompound root = createChunk();
+        root.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL).removeTag(NbtDataUtil.CHUNK_DATA_SECTIONS);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(root)));
+
+        assertNull(new ProjectedChunkReader(ImmutableList.of(DataQuery.of("Double"))).read(in));
+    }
+
+    // A chunk holding every tag type, nested lists and lists of compounds
+    private static NBTTagCompound createChunk() {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 3);
+        level.setInteger("zPos", -4);
+        level.setByte("Byte", (byte) -1);
+        level.setShort("Short", (short) 300);
+        level.setLong("Long", Long.MAX_VALUE);
+        level.setFloat("Float", 1.5F);
+        level.setDouble("Double", 2.5D);
+        level.setString("String", "chunk");
+        level.setTag("Bytes", new NBTTagByteArray(new byte[] {1, 2, 3}));
+        level.setTag("Ints", new NBTTagIntArray(new int[] {4, 5}));
+        level.setTag("Longs", new NBTTagLongArray(new long[] {Long.MIN_VALUE, 0L, Long.MAX_VALUE}));
+        level.setTag("Empty", new NBTTagList());
+
+        final NBTTagList sections = new NBTTagList();
+        for (int y = 0; y < 2; y++) {
+            final NBTTagCompound section = new NBTTagCompound();
+            section.setByte("Y", (byte) y);
+            section.setTag("Blocks", new NBTTagByteArray(new byte[4096]));
+            section.setTag("States", new NBTTagLongArray(new long[] {y, -y}));
+            sections.appendTag(section);
+        }
+        level.setTag(NbtDataUtil.CHUNK_DATA_SECTIONS, sections);
+
+        final NBTTagList lists = new NBTTagList();
+        for (int i = 0; i < 3; i++) {
+            final NBTTagList strings = new NBTTagList();
+            for (int j = 0; j <= i; j++) {
+                strings.appendTag(new NBTTagString("s" + j));
+            }
+            lists.appendTag(strings);
+        }
+        level.setTag("Lists", lists);
+
+        final NBTTagCompound inner = new NBTTagCompound();
+        inner.setTag("Longs", new NBTTagLongArray(new long[] {9L}));
+        final NBTTagList ints = new NBTTagList();
+        ints.appendTag(new NBTTagInt(7));
+        inner.setTag("IntList", ints);
+        final NBTTagCompound nested = new NBTTagCompound();
+        nested.setTag("Inner", inner);
+        nested.setString("Name", "nested");
+        level.setTag("Nested", nested);
+
+        final NBTTagCompound root = new NBTTagCompound();
+        root.setInteger("DataVersion", 1343);
+        root.setTag(NbtDataUtil.CHUNK_DATA_LEVEL, level);
+        return root;
+    }
+
+    private static byte[] write(NBTTagCompound root) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CompressedStreamTools.write(root, out);
+        }
+        return bytes.toByteArray();
+    }
+}